@@ -0,0 +1,454 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Batch-mode list heuristics: Min-Min, Max-Min and Sufferage. The jobs are taken as one
+ * batch and each step places one job on the VM where it completes earliest (its MCT VM).
+ * <ul>
+ *   <li>Min-Min takes the job with the smallest MCT.</li>
+ *   <li>Max-Min takes the job with the largest MCT.</li>
+ *   <li>Sufferage takes the job that would lose most by missing its MCT VM: second-best
+ *       completion minus best, ties to the shorter job.</li>
+ * </ul>
+ * A job runs in {@code length / mips} on every VM, so a longer job never has a smaller
+ * MCT: Min-Min is shortest first and Max-Min longest first, each onto its MCT VM through
+ * the {@link VmSelector}. With single-PE jobs {@link SelectorDispatcher} plans that in
+ * O(n log n + n(C + log m + p)) for C MIPS classes and p PEs per VM, without re-scanning
+ * the jobs; multi-PE jobs fall back to {@link PeSlotDispatcher}, O(m p) per job.
+ * Min-Min therefore gives the same plan as {@link EGSJFPolicy}. With arrival times the
+ * batch is released in arrival order, each job on its MCT VM when it arrives.
+ * <p>
+ * Sufferage is not monotone in length. A job's best and second-best completion only depend
+ * on the two least loaded VMs of each MIPS class, so those (2C lines in the job length) are
+ * cached and refreshed only for the class of the VM that just took a job. Between two
+ * crossing points of the lines the sufferage is linear in the length, so the largest value
+ * is at the shortest or longest unplaced job of the interval. A step costs O(C^2 (C + log n)),
+ * not the textbook O(nm). Sufferage plans each PE as a serial queue of its own (one
+ * queue per VM if some job needs several PEs). Jobs are grouped by PE count and a group
+ * only sees the VMs with enough PEs, so a step costs that much per distinct PE count.
+ * Sufferage picks queues as if every job were there at time 0; with arrival times each
+ * queue then runs its jobs in arrival order, none before it arrives.
+ */
+public class BatchHeuristicPolicy implements PlanningPolicy {
+
+    public static final String MIN_MIN_NAME = "Min-Min";
+    public static final String MAX_MIN_NAME = "Max-Min";
+    public static final String SUFFERAGE_NAME = "Sufferage";
+
+    public enum Heuristic {
+        MIN_MIN(MIN_MIN_NAME), MAX_MIN(MAX_MIN_NAME), SUFFERAGE(SUFFERAGE_NAME);
+
+        private final String label;
+
+        Heuristic(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Heuristic heuristic;
+    private final VmSelector.Mode selectorMode;
+
+    public BatchHeuristicPolicy(Heuristic heuristic) {
+        this(heuristic, VmSelector.Mode.fromSystemProperty());
+    }
+
+    public BatchHeuristicPolicy(Heuristic heuristic, VmSelector.Mode selectorMode) {
+        this.heuristic = heuristic;
+        this.selectorMode = selectorMode;
+    }
+
+    @Override
+    public String getName() {
+        return heuristic.getLabel();
+    }
+
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    @Override
+    public int[] schedule(Workload workload) {
+        return plan(workload).getAssignment();
+    }
+
+    @Override
+    public Schedule plan(Workload workload) {
+        switch (heuristic) {
+            case MIN_MIN:
+                return SelectorDispatcher.plan(workload, IndexSort.ascending(workload.getLengths()),
+                        VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+            case MAX_MIN:
+                return SelectorDispatcher.plan(workload, IndexSort.descending(workload.getLengths()),
+                        VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+            default:
+                int[] queueVms = workload.serialQueueVms();
+                double[] queueMips = new double[queueVms.length];
+                int[] queuePes = new int[queueVms.length];
+                for (int q = 0; q < queueVms.length; q++) {
+                    queueMips[q] = workload.getVmMips()[queueVms[q]];
+                    // A queue per PE takes single-PE jobs; a queue per VM has all its PEs
+                    queuePes[q] = workload.hasMultiPeJobs() ? workload.getVmPes()[queueVms[q]] : 1;
+                }
+                Schedule plan = new Sufferage(workload.getLengths(), workload.getJobPes(), queueMips, queuePes).run();
+                releaseQueues(workload, plan, queueMips);
+                int[] assignment = plan.getAssignment();
+                for (int job = 0; job < assignment.length; job++) {
+                    assignment[job] = queueVms[assignment[job]];
+                }
+                return plan;
+        }
+    }
+
+    // Re-times each queue so its jobs run in arrival order, then placement order, none
+    // starting before it arrives. A no-op when every job arrives at 0
+    private static void releaseQueues(Workload workload, Schedule plan, double[] queueMips) {
+        int[] queue = plan.getAssignment();
+        double[] startTimes = plan.getStartTimes();
+        double[] finishTimes = plan.getFinishTimes();
+        int[] placementOrder = IndexSort.ascending(startTimes);
+        int[] order = workload.releaseOrder(placementOrder);
+        if (order == placementOrder) {
+            return;
+        }
+        long[] lengths = workload.getLengths();
+        double[] ready = new double[queueMips.length];
+        for (int job : order) {
+            int q = queue[job];
+            double start = Math.max(ready[q], workload.getReleaseTime(job));
+            startTimes[job] = start;
+            finishTimes[job] = start + lengths[job] / queueMips[q];
+            ready[q] = finishTimes[job];
+        }
+    }
+
+    private static final class Sufferage {
+
+        private final long[] lengths;
+        private final double[] vmMips;
+        private final int[] vmPes;
+        private final double[] ready;
+        private final long[] readyKeys;
+
+        // A class is the queues with the same MIPS and PE count
+        private final int[] vmClass;
+        private final JobHeap[] classHeaps;
+
+        // Line 2c is the least loaded VM of class c, line 2c + 1 the next one (-1 if none)
+        private final int[] lineVm;
+        private final double[] breakpoints;
+
+        // Unplaced jobs, one group per PE count; a group only uses the VMs it fits on
+        private final Group[] groups;
+
+        private double bestFinish;
+        private int bestVm;
+        private Group pickGroup;
+        private int pickPosition;
+        private double pickValue;
+
+        Sufferage(long[] lengths, int[] jobPes, double[] vmMips, int[] vmPes) {
+            this.lengths = lengths;
+            this.vmMips = vmMips;
+            this.vmPes = vmPes;
+            int m = vmMips.length;
+            this.ready = new double[m];
+            this.readyKeys = new long[m];
+            this.vmClass = new int[m];
+
+            Map<String, Integer> classIds = new HashMap<>();
+            for (int vm = 0; vm < m; vm++) {
+                String key = vmMips[vm] + "x" + vmPes[vm];
+                Integer id = classIds.get(key);
+                if (id == null) {
+                    id = classIds.size();
+                    classIds.put(key, id);
+                }
+                vmClass[vm] = id;
+            }
+            int classCount = classIds.size();
+            this.classHeaps = new JobHeap[classCount];
+            for (int c = 0; c < classCount; c++) {
+                classHeaps[c] = new JobHeap(readyKeys);
+            }
+            for (int vm = 0; vm < m; vm++) {
+                classHeaps[vmClass[vm]].add(vm);
+            }
+
+            this.lineVm = new int[2 * classCount];
+            for (int c = 0; c < classCount; c++) {
+                refreshLines(c);
+            }
+            this.breakpoints = new double[lineVm.length * (lineVm.length - 1) / 2];
+
+            int[] groupPes = Arrays.stream(jobPes).distinct().sorted().toArray();
+            this.groups = new Group[groupPes.length];
+            for (int g = 0; g < groupPes.length; g++) {
+                int pes = groupPes[g];
+                groups[g] = new Group(pes, IntStream.range(0, lengths.length)
+                        .filter(job -> jobPes[job] == pes).toArray(), lengths);
+            }
+        }
+
+        Schedule run() {
+            int n = lengths.length;
+            int[] assignment = new int[n];
+            double[] startTimes = new double[n];
+            double[] finishTimes = new double[n];
+
+            for (int step = 0; step < n; step++) {
+                pick();
+                Group group = pickGroup;
+                int position = pickPosition;
+                int job = group.sorted[position];
+                sufferage(lengths[job], group.pes);
+                int vm = bestVm;
+                assignment[job] = vm;
+                startTimes[job] = ready[vm];
+                finishTimes[job] = bestFinish;
+
+                int c = vmClass[vm];
+                classHeaps[c].remove(vm);
+                ready[vm] = bestFinish;
+                readyKeys[vm] = IndexSort.sortableKey(bestFinish);
+                classHeaps[c].add(vm);
+                refreshLines(c);
+
+                group.remove(position);
+            }
+            return new Schedule(assignment, startTimes, finishTimes);
+        }
+
+        // Unplaced job with the largest sufferage, ties to the shorter job, then the lower index
+        private void pick() {
+            pickGroup = null;
+            pickPosition = -1;
+            for (Group group : groups) {
+                if (group.remaining > 0) {
+                    pick(group);
+                }
+            }
+        }
+
+        private void pick(Group group) {
+            int count = 0;
+            for (int i = 0; i < lineVm.length; i++) {
+                if (!usable(lineVm[i], group.pes)) {
+                    continue;
+                }
+                for (int j = i + 1; j < lineVm.length; j++) {
+                    if (!usable(lineVm[j], group.pes) || vmMips[lineVm[i]] == vmMips[lineVm[j]]) {
+                        continue;
+                    }
+                    // r_i + x / s_i = r_j + x / s_j
+                    double x = (ready[lineVm[j]] - ready[lineVm[i]])
+                            / (1 / vmMips[lineVm[i]] - 1 / vmMips[lineVm[j]]);
+                    if (x > 0 && x < Double.POSITIVE_INFINITY) {
+                        breakpoints[count++] = x;
+                    }
+                }
+            }
+
+            long[] sortedLengths = group.sortedLengths;
+            int n = sortedLengths.length;
+            considerAfter(group, 0);
+            considerBefore(group, n);
+            // Jobs right at a crossing may round onto either side, so the next length out on
+            // each side is a candidate too
+            for (int b = 0; b < count; b++) {
+                int at = group.lowerBound(breakpoints[b]);
+                int after = group.findNext(at);
+                if (after < n) {
+                    consider(group, after);
+                    considerAfter(group, group.upperBound(sortedLengths[after]));
+                }
+                int before = group.findPrev(at) - 1;
+                if (before >= 0) {
+                    consider(group, before);
+                    considerBefore(group, group.lowerBound(sortedLengths[before]));
+                }
+            }
+        }
+
+        private boolean usable(int vm, int pes) {
+            return vm >= 0 && vmPes[vm] >= pes;
+        }
+
+        // First unplaced job at or after the position
+        private void considerAfter(Group group, int position) {
+            int next = group.findNext(position);
+            if (next < group.sortedLengths.length) {
+                consider(group, next);
+            }
+        }
+
+        // Last unplaced job before the position
+        private void considerBefore(Group group, int position) {
+            int previous = group.findPrev(position) - 1;
+            if (previous >= 0) {
+                consider(group, previous);
+            }
+        }
+
+        private void consider(Group group, int position) {
+            // Equal lengths tie, so take the first unplaced job of that length
+            position = group.findNext(group.lowerBound(group.sortedLengths[position]));
+            long length = group.sortedLengths[position];
+            double value = sufferage(length, group.pes);
+            boolean better = pickGroup == null || value > pickValue;
+            if (!better && value == pickValue) {
+                long pickLength = pickGroup.sortedLengths[pickPosition];
+                better = length < pickLength
+                        || (length == pickLength && group.sorted[position] < pickGroup.sorted[pickPosition]);
+            }
+            if (better) {
+                pickGroup = group;
+                pickPosition = position;
+                pickValue = value;
+            }
+        }
+
+        // Second-best minus best completion over the VMs with at least pes PEs; leaves the
+        // best in bestFinish and bestVm. Equal finishes go to the VM free sooner, then the
+        // lower index, so within a class the order is the heap order even when rounding
+        // makes two finishes equal. Taken as (r2 - r1) + length (1/s2 - 1/s1): two VMs of
+        // one class differ by exactly r2 - r1 for every length, and rounding keeps the value
+        // monotone in the length
+        private double sufferage(long length, int pes) {
+            bestVm = -1;
+            bestFinish = Double.MAX_VALUE;
+            int secondVm = -1;
+            double secondFinish = Double.MAX_VALUE;
+            for (int vm : lineVm) {
+                if (!usable(vm, pes)) {
+                    continue;
+                }
+                double finish = ready[vm] + length / vmMips[vm];
+                if (bestVm < 0 || precedes(vm, finish, bestVm, bestFinish)) {
+                    secondVm = bestVm;
+                    secondFinish = bestFinish;
+                    bestVm = vm;
+                    bestFinish = finish;
+                } else if (secondVm < 0 || precedes(vm, finish, secondVm, secondFinish)) {
+                    secondVm = vm;
+                    secondFinish = finish;
+                }
+            }
+            if (secondVm < 0) {
+                return 0;
+            }
+            return (ready[secondVm] - ready[bestVm]) + length * (1 / vmMips[secondVm] - 1 / vmMips[bestVm]);
+        }
+
+        private boolean precedes(int vm, double finish, int other, double otherFinish) {
+            if (finish != otherFinish) {
+                return finish < otherFinish;
+            }
+            return ready[vm] < ready[other] || (ready[vm] == ready[other] && vm < other);
+        }
+
+        private void refreshLines(int c) {
+            lineVm[2 * c] = classHeaps[c].peek();
+            lineVm[2 * c + 1] = classHeaps[c].second();
+        }
+    }
+
+    /**
+     * The unplaced jobs needing the same number of PEs, in length order; the alive links
+     * skip placed positions.
+     */
+    private static final class Group {
+
+        private final int pes;
+        private final int[] sorted;
+        private final long[] sortedLengths;
+        private final int[] nextAlive;
+        private final int[] prevAlive;
+        private int remaining;
+
+        Group(int pes, int[] jobs, long[] lengths) {
+            this.pes = pes;
+            int n = jobs.length;
+            long[] jobLengths = new long[n];
+            for (int i = 0; i < n; i++) {
+                jobLengths[i] = lengths[jobs[i]];
+            }
+            int[] order = IndexSort.ascending(jobLengths);
+            this.sorted = new int[n];
+            this.sortedLengths = new long[n];
+            for (int p = 0; p < n; p++) {
+                sorted[p] = jobs[order[p]];
+                sortedLengths[p] = jobLengths[order[p]];
+            }
+            // nextAlive[p] is p itself or a link towards the next unplaced position (n = none);
+            // prevAlive works the same way on positions shifted by one (0 = none)
+            this.nextAlive = new int[n + 1];
+            this.prevAlive = new int[n + 1];
+            for (int p = 0; p <= n; p++) {
+                nextAlive[p] = p;
+                prevAlive[p] = p;
+            }
+            this.remaining = n;
+        }
+
+        void remove(int position) {
+            nextAlive[position] = position + 1;
+            prevAlive[position + 1] = position;
+            remaining--;
+        }
+
+        // First position whose length is at least x
+        int lowerBound(double x) {
+            int lo = 0;
+            int hi = sortedLengths.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sortedLengths[mid] < x) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // First position whose length is above x
+        int upperBound(double x) {
+            int lo = 0;
+            int hi = sortedLengths.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sortedLengths[mid] <= x) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        int findNext(int p) {
+            while (nextAlive[p] != p) {
+                nextAlive[p] = nextAlive[nextAlive[p]];
+                p = nextAlive[p];
+            }
+            return p;
+        }
+
+        // Shifted by one: returns 1 + the last unplaced position before p, or 0
+        int findPrev(int p) {
+            while (prevAlive[p] != p) {
+                prevAlive[p] = prevAlive[prevAlive[p]];
+                p = prevAlive[p];
+            }
+            return p;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * Exact minimum-makespan assignment for small workloads, by depth-first branch and bound
+ * with a wall-clock limit.
+ * <p>
+ * An assignment is timed as in {@link LocalSearchImprover}: each VM runs its jobs on its PEs
+ * as they arrive, shortest first among jobs arriving together, so "optimal" means the best
+ * assignment under that timing. Jobs are placed largest first ({@code length * jobPes}), and
+ * each job tries the VMs with enough PEs in order of where it would finish. A node is cut when
+ * its bound reaches the best makespan so far. The bound is the largest VM floor, the remaining
+ * work spread over every PE at full speed, and the next job on the VM where it finishes first.
+ * A VM's floor is the most of its per-PE load ({@code length * jobPes / (mips * pes)} summed)
+ * and each of its jobs' arrival plus run time; no timing of those jobs can finish earlier.
+ * Interchangeable VMs (same MIPS and PEs, both empty, or with equal loads when every VM has one
+ * PE and nothing arrives late) are tried only once. The search starts from the Max-Min plan and
+ * stops early once it meets the {@link MakespanBounds} lower bound.
+ * <p>
+ * When the limit runs out the best plan so far is returned, not proven optimal, with the
+ * root lower bound. Practical up to a few dozen jobs on a handful of VMs.
+ */
+public class BranchAndBoundScheduler {
+
+    private static final int CHECK_INTERVAL = 4096;
+    private static final double EPSILON = 1e-9;
+
+    private final long timeLimitMillis;
+
+    public BranchAndBoundScheduler(long timeLimitMillis) {
+        this.timeLimitMillis = timeLimitMillis;
+    }
+
+    /**
+     * Best assignment found, with the makespan and how sure the search is about it.
+     */
+    public static final class Result {
+        private final int[] assignment;
+        private final double makespan;
+        private final double lowerBound;
+        private final boolean optimal;
+        private final long nodes;
+        private final double elapsedMs;
+
+        Result(int[] assignment, double makespan, double lowerBound, boolean optimal, long nodes, double elapsedMs) {
+            this.assignment = assignment;
+            this.makespan = makespan;
+            this.lowerBound = lowerBound;
+            this.optimal = optimal;
+            this.nodes = nodes;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public int[] getAssignment() {
+            return assignment;
+        }
+
+        public double getMakespan() {
+            return makespan;
+        }
+
+        /**
+         * The makespan itself when proven optimal, otherwise the root lower bound.
+         */
+        public double getLowerBound() {
+            return lowerBound;
+        }
+
+        public boolean isOptimal() {
+            return optimal;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public double getElapsedMs() {
+            return elapsedMs;
+        }
+    }
+
+    public Result solve(Workload workload) {
+        long start = System.nanoTime();
+        Search search = new Search(workload, start + timeLimitMillis * 1_000_000L);
+        double rootBound = MakespanBounds.of(workload).getLowerBound();
+        search.rootBound = rootBound;
+        if (search.bestMakespan > rootBound * (1 + EPSILON)) {
+            search.branch(0, 0);
+        }
+        boolean optimal = !search.timedOut;
+        double lowerBound = optimal ? search.bestMakespan : rootBound;
+        return new Result(search.best, search.bestMakespan, lowerBound, optimal, search.nodes,
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    private static final class Search {
+        private final long[] lengths;
+        private final int[] jobPes;
+        private final double[] work;
+        private final double[] releaseTimes;
+        private final double[] vmMips;
+        private final int[] vmPes;
+        private final double[] capacity;
+        private final int[] order;
+        private final double[] remainingWork;
+        private final double totalCapacity;
+        private final boolean serial;
+        private final PeSlotTimer timer;
+        private final long deadline;
+
+        private final double[] loads;
+        private final double[] floors;
+        private final int[] current;
+        private final int[][] candidates;
+        private final double[][] finishes;
+
+        private int[] best;
+        private double bestMakespan;
+        private double rootBound;
+        private long nodes;
+        private boolean timedOut;
+
+        Search(Workload workload, long deadline) {
+            this.lengths = workload.getLengths();
+            this.jobPes = workload.getJobPes();
+            this.vmMips = workload.getVmMips();
+            this.vmPes = workload.getVmPes();
+            this.timer = new PeSlotTimer(workload);
+            this.deadline = deadline;
+            int n = lengths.length;
+            int m = vmMips.length;
+
+            this.work = new double[n];
+            this.releaseTimes = new double[n];
+            boolean lateArrivals = false;
+            for (int job = 0; job < n; job++) {
+                work[job] = (double) lengths[job] * jobPes[job];
+                releaseTimes[job] = workload.getReleaseTime(job);
+                lateArrivals |= releaseTimes[job] > 0;
+            }
+            this.capacity = new double[m];
+            double total = 0;
+            boolean singlePe = true;
+            for (int vm = 0; vm < m; vm++) {
+                capacity[vm] = vmMips[vm] * vmPes[vm];
+                total += capacity[vm];
+                singlePe &= vmPes[vm] == 1;
+            }
+            this.totalCapacity = total;
+            // One PE per VM and no late arrivals: a VM's load is exactly when it finishes
+            this.serial = singlePe && !lateArrivals;
+
+            long[] size = new long[n];
+            for (int job = 0; job < n; job++) {
+                size[job] = lengths[job] * jobPes[job];
+            }
+            this.order = IndexSort.descending(size);
+            this.remainingWork = new double[n + 1];
+            for (int depth = n - 1; depth >= 0; depth--) {
+                remainingWork[depth] = remainingWork[depth + 1] + work[order[depth]];
+            }
+            this.loads = new double[m];
+            this.floors = new double[m];
+            this.current = new int[n];
+            this.candidates = new int[n][m];
+            this.finishes = new double[n][m];
+
+            Schedule start = new BatchHeuristicPolicy(BatchHeuristicPolicy.Heuristic.MAX_MIN).plan(workload);
+            this.best = start.getAssignment().clone();
+            this.bestMakespan = timer.makespan(best);
+        }
+
+        // placedWork is the sum of length * jobPes already placed
+        void branch(int depth, double placedWork) {
+            if (timedOut || bestMakespan <= rootBound * (1 + EPSILON)) {
+                return;
+            }
+            if (++nodes % CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                timedOut = true;
+                return;
+            }
+            int n = lengths.length;
+            double maxFloor = 0;
+            for (double floor : floors) {
+                maxFloor = Math.max(maxFloor, floor);
+            }
+            if (depth == n) {
+                if (maxFloor < bestMakespan) {
+                    int[] assignment = new int[n];
+                    for (int i = 0; i < n; i++) {
+                        assignment[order[i]] = current[i];
+                    }
+                    double makespan = serial ? maxFloor : timer.makespan(assignment);
+                    if (makespan < bestMakespan) {
+                        bestMakespan = makespan;
+                        best = assignment;
+                    }
+                }
+                return;
+            }
+
+            int job = order[depth];
+            int m = vmMips.length;
+            int[] vms = candidates[depth];
+            double[] finish = finishes[depth];
+            for (int vm = 0; vm < m; vm++) {
+                vms[vm] = vm;
+                finish[vm] = jobPes[job] > vmPes[vm]
+                        ? Double.POSITIVE_INFINITY
+                        : Math.max(Math.max(floors[vm], loads[vm] + work[job] / capacity[vm]),
+                                releaseTimes[job] + lengths[job] / vmMips[vm]);
+            }
+            // Insertion sort by finish: m is small
+            for (int i = 1; i < m; i++) {
+                int vm = vms[i];
+                int j = i - 1;
+                while (j >= 0 && finish[vms[j]] > finish[vm]) {
+                    vms[j + 1] = vms[j];
+                    j--;
+                }
+                vms[j + 1] = vm;
+            }
+
+            double bound = Math.max(Math.max(maxFloor, finish[vms[0]]),
+                    (placedWork + remainingWork[depth]) / totalCapacity);
+            if (bound >= bestMakespan * (1 - EPSILON)) {
+                return;
+            }
+            for (int i = 0; i < m; i++) {
+                int vm = vms[i];
+                if (finish[vm] >= bestMakespan * (1 - EPSILON)) {
+                    break;
+                }
+                if (isDuplicate(vms, i)) {
+                    continue;
+                }
+                double previousLoad = loads[vm];
+                double previousFloor = floors[vm];
+                loads[vm] += work[job] / capacity[vm];
+                floors[vm] = finish[vm];
+                current[depth] = vm;
+                branch(depth + 1, placedWork + work[job]);
+                loads[vm] = previousLoad;
+                floors[vm] = previousFloor;
+                if (timedOut) {
+                    return;
+                }
+            }
+        }
+
+        // An earlier candidate that is the same VM in all but index leads to the same subtrees
+        private boolean isDuplicate(int[] vms, int i) {
+            int vm = vms[i];
+            for (int j = 0; j < i; j++) {
+                int other = vms[j];
+                if (vmMips[other] == vmMips[vm] && vmPes[other] == vmPes[vm] && loads[other] == loads[vm]
+                        && floors[other] == floors[vm] && (serial || loads[vm] == 0)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
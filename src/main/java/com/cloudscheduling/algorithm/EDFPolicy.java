@@ -0,0 +1,46 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * Earliest Deadline First.
+ * Jobs are taken by ascending deadline (jobs without one go last, shortest first among
+ * equal deadlines) and each one goes to the VM on which it would finish earliest.
+ */
+public class EDFPolicy implements OnlinePolicy, PlanningPolicy {
+
+    public static final String NAME = "EDF";
+
+    private final VmSelector.Mode selectorMode;
+
+    public EDFPolicy() {
+        this(VmSelector.Mode.fromSystemProperty());
+    }
+
+    public EDFPolicy(VmSelector.Mode selectorMode) {
+        this.selectorMode = selectorMode;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int[] dispatchOrder(Workload workload) {
+        int[] order = IndexSort.ascending(workload.getLengths());
+        IndexSort.sortAscending(order, IndexSort.sortableKeys(workload.getDeadlines()));
+        return order;
+    }
+
+    @Override
+    public Dispatcher newDispatcher(Workload workload) {
+        return SelectorDispatcher.create(workload, VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+    }
+
+    /**
+     * Plans start times as well, so deadline order decides when each job runs.
+     */
+    @Override
+    public Schedule plan(Workload workload) {
+        return SelectorDispatcher.plan(workload, dispatchOrder(workload), VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+    }
+}
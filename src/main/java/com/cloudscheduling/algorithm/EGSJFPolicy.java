@@ -0,0 +1,46 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * Earliest Gap Shortest Job First (EG-SJF).
+ * Jobs are taken shortest first and each one goes to the VM on which it would
+ * finish earliest, given the work already queued there. Online, jobs are
+ * placed as they arrive and a VM that has gone idle is available at once.
+ */
+public class EGSJFPolicy implements OnlinePolicy, PlanningPolicy {
+
+    public static final String NAME = "EG-SJF";
+
+    private final VmSelector.Mode selectorMode;
+
+    public EGSJFPolicy() {
+        this(VmSelector.Mode.fromSystemProperty());
+    }
+
+    public EGSJFPolicy(VmSelector.Mode selectorMode) {
+        this.selectorMode = selectorMode;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // Jobs that arrive together are taken shortest first
+    @Override
+    public int[] dispatchOrder(Workload workload) {
+        return IndexSort.ascending(workload.getLengths());
+    }
+
+    @Override
+    public Dispatcher newDispatcher(Workload workload) {
+        return SelectorDispatcher.create(workload, VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+    }
+
+    /**
+     * Offline plan with start and finish times; VMs with several PEs run that many jobs at once.
+     */
+    @Override
+    public Schedule plan(Workload workload) {
+        return SelectorDispatcher.plan(workload, dispatchOrder(workload), VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+    }
+}
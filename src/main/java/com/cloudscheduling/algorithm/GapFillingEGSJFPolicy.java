@@ -0,0 +1,101 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * EG-SJF that fills idle gaps.
+ * <p>
+ * Jobs are taken shortest first, but a job cannot start before its arrival time, so
+ * placing a late job leaves a hole on its VM. Plain EG-SJF only appends after the
+ * VM's last job and never uses those holes. This variant keeps each VM's idle intervals
+ * in an {@link IdleIntervalTree} and starts every job in the earliest gap that fits it,
+ * on the VM where it finishes earliest. Constructed with {@code fillGaps = false} it
+ * appends like EG-SJF does, which is the baseline for the utilization report.
+ * <p>
+ * Each PE of a VM is planned as its own queue, so a 2-PE VM runs two jobs at once. A
+ * workload with multi-PE jobs is planned one queue per VM, each job on a VM with enough PEs.
+ */
+public class GapFillingEGSJFPolicy implements PlanningPolicy {
+
+    public static final String NAME = "EG-SJF-GAP";
+    public static final String APPEND_ONLY_NAME = "EG-SJF-APPEND";
+
+    private final boolean fillGaps;
+
+    public GapFillingEGSJFPolicy() {
+        this(true);
+    }
+
+    public GapFillingEGSJFPolicy(boolean fillGaps) {
+        this.fillGaps = fillGaps;
+    }
+
+    @Override
+    public String getName() {
+        return fillGaps ? NAME : APPEND_ONLY_NAME;
+    }
+
+    @Override
+    public int[] schedule(Workload workload) {
+        return plan(workload).getAssignment();
+    }
+
+    /**
+     * Plans start and finish times as well as VMs. O(q log k) per job for q PE queues
+     * with k gaps each.
+     */
+    @Override
+    public Schedule plan(Workload workload) {
+        long[] lengths = workload.getLengths();
+        double[] arrivalTimes = workload.getArrivalTimes();
+        double[] vmMips = workload.getVmMips();
+        int[] queueVms = workload.serialQueueVms();
+        int queueCount = queueVms.length;
+
+        IdleIntervalTree[] gaps = new IdleIntervalTree[queueCount];
+        double[] queueAvailableTimes = new double[queueCount];
+        if (fillGaps) {
+            for (int q = 0; q < queueCount; q++) {
+                gaps[q] = new IdleIntervalTree(q);
+            }
+        }
+
+        int n = lengths.length;
+        int[] assignment = new int[n];
+        double[] startTimes = new double[n];
+        double[] finishTimes = new double[n];
+
+        for (int job : IndexSort.ascending(lengths)) {
+            double release = Math.max(0.0, arrivalTimes[job]);
+            int bestQueue = 0;
+            double bestStart = 0;
+            double bestExecutionTime = 0;
+            double earliestFinishTime = Double.MAX_VALUE;
+
+            for (int q = 0; q < queueCount; q++) {
+                if (!workload.fits(job, queueVms[q])) {
+                    continue;
+                }
+                double executionTime = (double) lengths[job] / vmMips[queueVms[q]];
+                double start = fillGaps
+                        ? gaps[q].earliestStart(release, executionTime)
+                        : Math.max(queueAvailableTimes[q], release);
+                double finishTime = start + executionTime;
+                if (finishTime < earliestFinishTime) {
+                    earliestFinishTime = finishTime;
+                    bestStart = start;
+                    bestExecutionTime = executionTime;
+                    bestQueue = q;
+                }
+            }
+
+            if (fillGaps) {
+                gaps[bestQueue].reserve(bestStart, bestExecutionTime);
+            } else {
+                queueAvailableTimes[bestQueue] = earliestFinishTime;
+            }
+            assignment[job] = queueVms[bestQueue];
+            startTimes[job] = bestStart;
+            finishTimes[job] = earliestFinishTime;
+        }
+        return new Schedule(assignment, startTimes, finishTimes);
+    }
+}
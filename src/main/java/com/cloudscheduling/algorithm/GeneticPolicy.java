@@ -0,0 +1,50 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * {@link IslandGeneticScheduler} seeded with the EG-SJF assignment, so it can only improve on it.
+ * The defaults (one island per core, 32 chromosomes, migration every 20 generations,
+ * 500 ms) can be changed with the {@code ga.islands}, {@code ga.population},
+ * {@code ga.migrationInterval}, {@code ga.budgetMs}, {@code ga.generations} and
+ * {@code ga.seed} system properties.
+ */
+public class GeneticPolicy implements SchedulingPolicy {
+
+    public static final String NAME = "GA";
+
+    private final SchedulingPolicy start;
+    private final IslandGeneticScheduler scheduler;
+    private IslandGeneticScheduler.Result lastResult;
+
+    public GeneticPolicy() {
+        this(new EGSJFPolicy(), new IslandGeneticScheduler(
+                Integer.getInteger("ga.islands", Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger("ga.population", 32),
+                Integer.getInteger("ga.migrationInterval", 20),
+                Long.getLong("ga.budgetMs", 500L),
+                Integer.getInteger("ga.generations", Integer.MAX_VALUE),
+                Long.getLong("ga.seed", 42L)));
+    }
+
+    public GeneticPolicy(SchedulingPolicy start, IslandGeneticScheduler scheduler) {
+        this.start = start;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int[] schedule(Workload workload) {
+        lastResult = scheduler.evolve(workload, start.schedule(workload));
+        return lastResult.getAssignment();
+    }
+
+    /**
+     * Details of the last {@link #schedule(Workload)} call, or null before the first one.
+     */
+    public IslandGeneticScheduler.Result getLastResult() {
+        return lastResult;
+    }
+}
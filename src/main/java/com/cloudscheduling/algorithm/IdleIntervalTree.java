@@ -0,0 +1,269 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Idle intervals of one VM, kept in a treap ordered by start time.
+ * <p>
+ * The intervals are disjoint; the last one is {@code [availableTime, +inf)}. Every node
+ * also stores the longest interval in its subtree, so "earliest gap of at least d seconds
+ * starting at or after r" is answered in O(log k) for k gaps. Reserving a slot splits the
+ * gap it falls in. Nodes live in parallel arrays and are recycled through a free list.
+ */
+public final class IdleIntervalTree {
+
+    private static final int NIL = -1;
+
+    private double[] start;
+    private double[] end;
+    private double[] maxLength;  // longest interval in the subtree
+    private int[] priority;
+    private int[] left;
+    private int[] right;
+    private int freeList = NIL;  // chained through left[]
+    private int allocated;
+    private int root = NIL;
+    private int size;
+
+    private final SplittableRandom random;
+
+    public IdleIntervalTree() {
+        this(0L);
+    }
+
+    // The seed only shapes the treap, never the answers
+    public IdleIntervalTree(long seed) {
+        int capacity = 16;
+        this.start = new double[capacity];
+        this.end = new double[capacity];
+        this.maxLength = new double[capacity];
+        this.priority = new int[capacity];
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.random = new SplittableRandom(seed);
+        root = newNode(0.0, Double.POSITIVE_INFINITY);
+        size = 1;
+    }
+
+    /**
+     * Number of idle intervals, including the unbounded one at the end.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Earliest time at or after {@code release} at which {@code duration} seconds fit in
+     * one idle interval. Always finite, because the last interval is unbounded.
+     */
+    public double earliestStart(double release, double duration) {
+        // The gap containing the release time can be used from the release time on
+        int containing = floor(release);
+        if (containing != NIL && release + duration <= end[containing]) {
+            return release;
+        }
+        // Otherwise the first gap that starts after the release and is long enough
+        int found = leftmostFitAfter(root, release, duration);
+        return found == NIL ? Double.POSITIVE_INFINITY : start[found];
+    }
+
+    /**
+     * Marks {@code [from, from + duration)} busy. The range must lie inside one idle interval,
+     * as returned by {@link #earliestStart(double, double)}.
+     */
+    public void reserve(double from, double duration) {
+        double to = from + duration;
+        int node = floor(from);
+        if (node == NIL || end[node] < to) {
+            throw new IllegalArgumentException("No idle interval covers [" + from + ", " + to + ")");
+        }
+        if (duration <= 0) {
+            return;
+        }
+        double gapStart = start[node];
+        double gapEnd = end[node];
+        root = remove(root, gapStart);
+        size--;
+        if (from > gapStart) {
+            insert(gapStart, from);
+        }
+        if (gapEnd > to) {
+            insert(to, gapEnd);
+        }
+    }
+
+    /**
+     * Start of the unbounded interval: the VM has no work after this time.
+     */
+    public double getAvailableTime() {
+        int node = root;
+        while (right[node] != NIL) {
+            node = right[node];
+        }
+        return start[node];
+    }
+
+    /**
+     * Total idle time before {@code horizon}.
+     */
+    public double idleTimeBefore(double horizon) {
+        return idleTimeBefore(root, horizon);
+    }
+
+    private double idleTimeBefore(int node, double horizon) {
+        if (node == NIL) {
+            return 0;
+        }
+        double total = idleTimeBefore(left[node], horizon);
+        if (start[node] < horizon) {
+            total += Math.min(end[node], horizon) - start[node];
+            total += idleTimeBefore(right[node], horizon);
+        }
+        return total;
+    }
+
+    // ---------- Treap internals ----------
+
+    // Rightmost node with start <= time
+    private int floor(double time) {
+        int node = root;
+        int found = NIL;
+        while (node != NIL) {
+            if (start[node] <= time) {
+                found = node;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return found;
+    }
+
+    // Leftmost node with start > release and length >= duration. Subtrees that lie wholly
+    // after the release succeed as soon as their maxLength fits, so this stays O(log k).
+    private int leftmostFitAfter(int node, double release, double duration) {
+        if (node == NIL || maxLength[node] < duration) {
+            return NIL;
+        }
+        if (start[node] <= release) {
+            return leftmostFitAfter(right[node], release, duration);
+        }
+        int found = leftmostFitAfter(left[node], release, duration);
+        if (found != NIL) {
+            return found;
+        }
+        // Same test as reserve(), so a returned slot is never rejected by rounding
+        if (start[node] + duration <= end[node]) {
+            return node;
+        }
+        return leftmostFitAfter(right[node], release, duration);
+    }
+
+    private void insert(double from, double to) {
+        int node = newNode(from, to);
+        int[] parts = split(root, from);
+        root = merge(merge(parts[0], node), parts[1]);
+        size++;
+    }
+
+    private int remove(int node, double key) {
+        if (node == NIL) {
+            return NIL;
+        }
+        if (start[node] == key) {
+            int merged = merge(left[node], right[node]);
+            free(node);
+            return merged;
+        }
+        if (key < start[node]) {
+            left[node] = remove(left[node], key);
+        } else {
+            right[node] = remove(right[node], key);
+        }
+        update(node);
+        return node;
+    }
+
+    // Splits into (start < key, start >= key)
+    private int[] split(int node, double key) {
+        if (node == NIL) {
+            return new int[]{NIL, NIL};
+        }
+        if (start[node] < key) {
+            int[] parts = split(right[node], key);
+            right[node] = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        int[] parts = split(left[node], key);
+        left[node] = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int node) {
+        double longest = end[node] - start[node];
+        if (left[node] != NIL) {
+            longest = Math.max(longest, maxLength[left[node]]);
+        }
+        if (right[node] != NIL) {
+            longest = Math.max(longest, maxLength[right[node]]);
+        }
+        maxLength[node] = longest;
+    }
+
+    private int newNode(double from, double to) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (allocated == start.length) {
+                grow();
+            }
+            node = allocated++;
+        }
+        start[node] = from;
+        end[node] = to;
+        maxLength[node] = to - from;
+        priority[node] = random.nextInt();
+        left[node] = NIL;
+        right[node] = NIL;
+        return node;
+    }
+
+    private void free(int node) {
+        left[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = start.length * 2;
+        start = Arrays.copyOf(start, capacity);
+        end = Arrays.copyOf(end, capacity);
+        maxLength = Arrays.copyOf(maxLength, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+    }
+}
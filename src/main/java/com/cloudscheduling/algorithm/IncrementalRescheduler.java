@@ -0,0 +1,306 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the per-VM queues of a plan and repairs them when the fleet changes, moving only
+ * the jobs that have to move.
+ * <p>
+ * Each VM is a serial queue of jobs in start order. {@link #failVm(int, double)} takes the
+ * failed VM's unfinished jobs (the running one restarts from scratch) and appends them,
+ * shortest first, to the surviving VM on which each finishes earliest.
+ * {@link #addVm(double, double)} moves queued tail jobs from the VM that finishes last to
+ * the new VM for as long as that brings the last finish down.
+ * <p>
+ * VMs sit in one heap per MIPS class keyed by queue end, plus one heap of all VMs keyed by
+ * queue end in reverse, so a move costs O(k + log m) for m VMs in k MIPS classes, and a
+ * repair costs time proportional to the jobs it moves.
+ */
+public class IncrementalRescheduler {
+
+    private final long[] lengths;
+    private final int[] assignment;
+    private final double[] startTimes;
+    private final double[] finishTimes;
+
+    private int vmCount;
+    private double[] vmMips;
+    private boolean[] alive;
+    private double[] queueEnd;
+    private int[][] queues;
+    private int[] queueSize;
+    private int[] vmClass;
+
+    private final Map<Double, Integer> classByMips = new HashMap<>();
+    private double[] classMips = new double[4];
+    private int classCount;
+    private long[] endKeys;
+    private long[] reverseEndKeys;
+    private JobHeap[] classHeaps = new JobHeap[4];
+    private JobHeap latest;
+
+    /**
+     * Starts from a serial-queue plan of the workload, e.g. {@link EGSJFPolicy#plan(Workload)}.
+     */
+    public IncrementalRescheduler(Workload workload, Schedule plan) {
+        this.lengths = workload.getLengths();
+        int n = lengths.length;
+        this.assignment = plan.getAssignment().clone();
+        this.startTimes = plan.getStartTimes().clone();
+        this.finishTimes = plan.getFinishTimes().clone();
+
+        double[] mips = workload.getVmMips();
+        this.vmCount = mips.length;
+        allocateVms(Math.max(4, vmCount * 2));
+        System.arraycopy(mips, 0, vmMips, 0, vmCount);
+        Arrays.fill(alive, 0, vmCount, true);
+
+        int[] perVm = new int[vmCount];
+        for (int job = 0; job < n; job++) {
+            perVm[assignment[job]]++;
+        }
+        for (int vm = 0; vm < vmCount; vm++) {
+            queues[vm] = new int[Math.max(4, perVm[vm])];
+            vmClass[vm] = classOf(vmMips[vm]);
+        }
+        for (int job : plan.startOrder()) {
+            int vm = assignment[job];
+            push(vm, job);
+            queueEnd[vm] = Math.max(queueEnd[vm], finishTimes[job]);
+        }
+        rebuildHeaps();
+    }
+
+    /**
+     * Removes a VM at time {@code now} and returns the jobs that moved, in the order they
+     * were re-placed. Fails if no VM is left.
+     */
+    public int[] failVm(int vm, double now) {
+        checkVm(vm);
+        alive[vm] = false;
+        classHeaps[vmClass[vm]].remove(vm);
+        latest.remove(vm);
+        if (latest.isEmpty()) {
+            throw new IllegalStateException("No VM left to take the jobs of VM " + vm);
+        }
+
+        // Unfinished jobs form the tail of the queue
+        int keep = queueSize[vm];
+        while (keep > 0 && finishTimes[queues[vm][keep - 1]] > now) {
+            keep--;
+        }
+        int[] moved = Arrays.copyOfRange(queues[vm], keep, queueSize[vm]);
+        queueSize[vm] = keep;
+        queueEnd[vm] = keep > 0 ? finishTimes[queues[vm][keep - 1]] : 0;
+
+        long[] movedLengths = new long[moved.length];
+        for (int i = 0; i < moved.length; i++) {
+            movedLengths[i] = lengths[moved[i]];
+        }
+        int[] order = IndexSort.ascending(movedLengths);
+        int[] placed = new int[moved.length];
+        for (int i = 0; i < order.length; i++) {
+            int job = moved[order[i]];
+            append(earliestFinishVm(lengths[job], now), job, now);
+            placed[i] = job;
+        }
+        return placed;
+    }
+
+    /**
+     * Adds a VM at time {@code now} and returns the jobs moved onto it. The new VM's index
+     * is {@code getVmCount() - 1}.
+     */
+    public int[] addVm(double mips, double now) {
+        if (!(mips > 0)) {
+            throw new IllegalArgumentException("VM needs positive MIPS: " + mips);
+        }
+        if (vmCount == vmMips.length) {
+            growVms();
+        }
+        int vm = vmCount++;
+        vmMips[vm] = mips;
+        alive[vm] = true;
+        queues[vm] = new int[4];
+        queueEnd[vm] = 0;
+        vmClass[vm] = classOf(mips);
+        updateKeys(vm);
+        classHeaps[vmClass[vm]].add(vm);
+        latest.add(vm);
+
+        int movedCount = 0;
+        int[] moved = new int[4];
+        while (true) {
+            int victim = latest.peek();
+            if (victim == vm || queueSize[victim] == 0) {
+                break;
+            }
+            int job = queues[victim][queueSize[victim] - 1];
+            double newFinish = Math.max(queueEnd[vm], now) + lengths[job] / mips;
+            // Started jobs stay, and a move must bring the victim's end down without passing it
+            if (startTimes[job] < now || newFinish >= queueEnd[victim]) {
+                break;
+            }
+            pop(victim);
+            append(vm, job, now);
+            if (movedCount == moved.length) {
+                moved = Arrays.copyOf(moved, movedCount * 2);
+            }
+            moved[movedCount++] = job;
+        }
+        return Arrays.copyOf(moved, movedCount);
+    }
+
+    public int getVmCount() {
+        return vmCount;
+    }
+
+    public boolean isAlive(int vm) {
+        return vm >= 0 && vm < vmCount && alive[vm];
+    }
+
+    public double getVmMips(int vm) {
+        return vmMips[vm];
+    }
+
+    public int getVm(int job) {
+        return assignment[job];
+    }
+
+    public double getStartTime(int job) {
+        return startTimes[job];
+    }
+
+    public double getFinishTime(int job) {
+        return finishTimes[job];
+    }
+
+    /**
+     * Last finish over the VMs still alive.
+     */
+    public double getMakespan() {
+        return latest.isEmpty() ? 0 : queueEnd[latest.peek()];
+    }
+
+    /**
+     * Copy of the current plan; VM indices include failed and added VMs.
+     */
+    public Schedule toSchedule() {
+        return new Schedule(assignment.clone(), startTimes.clone(), finishTimes.clone());
+    }
+
+    private int earliestFinishVm(long length, double now) {
+        int best = -1;
+        double bestFinish = Double.MAX_VALUE;
+        for (int c = 0; c < classCount; c++) {
+            if (classHeaps[c].isEmpty()) {
+                continue;
+            }
+            int vm = classHeaps[c].peek();
+            double finish = Math.max(queueEnd[vm], now) + length / classMips[c];
+            if (finish < bestFinish || (finish == bestFinish && vm < best)) {
+                bestFinish = finish;
+                best = vm;
+            }
+        }
+        return best;
+    }
+
+    private void append(int vm, int job, double now) {
+        double start = Math.max(queueEnd[vm], now);
+        assignment[job] = vm;
+        startTimes[job] = start;
+        finishTimes[job] = start + lengths[job] / vmMips[vm];
+        push(vm, job);
+        setQueueEnd(vm, finishTimes[job]);
+    }
+
+    private void pop(int vm) {
+        int size = --queueSize[vm];
+        setQueueEnd(vm, size > 0 ? finishTimes[queues[vm][size - 1]] : 0);
+    }
+
+    private void push(int vm, int job) {
+        if (queueSize[vm] == queues[vm].length) {
+            queues[vm] = Arrays.copyOf(queues[vm], queues[vm].length * 2);
+        }
+        queues[vm][queueSize[vm]++] = job;
+    }
+
+    private void setQueueEnd(int vm, double end) {
+        classHeaps[vmClass[vm]].remove(vm);
+        latest.remove(vm);
+        queueEnd[vm] = end;
+        updateKeys(vm);
+        classHeaps[vmClass[vm]].add(vm);
+        latest.add(vm);
+    }
+
+    private void updateKeys(int vm) {
+        endKeys[vm] = IndexSort.sortableKey(queueEnd[vm]);
+        reverseEndKeys[vm] = IndexSort.sortableKey(-queueEnd[vm]);
+    }
+
+    private int classOf(double mips) {
+        Integer existing = classByMips.get(mips);
+        if (existing != null) {
+            return existing;
+        }
+        if (classCount == classMips.length) {
+            classMips = Arrays.copyOf(classMips, classCount * 2);
+            classHeaps = Arrays.copyOf(classHeaps, classCount * 2);
+        }
+        classMips[classCount] = mips;
+        if (endKeys != null) {
+            classHeaps[classCount] = new JobHeap(endKeys);
+        }
+        classByMips.put(mips, classCount);
+        return classCount++;
+    }
+
+    private void allocateVms(int capacity) {
+        vmMips = new double[capacity];
+        alive = new boolean[capacity];
+        queueEnd = new double[capacity];
+        queues = new int[capacity][];
+        queueSize = new int[capacity];
+        vmClass = new int[capacity];
+    }
+
+    // Heaps index VMs, so they are rebuilt over larger key arrays when the fleet outgrows them
+    private void growVms() {
+        int capacity = vmMips.length * 2;
+        vmMips = Arrays.copyOf(vmMips, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        queueEnd = Arrays.copyOf(queueEnd, capacity);
+        queues = Arrays.copyOf(queues, capacity);
+        queueSize = Arrays.copyOf(queueSize, capacity);
+        vmClass = Arrays.copyOf(vmClass, capacity);
+        rebuildHeaps();
+    }
+
+    private void rebuildHeaps() {
+        int capacity = vmMips.length;
+        endKeys = new long[capacity];
+        reverseEndKeys = new long[capacity];
+        for (int c = 0; c < classCount; c++) {
+            classHeaps[c] = new JobHeap(endKeys);
+        }
+        latest = new JobHeap(reverseEndKeys);
+        for (int vm = 0; vm < vmCount; vm++) {
+            if (alive[vm]) {
+                updateKeys(vm);
+                classHeaps[vmClass[vm]].add(vm);
+                latest.add(vm);
+            }
+        }
+    }
+
+    private void checkVm(int vm) {
+        if (!isAlive(vm)) {
+            throw new IllegalArgumentException("VM " + vm + " is not in the fleet");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * Stable sorting of job indices by a primitive key column.
+ * Replaces sorting lists of wrapper objects: the only allocation is the index
+ * array itself plus one scratch buffer of the same size.
+ * Stability matters because the original list-based policies relied on
+ * {@code List.sort} keeping equal-length jobs in submission order.
+ */
+public final class IndexSort {
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private IndexSort() {
+    }
+
+    /**
+     * Returns job indices ordered by ascending key; equal keys keep index order.
+     */
+    public static int[] ascending(long[] keys) {
+        int[] order = identity(keys.length);
+        sort(order, keys, false);
+        return order;
+    }
+
+    /**
+     * Returns job indices ordered by descending key; equal keys keep index order.
+     */
+    public static int[] descending(long[] keys) {
+        int[] order = identity(keys.length);
+        sort(order, keys, true);
+        return order;
+    }
+
+    /**
+     * Returns job indices ordered by ascending double key (e.g. deadlines, which may be
+     * infinite); equal keys keep index order. Keys must not be NaN.
+     */
+    public static int[] ascending(double[] keys) {
+        return ascending(sortableKeys(keys));
+    }
+
+    public static long[] sortableKeys(double[] values) {
+        long[] keys = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = sortableKey(values[i]);
+        }
+        return keys;
+    }
+
+    /**
+     * Maps a double to a long with the same order, including negatives and infinities.
+     */
+    public static long sortableKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Stably re-sorts an existing index order by ascending key, so that equal keys keep
+     * the order they already had (e.g. arrival time first, then a policy's own order).
+     */
+    public static void sortAscending(int[] order, long[] keys) {
+        sort(order, keys, false);
+    }
+
+    public static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    // Bottom-up merge sort: insertion-sorted runs, then merge passes ping-ponging between buffers
+    private static void sort(int[] order, long[] keys, boolean descending) {
+        int n = order.length;
+        for (int lo = 0; lo < n; lo += INSERTION_SORT_THRESHOLD) {
+            insertionSort(order, keys, lo, Math.min(lo + INSERTION_SORT_THRESHOLD, n), descending);
+        }
+        if (n <= INSERTION_SORT_THRESHOLD) {
+            return;
+        }
+
+        int[] src = order;
+        int[] dst = new int[n];
+        for (int width = INSERTION_SORT_THRESHOLD; width < n; width <<= 1) {
+            for (int lo = 0; lo < n; lo += width << 1) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + (width << 1), n);
+                merge(src, dst, keys, lo, mid, hi, descending);
+            }
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != order) {
+            System.arraycopy(src, 0, order, 0, n);
+        }
+    }
+
+    private static void insertionSort(int[] order, long[] keys, int lo, int hi, boolean descending) {
+        for (int i = lo + 1; i < hi; i++) {
+            int idx = order[i];
+            long key = keys[idx];
+            int j = i - 1;
+            while (j >= lo && before(key, keys[order[j]], descending)) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = idx;
+        }
+    }
+
+    private static void merge(int[] src, int[] dst, long[] keys, int lo, int mid, int hi, boolean descending) {
+        int i = lo;
+        int j = mid;
+        for (int k = lo; k < hi; k++) {
+            // Take from the right run only if strictly before, which keeps the sort stable
+            if (i < mid && (j >= hi || !before(keys[src[j]], keys[src[i]], descending))) {
+                dst[k] = src[i++];
+            } else {
+                dst[k] = src[j++];
+            }
+        }
+    }
+
+    private static boolean before(long a, long b, boolean descending) {
+        return descending ? a > b : a < b;
+    }
+}
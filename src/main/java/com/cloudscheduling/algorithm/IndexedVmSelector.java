@@ -0,0 +1,339 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * VM selector for large fleets.
+ * <p>
+ * VMs with the same MIPS form a class. Inside a class every VM runs a job in the same
+ * time, so the best VM of the class is simply the one with the smallest (EARLIEST_FINISH)
+ * or largest (LATEST_FINISH) available time. Each class keeps its VMs in a binary heap
+ * ordered that way, with ties going to the lower VM index. A decision looks at the head
+ * of each of the C classes and an assignment re-heaps one VM. The cost per job is
+ * O(C + log m) instead of O(m), and a fleet loaded from {@code virtual_machines} usually
+ * has only a handful of MIPS classes.
+ * <p>
+ * Once the current time moves past a VM's available time, the VM is idle and all idle VMs
+ * of a class tie. For EARLIEST_FINISH each class therefore also keeps an idle heap ordered
+ * by VM index; {@link #advanceTo(double)} moves VMs from the busy heap to the idle heap as
+ * they go idle. For LATEST_FINISH an idle VM only wins when the whole class is idle, and
+ * then the class's lowest VM index is the answer.
+ * <p>
+ * The result is the same VM a linear scan would pick: the scan returns the lowest index
+ * among the VMs with the best finish time, and so does this selector. Two different
+ * available times can round to the same finish time, so a class that can win also checks
+ * the heap entries below its head that tie with it; heap order stops that search at the
+ * first entry that does not tie, usually right below the head.
+ */
+public class IndexedVmSelector implements VmSelector {
+
+    private final Objective objective;
+    private final double[] vmAvailableTimes;
+    private double now;
+
+    private final double[] classMips;
+    private final int[] classStart;    // offset of each class heap inside heap[] and idleHeap[]
+    private final int[] classFirstVm;  // lowest VM index of each class
+    private final int[] busySize;
+    private final int[] idleSize;
+
+    private final int[] heap;          // busy heaps by available time, back to back
+    private final int[] position;      // VM index -> slot in heap[]
+    private final int[] idleHeap;      // EARLIEST_FINISH: idle heaps by VM index
+    private final int[] idlePosition;  // VM index -> slot in idleHeap[]
+    private final boolean[] idle;
+    private final int[] classOf;       // VM index -> class
+
+    public IndexedVmSelector(double[] vmMips, Objective objective) {
+        int vmCount = vmMips.length;
+        this.objective = objective;
+        this.vmAvailableTimes = new double[vmCount];
+        this.classOf = new int[vmCount];
+
+        Map<Double, Integer> classIds = new HashMap<>();
+        for (int vm = 0; vm < vmCount; vm++) {
+            Integer id = classIds.get(vmMips[vm]);
+            if (id == null) {
+                id = classIds.size();
+                classIds.put(vmMips[vm], id);
+            }
+            classOf[vm] = id;
+        }
+
+        int classCount = classIds.size();
+        this.classMips = new double[classCount];
+        this.classStart = new int[classCount];
+        this.classFirstVm = new int[classCount];
+        int[] classSize = new int[classCount];
+        for (int vm = vmCount - 1; vm >= 0; vm--) {
+            classMips[classOf[vm]] = vmMips[vm];
+            classFirstVm[classOf[vm]] = vm;
+            classSize[classOf[vm]]++;
+        }
+        for (int c = 1; c < classCount; c++) {
+            classStart[c] = classStart[c - 1] + classSize[c - 1];
+        }
+
+        // All available times start at 0, so index order is already a valid heap of either kind.
+        // EARLIEST_FINISH starts with every VM idle; LATEST_FINISH keeps every VM in the busy heap.
+        boolean startIdle = objective == Objective.EARLIEST_FINISH;
+        this.heap = new int[vmCount];
+        this.position = new int[vmCount];
+        this.idleHeap = new int[vmCount];
+        this.idlePosition = new int[vmCount];
+        this.idle = new boolean[vmCount];
+        this.busySize = new int[classCount];
+        this.idleSize = new int[classCount];
+        for (int vm = 0; vm < vmCount; vm++) {
+            int c = classOf[vm];
+            if (startIdle) {
+                int slot = classStart[c] + idleSize[c]++;
+                idleHeap[slot] = vm;
+                idlePosition[vm] = slot;
+                idle[vm] = true;
+            } else {
+                int slot = classStart[c] + busySize[c]++;
+                heap[slot] = vm;
+                position[vm] = slot;
+            }
+        }
+    }
+
+    @Override
+    public int select(long length) {
+        return objective == Objective.EARLIEST_FINISH ? findBestVM(length) : findWorstVM(length);
+    }
+
+    private int findBestVM(long length) {
+        int bestVm = 0;
+        double earliestFinishTime = Double.MAX_VALUE;
+
+        for (int c = 0; c < classMips.length; c++) {
+            // An idle VM of the class always beats its busy ones
+            int vm;
+            double start;
+            if (idleSize[c] > 0) {
+                vm = idleHeap[classStart[c]];
+                start = now;
+            } else {
+                vm = heap[classStart[c]];
+                start = vmAvailableTimes[vm];
+            }
+            double executionTime = (double) length / classMips[c];
+            double finishTime = start + executionTime;
+            if (finishTime <= earliestFinishTime) {
+                vm = lowestTiedVm(c, 0, executionTime, finishTime, vm);
+            }
+            if (finishTime < earliestFinishTime || (finishTime == earliestFinishTime && vm < bestVm)) {
+                earliestFinishTime = finishTime;
+                bestVm = vm;
+            }
+        }
+        return bestVm;
+    }
+
+    private int findWorstVM(long length) {
+        int worstVm = 0;
+        double latestCompletion = Double.MIN_VALUE;
+
+        for (int c = 0; c < classMips.length; c++) {
+            int vm = heap[classStart[c]];
+            double start = vmAvailableTimes[vm];
+            if (start <= now) {
+                // The latest VM of the class is idle, so all of them are
+                vm = classFirstVm[c];
+                start = now;
+            }
+            double executionTime = (double) length / classMips[c];
+            double completionTime = start + executionTime;
+            if (completionTime >= latestCompletion) {
+                vm = lowestTiedVm(c, 0, executionTime, completionTime, vm);
+            }
+            if (completionTime > latestCompletion || (completionTime == latestCompletion && vm < worstVm)) {
+                latestCompletion = completionTime;
+                worstVm = vm;
+            }
+        }
+        return worstVm;
+    }
+
+    // Lowest VM index from busy-heap slot i down whose finish time equals target. Finish times
+    // only move away from the head's, so a subtree is skipped once its root does not tie.
+    private int lowestTiedVm(int c, int i, double executionTime, double target, int lowest) {
+        if (i >= busySize[c]) {
+            return lowest;
+        }
+        int vm = heap[classStart[c] + i];
+        if (Math.max(vmAvailableTimes[vm], now) + executionTime != target) {
+            return lowest;
+        }
+        lowest = lowestTiedVm(c, 2 * i + 1, executionTime, target, Math.min(lowest, vm));
+        return lowestTiedVm(c, 2 * i + 2, executionTime, target, lowest);
+    }
+
+    @Override
+    public void assign(int vm, double executionTime) {
+        assignUntil(vm, Math.max(vmAvailableTimes[vm], now) + executionTime);
+    }
+
+    @Override
+    public void assignUntil(int vm, double availableTime) {
+        int c = classOf[vm];
+        if (idle[vm]) {
+            vmAvailableTimes[vm] = availableTime;
+            if (availableTime > now) {
+                removeIdle(c, vm);
+                pushBusy(c, vm);
+            }
+            return;
+        }
+        vmAvailableTimes[vm] = availableTime;
+        siftUp(c, position[vm] - classStart[c]);
+        siftDown(c, position[vm] - classStart[c]);
+    }
+
+    @Override
+    public double getAvailableTime(int vm) {
+        return Math.max(vmAvailableTimes[vm], now);
+    }
+
+    @Override
+    public void advanceTo(double time) {
+        if (time < now) {
+            throw new IllegalArgumentException("Time cannot go back: " + time + " < " + now);
+        }
+        now = time;
+        if (objective != Objective.EARLIEST_FINISH) {
+            return;
+        }
+        // Each VM moves at most once per assignment, so this is amortized O(log m) per job
+        for (int c = 0; c < classMips.length; c++) {
+            int base = classStart[c];
+            while (busySize[c] > 0 && vmAvailableTimes[heap[base]] <= now) {
+                int vm = heap[base];
+                int last = --busySize[c];
+                if (last > 0) {
+                    heap[base] = heap[base + last];
+                    position[heap[base]] = base;
+                    siftDown(c, 0);
+                }
+                pushIdle(c, vm);
+            }
+        }
+    }
+
+    // Heap order: EARLIEST_FINISH wants the smallest available time on top, LATEST_FINISH the largest
+    private boolean before(int a, int b) {
+        double ta = vmAvailableTimes[a];
+        double tb = vmAvailableTimes[b];
+        if (ta != tb) {
+            return objective == Objective.EARLIEST_FINISH ? ta < tb : ta > tb;
+        }
+        return a < b;
+    }
+
+    private void pushBusy(int c, int vm) {
+        int i = busySize[c]++;
+        heap[classStart[c] + i] = vm;
+        position[vm] = classStart[c] + i;
+        siftUp(c, i);
+    }
+
+    private void siftUp(int c, int i) {
+        int base = classStart[c];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(heap[base + i], heap[base + parent])) {
+                break;
+            }
+            swap(base + i, base + parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int c, int i) {
+        int base = classStart[c];
+        int size = busySize[c];
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int child = left;
+            int right = left + 1;
+            if (right < size && before(heap[base + right], heap[base + left])) {
+                child = right;
+            }
+            if (!before(heap[base + child], heap[base + i])) {
+                break;
+            }
+            swap(base + i, base + child);
+            i = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int vmA = heap[a];
+        int vmB = heap[b];
+        heap[a] = vmB;
+        heap[b] = vmA;
+        position[vmB] = a;
+        position[vmA] = b;
+    }
+
+    // ---------- Idle heaps (EARLIEST_FINISH only), ordered by VM index ----------
+
+    private void pushIdle(int c, int vm) {
+        int base = classStart[c];
+        int i = idleSize[c]++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int parentVm = idleHeap[base + parent];
+            if (parentVm < vm) {
+                break;
+            }
+            idleHeap[base + i] = parentVm;
+            idlePosition[parentVm] = base + i;
+            i = parent;
+        }
+        idleHeap[base + i] = vm;
+        idlePosition[vm] = base + i;
+        idle[vm] = true;
+    }
+
+    private void removeIdle(int c, int vm) {
+        int base = classStart[c];
+        int last = --idleSize[c];
+        int i = idlePosition[vm] - base;
+        idle[vm] = false;
+        if (i == last) {
+            return;
+        }
+        // Move the last VM into the hole, then restore heap order up or down
+        int moved = idleHeap[base + last];
+        while (i > 0 && idleHeap[base + ((i - 1) >>> 1)] > moved) {
+            int parent = (i - 1) >>> 1;
+            idleHeap[base + i] = idleHeap[base + parent];
+            idlePosition[idleHeap[base + i]] = base + i;
+            i = parent;
+        }
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= last) {
+                break;
+            }
+            if (child + 1 < last && idleHeap[base + child + 1] < idleHeap[base + child]) {
+                child++;
+            }
+            if (idleHeap[base + child] > moved) {
+                break;
+            }
+            idleHeap[base + i] = idleHeap[base + child];
+            idlePosition[idleHeap[base + i]] = base + i;
+            i = child;
+        }
+        idleHeap[base + i] = moved;
+        idlePosition[moved] = base + i;
+    }
+}
@@ -0,0 +1,423 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Island-model genetic algorithm over VM assignments.
+ * <p>
+ * A chromosome is an {@code int[]} of VM indices, one per job. Fitness is the makespan
+ * timed per PE from the job arrivals, as {@link PeSlotDispatcher} plans, which is one
+ * pass over the jobs in release order. Each island evolves its own population with
+ * tournament selection, two-point crossover, random moves and a rebalancing move off the
+ * most loaded VM, keeping its best chromosome (elitism). Mutations never put a job on a VM
+ * with too few PEs. They are steered by per-PE loads ({@code length * jobPes / (mips * pes)})
+ * from a precomputed table per job and VM class.
+ * <p>
+ * Islands run in lockstep epochs on a {@link ForkJoinPool}: every island evolves
+ * {@code migrationInterval} generations, then each island's best replaces the worst of the
+ * next island (ring). Each island has its own {@link SplittableRandom} split from the seed,
+ * so a run with a given seed and generation count is reproducible whatever the thread
+ * timing. Every island starts from the seed assignment, so the result is never worse.
+ */
+public class IslandGeneticScheduler {
+
+    private final int islands;
+    private final int populationSize;
+    private final int migrationInterval;
+    private final long budgetMillis;
+    private final int maxGenerations;
+    private final long seed;
+
+    public IslandGeneticScheduler(int islands, int populationSize, int migrationInterval,
+                                  long budgetMillis, int maxGenerations, long seed) {
+        if (islands < 1 || populationSize < 2 || migrationInterval < 1) {
+            throw new IllegalArgumentException("Need islands >= 1, population >= 2 and migration interval >= 1");
+        }
+        this.islands = islands;
+        this.populationSize = populationSize;
+        this.migrationInterval = migrationInterval;
+        this.budgetMillis = budgetMillis;
+        this.maxGenerations = maxGenerations;
+        this.seed = seed;
+    }
+
+    /**
+     * Best assignment found, with the time-to-quality curve: best makespan over all
+     * islands after every epoch.
+     */
+    public static final class Result {
+        private final int[] assignment;
+        private final double initialMakespan;
+        private final double makespan;
+        private final int generations;
+        private final double[] curveMillis;
+        private final double[] curveMakespans;
+
+        Result(int[] assignment, double initialMakespan, double makespan, int generations,
+               double[] curveMillis, double[] curveMakespans) {
+            this.assignment = assignment;
+            this.initialMakespan = initialMakespan;
+            this.makespan = makespan;
+            this.generations = generations;
+            this.curveMillis = curveMillis;
+            this.curveMakespans = curveMakespans;
+        }
+
+        public int[] getAssignment() {
+            return assignment;
+        }
+
+        public double getInitialMakespan() {
+            return initialMakespan;
+        }
+
+        public double getMakespan() {
+            return makespan;
+        }
+
+        public int getGenerations() {
+            return generations;
+        }
+
+        public double[] getCurveMillis() {
+            return curveMillis;
+        }
+
+        public double[] getCurveMakespans() {
+            return curveMakespans;
+        }
+
+        /**
+         * Milliseconds until the best makespan first got within {@code percent} of the final one.
+         */
+        public double millisToWithin(double percent) {
+            double target = makespan * (1 + percent / 100.0);
+            for (int i = 0; i < curveMakespans.length; i++) {
+                if (curveMakespans[i] <= target) {
+                    return curveMillis[i];
+                }
+            }
+            return curveMillis.length > 0 ? curveMillis[curveMillis.length - 1] : 0;
+        }
+    }
+
+    public Result evolve(Workload workload, int[] seedAssignment) {
+        FitnessModel model = new FitnessModel(workload);
+        PeSlotTimer timer = new PeSlotTimer(workload);
+        SplittableRandom master = new SplittableRandom(seed);
+        List<Island> population = new ArrayList<>(islands);
+        for (int i = 0; i < islands; i++) {
+            population.add(new Island(model, new PeSlotTimer(workload), seedAssignment, populationSize,
+                    master.split()));
+        }
+        double initialMakespan = timer.makespan(seedAssignment);
+
+        List<Double> curveMillis = new ArrayList<>();
+        List<Double> curveMakespans = new ArrayList<>();
+        long start = System.nanoTime();
+        int generations = 0;
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(islands, Runtime.getRuntime().availableProcessors()));
+        try {
+            while (generations < maxGenerations
+                    && (System.nanoTime() - start) / 1_000_000L < budgetMillis) {
+                int epoch = Math.min(migrationInterval, maxGenerations - generations);
+                List<Callable<Void>> tasks = new ArrayList<>(islands);
+                for (Island island : population) {
+                    tasks.add(() -> {
+                        island.evolve(epoch);
+                        return null;
+                    });
+                }
+                for (Future<Void> future : pool.invokeAll(tasks)) {
+                    future.get();
+                }
+                generations += epoch;
+
+                // Ring migration: island i sends its best to island i+1
+                if (islands > 1) {
+                    List<int[]> migrants = new ArrayList<>(islands);
+                    for (Island island : population) {
+                        migrants.add(island.best().clone());
+                    }
+                    for (int i = 0; i < islands; i++) {
+                        population.get((i + 1) % islands).replaceWorst(migrants.get(i));
+                    }
+                }
+
+                curveMillis.add((System.nanoTime() - start) / 1e6);
+                curveMakespans.add(bestOf(population).bestFitness());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Genetic search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Island best = bestOf(population);
+        int[] assignment = best.bestFitness() < initialMakespan ? best.best().clone() : seedAssignment.clone();
+        return new Result(assignment, initialMakespan, timer.makespan(assignment), generations,
+                curveMillis.stream().mapToDouble(Double::doubleValue).toArray(),
+                curveMakespans.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    private static Island bestOf(List<Island> population) {
+        Island best = population.get(0);
+        for (Island island : population) {
+            if (island.bestFitness() < best.bestFitness()) {
+                best = island;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Per-PE load table: {@code exec[job * classCount + classOf[vm]]}. VMs with the same
+     * MIPS and PEs share a column, so the table stays small for large fleets.
+     */
+    static final class FitnessModel {
+        final int jobCount;
+        final int vmCount;
+        final int classCount;
+        final int[] classOf;
+        final double[] exec;
+        private final int[] jobPes;
+        private final int[] vmPes;
+
+        FitnessModel(Workload workload) {
+            long[] lengths = workload.getLengths();
+            double[] vmMips = workload.getVmMips();
+            this.jobPes = workload.getJobPes();
+            this.vmPes = workload.getVmPes();
+            this.jobCount = lengths.length;
+            this.vmCount = vmMips.length;
+            this.classOf = new int[vmCount];
+
+            Map<String, Integer> classIds = new HashMap<>();
+            List<Double> classCapacity = new ArrayList<>();
+            for (int vm = 0; vm < vmCount; vm++) {
+                String key = vmMips[vm] + "x" + vmPes[vm];
+                Integer id = classIds.get(key);
+                if (id == null) {
+                    id = classCapacity.size();
+                    classIds.put(key, id);
+                    classCapacity.add(vmMips[vm] * vmPes[vm]);
+                }
+                classOf[vm] = id;
+            }
+            this.classCount = classCapacity.size();
+            // One flat table indexed by job * classCount + class, so the product has to fit an int
+            long cells = (long) jobCount * classCount;
+            if (cells > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Execution time table too large: " + jobCount + " jobs x "
+                        + classCount + " VM speeds");
+            }
+            this.exec = new double[(int) cells];
+            for (int job = 0; job < jobCount; job++) {
+                for (int c = 0; c < classCount; c++) {
+                    exec[job * classCount + c] = (double) lengths[job] * jobPes[job] / classCapacity.get(c);
+                }
+            }
+        }
+
+        double exec(int job, int vm) {
+            return exec[job * classCount + classOf[vm]];
+        }
+
+        boolean fits(int job, int vm) {
+            return jobPes[job] <= vmPes[vm];
+        }
+
+        void loads(int[] genes, double[] loads) {
+            Arrays.fill(loads, 0.0);
+            for (int job = 0; job < jobCount; job++) {
+                loads[genes[job]] += exec[job * classCount + classOf[genes[job]]];
+            }
+        }
+    }
+
+    /**
+     * One island: a population of chromosomes, double-buffered between generations.
+     */
+    private static final class Island {
+        private static final int TOURNAMENT_SIZE = 3;
+
+        private final FitnessModel model;
+        private final PeSlotTimer timer;
+        private final SplittableRandom random;
+        private int[][] genes;
+        private int[][] nextGenes;
+        private double[] fitness;
+        private double[] nextFitness;
+        private final double[] loads;
+        private int bestIndex;
+
+        Island(FitnessModel model, PeSlotTimer timer, int[] seedAssignment, int size, SplittableRandom random) {
+            this.model = model;
+            this.timer = timer;
+            this.random = random;
+            this.genes = new int[size][];
+            this.nextGenes = new int[size][model.jobCount];
+            this.fitness = new double[size];
+            this.nextFitness = new double[size];
+            this.loads = new double[model.vmCount];
+
+            // The seed itself plus mutants of it
+            for (int i = 0; i < size; i++) {
+                genes[i] = seedAssignment.clone();
+                model.loads(genes[i], loads);
+                if (i > 0) {
+                    mutate(genes[i], 1 + random.nextInt(Math.max(1, model.jobCount / 50 + 1)));
+                }
+                fitness[i] = timer.makespan(genes[i]);
+            }
+            bestIndex = 0;
+            for (int i = 1; i < size; i++) {
+                if (fitness[i] < fitness[bestIndex]) {
+                    bestIndex = i;
+                }
+            }
+        }
+
+        void evolve(int generations) {
+            int size = genes.length;
+            int n = model.jobCount;
+            for (int g = 0; g < generations; g++) {
+                // Elitism: the best survives unchanged in slot 0
+                System.arraycopy(genes[bestIndex], 0, nextGenes[0], 0, n);
+                nextFitness[0] = fitness[bestIndex];
+                int nextBest = 0;
+
+                for (int i = 1; i < size; i++) {
+                    int[] child = nextGenes[i];
+                    int[] a = genes[tournament()];
+                    int[] b = genes[tournament()];
+                    // Two-point crossover
+                    int cut1 = n > 0 ? random.nextInt(n) : 0;
+                    int cut2 = n > 0 ? random.nextInt(n) : 0;
+                    if (cut1 > cut2) {
+                        int tmp = cut1;
+                        cut1 = cut2;
+                        cut2 = tmp;
+                    }
+                    System.arraycopy(a, 0, child, 0, cut1);
+                    System.arraycopy(b, cut1, child, cut1, cut2 - cut1);
+                    System.arraycopy(a, cut2, child, cut2, n - cut2);
+
+                    model.loads(child, loads);
+                    mutate(child, random.nextInt(4) == 0 ? 1 : 0);
+                    nextFitness[i] = timer.makespan(child);
+                    if (nextFitness[i] < nextFitness[nextBest]) {
+                        nextBest = i;
+                    }
+                }
+
+                int[][] swapGenes = genes;
+                genes = nextGenes;
+                nextGenes = swapGenes;
+                double[] swapFitness = fitness;
+                fitness = nextFitness;
+                nextFitness = swapFitness;
+                bestIndex = nextBest;
+            }
+        }
+
+        // Random moves, then one move off the most loaded VM; keeps loads[] in step with genes
+        private void mutate(int[] child, int randomMoves) {
+            int n = model.jobCount;
+            int m = model.vmCount;
+            if (n == 0 || m < 2) {
+                return;
+            }
+            for (int k = 0; k < randomMoves; k++) {
+                int job = random.nextInt(n);
+                int vm = random.nextInt(m);
+                if (model.fits(job, vm)) {
+                    moveJob(child, job, vm);
+                }
+            }
+
+            int maxVm = 0;
+            for (int vm = 1; vm < m; vm++) {
+                if (loads[vm] > loads[maxVm]) {
+                    maxVm = vm;
+                }
+            }
+            // Find a job on the most loaded VM by sampling
+            for (int tries = 0; tries < 4 * m; tries++) {
+                int job = random.nextInt(n);
+                if (child[job] != maxVm) {
+                    continue;
+                }
+                int target = maxVm;
+                double bestFinish = loads[maxVm];
+                for (int vm = 0; vm < m; vm++) {
+                    double finish = loads[vm] + model.exec(job, vm);
+                    if (vm != maxVm && finish < bestFinish && model.fits(job, vm)) {
+                        bestFinish = finish;
+                        target = vm;
+                    }
+                }
+                if (target != maxVm) {
+                    moveJob(child, job, target);
+                }
+                break;
+            }
+        }
+
+        private void moveJob(int[] child, int job, int to) {
+            int from = child[job];
+            loads[from] -= model.exec(job, from);
+            loads[to] += model.exec(job, to);
+            child[job] = to;
+        }
+
+        private int tournament() {
+            int winner = random.nextInt(genes.length);
+            for (int k = 1; k < TOURNAMENT_SIZE; k++) {
+                int challenger = random.nextInt(genes.length);
+                if (fitness[challenger] < fitness[winner]) {
+                    winner = challenger;
+                }
+            }
+            return winner;
+        }
+
+        int[] best() {
+            return genes[bestIndex];
+        }
+
+        double bestFitness() {
+            return fitness[bestIndex];
+        }
+
+        void replaceWorst(int[] migrant) {
+            int worst = 0;
+            for (int i = 1; i < genes.length; i++) {
+                if (fitness[i] > fitness[worst]) {
+                    worst = i;
+                }
+            }
+            if (worst == bestIndex) {
+                return;
+            }
+            System.arraycopy(migrant, 0, genes[worst], 0, migrant.length);
+            fitness[worst] = timer.makespan(genes[worst]);
+            if (fitness[worst] < fitness[bestIndex]) {
+                bestIndex = worst;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of job (or VM) indices over a {@code long} key per index,
+ * ties by index. {@code position[job]} tracks where each entry sits, so a queued job
+ * can be removed in O(log n). The key array is shared; a key must not change while
+ * its index is in the heap.
+ */
+final class JobHeap {
+
+    private final long[] keys;
+    private final int[] position;
+    private int[] heap;
+    private int size;
+
+    JobHeap(long[] keys) {
+        this.keys = keys;
+        this.position = new int[keys.length];
+        Arrays.fill(position, -1);
+        this.heap = new int[Math.min(16, Math.max(1, keys.length))];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int job) {
+        return position[job] >= 0;
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Entry that {@link #poll()} would return after the head, or -1 with fewer than two.
+     */
+    int second() {
+        if (size < 2) {
+            return -1;
+        }
+        return size == 2 || less(heap[1], heap[2]) ? heap[1] : heap[2];
+    }
+
+    void add(int job) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, Math.min(keys.length, heap.length * 2));
+        }
+        heap[size] = job;
+        position[job] = size;
+        siftUp(size++);
+    }
+
+    int poll() {
+        int job = heap[0];
+        removeAt(0);
+        return job;
+    }
+
+    void remove(int job) {
+        removeAt(position[job]);
+    }
+
+    private void removeAt(int index) {
+        int removed = heap[index];
+        position[removed] = -1;
+        int last = heap[--size];
+        if (index < size) {
+            heap[index] = last;
+            position[last] = index;
+            siftDown(index);
+            siftUp(position[last]);
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void siftUp(int index) {
+        int job = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(job, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            position[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = job;
+        position[job] = index;
+    }
+
+    private void siftDown(int index) {
+        int job = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], job)) {
+                break;
+            }
+            heap[index] = heap[child];
+            position[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = job;
+        position[job] = index;
+    }
+}
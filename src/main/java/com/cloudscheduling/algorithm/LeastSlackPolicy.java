@@ -0,0 +1,57 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * Least Slack First on heterogeneous VMs.
+ * A job's slack is its deadline minus its execution time on the fastest VM, i.e. how
+ * long it can wait and still be on time. Jobs are taken by ascending slack and each one
+ * goes to the VM on which it would finish earliest. Unlike EDF, a long job with a
+ * slightly later deadline goes before a short one.
+ */
+public class LeastSlackPolicy implements OnlinePolicy, PlanningPolicy {
+
+    public static final String NAME = "LSF";
+
+    private final VmSelector.Mode selectorMode;
+
+    public LeastSlackPolicy() {
+        this(VmSelector.Mode.fromSystemProperty());
+    }
+
+    public LeastSlackPolicy(VmSelector.Mode selectorMode) {
+        this.selectorMode = selectorMode;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int[] dispatchOrder(Workload workload) {
+        long[] lengths = workload.getLengths();
+        double[] deadlines = workload.getDeadlines();
+        double fastestMips = 0;
+        for (double mips : workload.getVmMips()) {
+            fastestMips = Math.max(fastestMips, mips);
+        }
+
+        double[] slack = new double[lengths.length];
+        for (int i = 0; i < lengths.length; i++) {
+            slack[i] = deadlines[i] - lengths[i] / fastestMips;
+        }
+        return IndexSort.ascending(slack);
+    }
+
+    @Override
+    public Dispatcher newDispatcher(Workload workload) {
+        return SelectorDispatcher.create(workload, VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+    }
+
+    /**
+     * Plans start times as well, so slack order decides when each job runs.
+     */
+    @Override
+    public Schedule plan(Workload workload) {
+        return SelectorDispatcher.plan(workload, dispatchOrder(workload), VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+    }
+}
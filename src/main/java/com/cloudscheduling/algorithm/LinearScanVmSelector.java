@@ -0,0 +1,76 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * Reference selector: scans every VM for every job, O(m) per decision.
+ */
+public class LinearScanVmSelector implements VmSelector {
+
+    private final double[] vmMips;
+    private final double[] vmAvailableTimes;
+    private final Objective objective;
+    private double now;
+
+    public LinearScanVmSelector(double[] vmMips, Objective objective) {
+        this.vmMips = vmMips;
+        this.vmAvailableTimes = new double[vmMips.length];
+        this.objective = objective;
+    }
+
+    @Override
+    public int select(long length) {
+        return objective == Objective.EARLIEST_FINISH ? findBestVM(length) : findWorstVM(length);
+    }
+
+    // VM that gives the EARLIEST finish time
+    private int findBestVM(long length) {
+        int bestVm = 0;
+        double earliestFinishTime = Double.MAX_VALUE;
+
+        for (int i = 0; i < vmMips.length; i++) {
+            double finishTime = Math.max(vmAvailableTimes[i], now) + (double) length / vmMips[i];
+            if (finishTime < earliestFinishTime) {
+                earliestFinishTime = finishTime;
+                bestVm = i;
+            }
+        }
+        return bestVm;
+    }
+
+    // VM that gives the LATEST completion time
+    private int findWorstVM(long length) {
+        int worstVm = 0;
+        double latestCompletion = Double.MIN_VALUE;
+
+        for (int i = 0; i < vmMips.length; i++) {
+            double completionTime = Math.max(vmAvailableTimes[i], now) + (double) length / vmMips[i];
+            if (completionTime > latestCompletion) {
+                latestCompletion = completionTime;
+                worstVm = i;
+            }
+        }
+        return worstVm;
+    }
+
+    @Override
+    public void assign(int vm, double executionTime) {
+        vmAvailableTimes[vm] = Math.max(vmAvailableTimes[vm], now) + executionTime;
+    }
+
+    @Override
+    public void assignUntil(int vm, double availableTime) {
+        vmAvailableTimes[vm] = availableTime;
+    }
+
+    @Override
+    public double getAvailableTime(int vm) {
+        return Math.max(vmAvailableTimes[vm], now);
+    }
+
+    @Override
+    public void advanceTo(double time) {
+        if (time < now) {
+            throw new IllegalArgumentException("Time cannot go back: " + time + " < " + now);
+        }
+        now = time;
+    }
+}
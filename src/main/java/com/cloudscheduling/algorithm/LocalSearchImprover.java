@@ -0,0 +1,343 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Post-optimization of any assignment by simulated annealing.
+ * <p>
+ * Moves are steered by a load model: VM v with p PEs is busy for the sum of
+ * {@code length * jobPes / (vmMips[v] * p)} of its jobs, and the largest such load is a
+ * lower bound on its finish. Two neighborhoods are used: move one job to another VM, or
+ * swap two jobs between VMs, never onto a VM with too few PEs. Half of the moves start
+ * from the VM with the largest load. A move changes exactly two loads, so its effect on
+ * the annealing energy is computed in O(1) without re-simulating anything. The energy is
+ * {@code sum(vmMips[v] * p * load[v]^2)}: weighting by capacity makes equal loads the
+ * balanced state (a plain sum of squares would settle with loads proportional to MIPS,
+ * leaving the fast VMs finishing last).
+ * <p>
+ * Makespans, of the seed as well as of the results, are timed per PE from the job
+ * arrivals, as {@link PeSlotDispatcher} plans: whenever a chain's largest load reaches a
+ * new low its assignment is timed, and only a timed improvement is kept.
+ * <p>
+ * Several independent chains run on a {@link ForkJoinPool}, each with its own
+ * {@link SplittableRandom} split from the seed, until the wall-clock budget is used up.
+ * The best assignment over all chains is returned, or the seed if none beats it.
+ */
+public class LocalSearchImprover {
+
+    private static final int CHECK_INTERVAL = 1024;
+    private static final double START_TEMPERATURE = 1e-2;
+    private static final double END_TEMPERATURE = 1e-6;
+
+    private final int chains;
+    private final long budgetMillis;
+    private final long seed;
+
+    public LocalSearchImprover(int chains, long budgetMillis, long seed) {
+        if (chains < 1) {
+            throw new IllegalArgumentException("Need at least one chain: " + chains);
+        }
+        this.chains = chains;
+        this.budgetMillis = budgetMillis;
+        this.seed = seed;
+    }
+
+    /**
+     * Outcome of a run: the best assignment and where it started from.
+     */
+    public static final class Result {
+        private final int[] assignment;
+        private final double initialMakespan;
+        private final double makespan;
+        private final double[] chainMakespans;
+        private final long iterations;
+        private final long acceptedMoves;
+
+        Result(int[] assignment, double initialMakespan, double makespan, double[] chainMakespans,
+               long iterations, long acceptedMoves) {
+            this.assignment = assignment;
+            this.initialMakespan = initialMakespan;
+            this.makespan = makespan;
+            this.chainMakespans = chainMakespans;
+            this.iterations = iterations;
+            this.acceptedMoves = acceptedMoves;
+        }
+
+        public int[] getAssignment() {
+            return assignment;
+        }
+
+        public double getInitialMakespan() {
+            return initialMakespan;
+        }
+
+        public double getMakespan() {
+            return makespan;
+        }
+
+        public double[] getChainMakespans() {
+            return chainMakespans;
+        }
+
+        public long getIterations() {
+            return iterations;
+        }
+
+        public long getAcceptedMoves() {
+            return acceptedMoves;
+        }
+
+        public double getImprovementPercent() {
+            return initialMakespan > 0 ? (initialMakespan - makespan) / initialMakespan * 100 : 0;
+        }
+    }
+
+    public Result improve(Workload workload, int[] initial) {
+        double initialMakespan = new PeSlotTimer(workload).makespan(initial);
+        SplittableRandom master = new SplittableRandom(seed);
+        ForkJoinPool pool = new ForkJoinPool(Math.min(chains, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Chain>> futures = new ArrayList<>(chains);
+            for (int c = 0; c < chains; c++) {
+                Chain chain = new Chain(workload, initial, initialMakespan, master.split());
+                futures.add(pool.submit(() -> {
+                    chain.run(budgetMillis);
+                    return chain;
+                }));
+            }
+
+            Chain best = null;
+            double[] chainMakespans = new double[chains];
+            long iterations = 0;
+            long accepted = 0;
+            for (int c = 0; c < chains; c++) {
+                Chain chain = futures.get(c).get();
+                chainMakespans[c] = chain.bestMakespan;
+                iterations += chain.iterations;
+                accepted += chain.accepted;
+                if (best == null || chain.bestMakespan < best.bestMakespan) {
+                    best = chain;
+                }
+            }
+
+            // The greedy start is kept if no chain beat it
+            boolean improved = best.bestMakespan < initialMakespan;
+            int[] assignment = improved ? best.bestAssignment : initial.clone();
+            double makespan = improved ? best.bestMakespan : initialMakespan;
+            return new Result(assignment, initialMakespan, makespan, chainMakespans, iterations, accepted);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Local search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Local search chain failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Makespan of the assignment with each VM running its jobs on its PEs as they arrive,
+     * shortest first among jobs arriving together.
+     */
+    public static double makespan(Workload workload, int[] assignment) {
+        return new PeSlotTimer(workload).makespan(assignment);
+    }
+
+    /**
+     * One annealing chain. Each VM's jobs sit in an unordered array ({@code vmJobs[v]},
+     * with {@code slot[job]} pointing back), so picking or moving a job is O(1).
+     */
+    private static final class Chain {
+        private final double[] work;
+        private final int[] jobPes;
+        private final int[] vmPes;
+        private final double[] capacity;
+        private final PeSlotTimer timer;
+        private final SplittableRandom random;
+
+        private final int[] assignment;
+        private final double[] loads;
+        private final int[][] vmJobs;
+        private final int[] vmJobCount;
+        private final int[] slot;
+        private final double energyScale;
+
+        private int maxVm;
+        private double bestLoad;
+        private int[] bestAssignment;
+        private double bestMakespan;
+        private long iterations;
+        private long accepted;
+
+        Chain(Workload workload, int[] initial, double initialMakespan, SplittableRandom random) {
+            long[] lengths = workload.getLengths();
+            double[] vmMips = workload.getVmMips();
+            this.jobPes = workload.getJobPes();
+            this.vmPes = workload.getVmPes();
+            this.timer = new PeSlotTimer(workload);
+            this.random = random;
+
+            int n = lengths.length;
+            int m = vmMips.length;
+            this.work = new double[n];
+            for (int job = 0; job < n; job++) {
+                work[job] = (double) lengths[job] * jobPes[job];
+            }
+            this.capacity = new double[m];
+            for (int vm = 0; vm < m; vm++) {
+                capacity[vm] = vmMips[vm] * vmPes[vm];
+            }
+            this.assignment = initial.clone();
+            this.loads = new double[m];
+            this.vmJobCount = new int[m];
+            this.slot = new int[n];
+            for (int job = 0; job < n; job++) {
+                loads[assignment[job]] += work[job] / capacity[assignment[job]];
+                vmJobCount[assignment[job]]++;
+            }
+            this.vmJobs = new int[m][];
+            for (int vm = 0; vm < m; vm++) {
+                vmJobs[vm] = new int[Math.max(4, vmJobCount[vm])];
+                vmJobCount[vm] = 0;
+            }
+            for (int job = 0; job < n; job++) {
+                addJob(assignment[job], job);
+            }
+
+            double totalLoad = 0;
+            for (double load : loads) {
+                totalLoad += load;
+            }
+            double meanLoad = totalLoad / m;
+            double totalCapacity = 0;
+            for (double c : capacity) {
+                totalCapacity += c;
+            }
+            // Energy deltas are normalized by mean capacity x squared mean load, so temperatures are scale-free
+            double scale = totalCapacity / m * meanLoad * meanLoad;
+            this.energyScale = scale > 0 ? scale : 1;
+
+            rescanMax();
+            this.bestLoad = loads[maxVm];
+            this.bestMakespan = initialMakespan;
+            this.bestAssignment = assignment.clone();
+        }
+
+        void run(long budgetMillis) {
+            int m = capacity.length;
+            if (m < 2 || work.length == 0) {
+                return;
+            }
+            long start = System.nanoTime();
+            long budgetNanos = budgetMillis * 1_000_000L;
+            double temperature = START_TEMPERATURE;
+
+            while (true) {
+                if ((iterations & (CHECK_INTERVAL - 1)) == 0) {
+                    long elapsed = System.nanoTime() - start;
+                    if (elapsed >= budgetNanos) {
+                        break;
+                    }
+                    double progress = (double) elapsed / budgetNanos;
+                    temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, progress);
+                    saveIfBest();
+                }
+                iterations++;
+
+                int a = random.nextBoolean() ? maxVm : random.nextInt(m);
+                if (vmJobCount[a] == 0) {
+                    continue;
+                }
+                int b = random.nextInt(m - 1);
+                if (b >= a) {
+                    b++;
+                }
+                int job = vmJobs[a][random.nextInt(vmJobCount[a])];
+                if (jobPes[job] > vmPes[b]) {
+                    continue;
+                }
+                double loadA = loads[a];
+                double loadB = loads[b];
+
+                boolean swap = vmJobCount[b] > 0 && random.nextBoolean();
+                int other = swap ? vmJobs[b][random.nextInt(vmJobCount[b])] : -1;
+                if (swap && jobPes[other] > vmPes[a]) {
+                    continue;
+                }
+                double newA = loadA - work[job] / capacity[a];
+                double newB = loadB + work[job] / capacity[b];
+                if (swap) {
+                    newA += work[other] / capacity[a];
+                    newB -= work[other] / capacity[b];
+                }
+
+                double delta = (capacity[a] * (newA * newA - loadA * loadA)
+                        + capacity[b] * (newB * newB - loadB * loadB)) / energyScale;
+                if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) {
+                    continue;
+                }
+
+                accepted++;
+                moveJob(job, a, b);
+                if (swap) {
+                    moveJob(other, b, a);
+                }
+                double oldMax = loads[maxVm];
+                boolean touchedMax = maxVm == a || maxVm == b;
+                loads[a] = newA;
+                loads[b] = newB;
+                if (newA >= oldMax || newB >= oldMax) {
+                    maxVm = newA >= newB ? a : b;
+                } else if (touchedMax) {
+                    // The largest load dropped: O(m), only on accepted moves off the critical VM
+                    rescanMax();
+                }
+            }
+            saveIfBest();
+        }
+
+        private void rescanMax() {
+            maxVm = 0;
+            for (int vm = 1; vm < loads.length; vm++) {
+                if (loads[vm] > loads[maxVm]) {
+                    maxVm = vm;
+                }
+            }
+        }
+
+        // Timing is O(n), so only assignments that reach a new lowest load are timed
+        private void saveIfBest() {
+            if (loads[maxVm] >= bestLoad) {
+                return;
+            }
+            bestLoad = loads[maxVm];
+            double makespan = timer.makespan(assignment);
+            if (makespan < bestMakespan) {
+                bestMakespan = makespan;
+                System.arraycopy(assignment, 0, bestAssignment, 0, assignment.length);
+            }
+        }
+
+        private void moveJob(int job, int from, int to) {
+            int last = vmJobs[from][--vmJobCount[from]];
+            vmJobs[from][slot[job]] = last;
+            slot[last] = slot[job];
+            addJob(to, job);
+            assignment[job] = to;
+        }
+
+        private void addJob(int vm, int job) {
+            if (vmJobCount[vm] == vmJobs[vm].length) {
+                vmJobs[vm] = Arrays.copyOf(vmJobs[vm], vmJobs[vm].length * 2);
+            }
+            slot[job] = vmJobCount[vm];
+            vmJobs[vm][vmJobCount[vm]++] = job;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * A greedy policy followed by {@link LocalSearchImprover}.
+ * The defaults (EG-SJF start, one chain per core, 200 ms) can be changed with the
+ * {@code localSearch.chains}, {@code localSearch.budgetMs} and {@code localSearch.seed}
+ * system properties.
+ */
+public class LocalSearchPolicy implements SchedulingPolicy {
+
+    public static final String NAME = "EG-SJF-LS";
+
+    private final SchedulingPolicy start;
+    private final LocalSearchImprover improver;
+    private LocalSearchImprover.Result lastResult;
+
+    public LocalSearchPolicy() {
+        this(new EGSJFPolicy(), new LocalSearchImprover(
+                Integer.getInteger("localSearch.chains", Runtime.getRuntime().availableProcessors()),
+                Long.getLong("localSearch.budgetMs", 200L),
+                Long.getLong("localSearch.seed", 42L)));
+    }
+
+    public LocalSearchPolicy(SchedulingPolicy start, LocalSearchImprover improver) {
+        this.start = start;
+        this.improver = improver;
+    }
+
+    @Override
+    public String getName() {
+        return start instanceof EGSJFPolicy ? NAME : start.getName() + "-LS";
+    }
+
+    @Override
+    public int[] schedule(Workload workload) {
+        lastResult = improver.improve(workload, start.schedule(workload));
+        return lastResult.getAssignment();
+    }
+
+    /**
+     * Details of the last {@link #schedule(Workload)} call, or null before the first one.
+     */
+    public LocalSearchImprover.Result getLastResult() {
+        return lastResult;
+    }
+}
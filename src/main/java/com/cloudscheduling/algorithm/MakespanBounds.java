@@ -0,0 +1,115 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Lower bounds on the makespan of any schedule of a {@link Workload}, to report how far a
+ * policy is from optimal rather than how far it is from another heuristic.
+ * <ul>
+ *   <li>Work: total MI over total MIPS.</li>
+ *   <li>Longest job: the longest job on the fastest VM.</li>
+ *   <li>Release: the latest arrival plus that job's time on the fastest VM.</li>
+ *   <li>Uniform machines: the optimum of the preemptive relaxation, which is also the value
+ *       of the LP relaxation for VMs that differ only in speed. With jobs p1 &ge; p2 &ge; ...
+ *       and speeds s1 &ge; s2 &ge; ..., it is the largest of (p1 + ... + pk) / (s1 + ... + sk)
+ *       for k &lt; m and the work bound; k = 1 is the longest-job bound.</li>
+ * </ul>
+ * With PE slots every PE counts as a machine at its VM's MIPS and a job on k PEs as k
+ * jobs, which only drops constraints, so the bounds stay valid. All four take O(n log n).
+ * The gap of a makespan C is {@code (C - LB) / LB}.
+ */
+public final class MakespanBounds {
+
+    private final double workBound;
+    private final double longestJobBound;
+    private final double releaseBound;
+    private final double uniformMachineBound;
+
+    private MakespanBounds(double workBound, double longestJobBound, double releaseBound, double uniformMachineBound) {
+        this.workBound = workBound;
+        this.longestJobBound = longestJobBound;
+        this.releaseBound = releaseBound;
+        this.uniformMachineBound = uniformMachineBound;
+    }
+
+    public static MakespanBounds of(Workload workload) {
+        long[] lengths = workload.getLengths();
+        double[] arrivals = workload.getArrivalTimes();
+        int[] jobPes = workload.getJobPes();
+        double[] vmMips = workload.getVmMips();
+        int[] vmPes = workload.getVmPes();
+
+        int machineCount = Arrays.stream(vmPes).sum();
+        double[] speeds = new double[machineCount];
+        int next = 0;
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            for (int pe = 0; pe < vmPes[vm]; pe++) {
+                speeds[next++] = vmMips[vm];
+            }
+        }
+        Arrays.sort(speeds);
+        double fastest = speeds[machineCount - 1];
+        double totalSpeed = 0;
+        for (double speed : speeds) {
+            totalSpeed += speed;
+        }
+
+        int partCount = Arrays.stream(jobPes).sum();
+        long[] parts = new long[partCount];
+        double totalWork = 0;
+        double longest = 0;
+        double release = 0;
+        next = 0;
+        for (int job = 0; job < lengths.length; job++) {
+            for (int pe = 0; pe < jobPes[job]; pe++) {
+                parts[next++] = lengths[job];
+            }
+            totalWork += (double) lengths[job] * jobPes[job];
+            longest = Math.max(longest, lengths[job]);
+            release = Math.max(release, arrivals[job] + lengths[job] / fastest);
+        }
+        Arrays.sort(parts);
+
+        // k largest parts on the k fastest machines, k < min(parts, machines)
+        double uniform = totalWork / totalSpeed;
+        double partSum = 0;
+        double speedSum = 0;
+        for (int k = 1; k < machineCount && k <= partCount; k++) {
+            partSum += parts[partCount - k];
+            speedSum += speeds[machineCount - k];
+            uniform = Math.max(uniform, partSum / speedSum);
+        }
+        return new MakespanBounds(totalWork / totalSpeed, longest / fastest, release, uniform);
+    }
+
+    public double getWorkBound() {
+        return workBound;
+    }
+
+    public double getLongestJobBound() {
+        return longestJobBound;
+    }
+
+    public double getReleaseBound() {
+        return releaseBound;
+    }
+
+    public double getUniformMachineBound() {
+        return uniformMachineBound;
+    }
+
+    /**
+     * Best of the bounds.
+     */
+    public double getLowerBound() {
+        return Math.max(uniformMachineBound, releaseBound);
+    }
+
+    /**
+     * Fraction by which {@code makespan} exceeds the lower bound, e.g. 0.05 for 5%.
+     */
+    public double gap(double makespan) {
+        double bound = getLowerBound();
+        return bound > 0 ? (makespan - bound) / bound : 0;
+    }
+}
@@ -0,0 +1,134 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * Moore-Hodgson style minimizer of the number of late jobs.
+ * <p>
+ * Moore-Hodgson is exact on one machine: take jobs in deadline order and, whenever the
+ * current job would be late, drop the longest job kept so far. Here the fleet is treated
+ * as one machine with the combined MIPS of all PEs to choose which jobs to give up on,
+ * a job needing several PEs counting its length once per PE.
+ * The kept jobs are then placed in deadline order and the dropped ones after them,
+ * shortest first, each on the VM where it finishes earliest. O(n log n) overall.
+ */
+public class MooreHodgsonPolicy implements OnlinePolicy, PlanningPolicy {
+
+    public static final String NAME = "Moore-Hodgson";
+
+    private final VmSelector.Mode selectorMode;
+
+    public MooreHodgsonPolicy() {
+        this(VmSelector.Mode.fromSystemProperty());
+    }
+
+    public MooreHodgsonPolicy(VmSelector.Mode selectorMode) {
+        this.selectorMode = selectorMode;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int[] dispatchOrder(Workload workload) {
+        long[] lengths = workload.getLengths();
+        double[] deadlines = workload.getDeadlines();
+        int[] jobPes = workload.getJobPes();
+        double[] vmMips = workload.getVmMips();
+        int[] vmPes = workload.getVmPes();
+        double totalMips = 0;
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            totalMips += vmMips[vm] * vmPes[vm];
+        }
+
+        int n = lengths.length;
+        int[] byDeadline = IndexSort.ascending(lengths);
+        IndexSort.sortAscending(byDeadline, IndexSort.sortableKeys(deadlines));
+
+        long[] work = new long[n];
+        for (int job = 0; job < n; job++) {
+            work[job] = lengths[job] * jobPes[job];
+        }
+
+        // Max-heap of kept jobs by work
+        int[] kept = new int[n];
+        int keptCount = 0;
+        boolean[] late = new boolean[n];
+        long keptWork = 0;
+        for (int job : byDeadline) {
+            kept[keptCount] = job;
+            siftUp(kept, keptCount++, work);
+            keptWork += work[job];
+            if (keptWork / totalMips > deadlines[job]) {
+                int longest = kept[0];
+                kept[0] = kept[--keptCount];
+                siftDown(kept, keptCount, work);
+                keptWork -= work[longest];
+                late[longest] = true;
+            }
+        }
+
+        int[] order = new int[n];
+        int next = 0;
+        for (int job : byDeadline) {
+            if (!late[job]) {
+                order[next++] = job;
+            }
+        }
+        for (int job : IndexSort.ascending(lengths)) {
+            if (late[job]) {
+                order[next++] = job;
+            }
+        }
+        return order;
+    }
+
+    @Override
+    public Dispatcher newDispatcher(Workload workload) {
+        return SelectorDispatcher.create(workload, VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+    }
+
+    /**
+     * Plans start times as well, so the dropped jobs really run after the kept ones.
+     */
+    @Override
+    public Schedule plan(Workload workload) {
+        return SelectorDispatcher.plan(workload, dispatchOrder(workload), VmSelector.Objective.EARLIEST_FINISH, selectorMode);
+    }
+
+    private static void siftUp(int[] heap, int i, long[] work) {
+        int job = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (work[heap[parent]] >= work[job]) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = job;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] work) {
+        if (size == 0) {
+            return;
+        }
+        int job = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && work[heap[child + 1]] > work[heap[child]]) {
+                child++;
+            }
+            if (work[heap[child]] <= work[job]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = job;
+    }
+}
@@ -0,0 +1,213 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multi-level queue scheduling by job priority, with aging and weighted VM shares.
+ * <p>
+ * Every distinct priority value is one level, and a lower number is a more urgent level.
+ * Each level queues its waiting jobs shortest first in a {@link JobHeap}. Whenever a VM
+ * is idle and jobs are waiting, one level is chosen by stride scheduling: a level's pass
+ * grows by the VM time it used divided by its weight ({@code weightRatio^k} for the level
+ * k places below the least urgent one), and the waiting level with the smallest pass
+ * goes next. So while every level has work, level shares of VM time follow the weights.
+ * The job starts at once on the fastest idle PE and runs to completion; each PE of a VM
+ * is a queue of its own (one queue per VM if some job needs several PEs). A job that needs
+ * more PEs than any idle VM has waits at the head of its level until one with enough is idle.
+ * <p>
+ * Starvation is prevented by aging: a job that has waited {@code agingSeconds} moves up
+ * one level, then one more after every further {@code agingSeconds}. Cloudlets are not
+ * preempted, so aging is the only feedback between levels.
+ */
+public class MultiLevelQueuePolicy implements PlanningPolicy {
+
+    public static final String NAME = "MLFQ";
+
+    private final double agingSeconds;
+    private final double weightRatio;
+
+    public MultiLevelQueuePolicy() {
+        this(Double.parseDouble(System.getProperty("mlfq.agingSeconds", "10")),
+                Double.parseDouble(System.getProperty("mlfq.weightRatio", "2")));
+    }
+
+    public MultiLevelQueuePolicy(double agingSeconds, double weightRatio) {
+        if (!(agingSeconds > 0) || !(weightRatio >= 1)) {
+            throw new IllegalArgumentException("Need agingSeconds > 0 and weightRatio >= 1: "
+                    + agingSeconds + ", " + weightRatio);
+        }
+        this.agingSeconds = agingSeconds;
+        this.weightRatio = weightRatio;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int[] schedule(Workload workload) {
+        return plan(workload).getAssignment();
+    }
+
+    /**
+     * Event-driven plan: decisions happen when a job arrives or a VM becomes idle.
+     * O(log n) per queue operation and O(levels) to pick a level.
+     */
+    @Override
+    public Schedule plan(Workload workload) {
+        long[] lengths = workload.getLengths();
+        double[] arrivalTimes = workload.getArrivalTimes();
+        double[] vmMips = workload.getVmMips();
+        int[] queueVms = workload.serialQueueVms();
+        int n = lengths.length;
+        int queueCount = queueVms.length;
+
+        int[] levelValues = Arrays.stream(workload.getPriorities()).distinct().sorted().toArray();
+        int levelCount = Math.max(1, levelValues.length);
+        int[] level = new int[n];
+        for (int job = 0; job < n; job++) {
+            level[job] = Arrays.binarySearch(levelValues, workload.getPriorities()[job]);
+        }
+        double[] weights = new double[levelCount];
+        for (int l = 0; l < levelCount; l++) {
+            weights[l] = Math.pow(weightRatio, levelCount - 1 - l);
+        }
+
+        JobHeap[] queues = new JobHeap[levelCount];
+        for (int l = 0; l < levelCount; l++) {
+            queues[l] = new JobHeap(lengths);
+        }
+        double[] pass = new double[levelCount];
+        double currentPass = 0;
+        int waiting = 0;
+
+        // Next promotion time of each waiting job below the top level
+        long[] promotionKeys = new long[n];
+        double[] promotionTimes = new double[n];
+        JobHeap aging = new JobHeap(promotionKeys);
+
+        // Idle PE queues fastest first; busy ones by the time they become idle
+        long[] idleKeys = new long[queueCount];
+        long[] busyKeys = new long[queueCount];
+        JobHeap idle = new JobHeap(idleKeys);
+        JobHeap busy = new JobHeap(busyKeys);
+        for (int q = 0; q < queueCount; q++) {
+            idleKeys[q] = IndexSort.sortableKey(-vmMips[queueVms[q]]);
+            idle.add(q);
+        }
+
+        int[] arrivalOrder = IndexSort.ascending(arrivalTimes);
+        int[] assignment = new int[n];
+        double[] startTimes = new double[n];
+        double[] finishTimes = new double[n];
+        int nextArrival = 0;
+        int dispatched = 0;
+        double now = 0;
+        boolean blocked = false;
+
+        while (dispatched < n) {
+            if (waiting == 0) {
+                now = Math.max(now, arrivalTimes[arrivalOrder[nextArrival]]);
+            } else if (idle.isEmpty()) {
+                now = Math.max(now, Double.longBitsToDouble(busyKeys[busy.peek()]));
+            } else if (blocked) {
+                // Next VM to free up, or an earlier arrival that may fit an idle one
+                double next = Double.longBitsToDouble(busyKeys[busy.peek()]);
+                if (nextArrival < n) {
+                    next = Math.min(next, arrivalTimes[arrivalOrder[nextArrival]]);
+                }
+                now = Math.max(now, next);
+            }
+
+            while (!busy.isEmpty() && Double.longBitsToDouble(busyKeys[busy.peek()]) <= now) {
+                idle.add(busy.poll());
+            }
+            while (nextArrival < n && arrivalTimes[arrivalOrder[nextArrival]] <= now) {
+                int job = arrivalOrder[nextArrival++];
+                if (queues[level[job]].isEmpty()) {
+                    // A level that was empty does not bank credit for the time it had no work
+                    pass[level[job]] = Math.max(pass[level[job]], currentPass);
+                }
+                queues[level[job]].add(job);
+                waiting++;
+                if (level[job] > 0) {
+                    promotionTimes[job] = arrivalTimes[job] + agingSeconds;
+                    promotionKeys[job] = IndexSort.sortableKey(promotionTimes[job]);
+                    aging.add(job);
+                }
+            }
+            while (!aging.isEmpty() && promotionTimes[aging.peek()] <= now) {
+                int job = aging.poll();
+                queues[level[job]].remove(job);
+                level[job]--;
+                if (queues[level[job]].isEmpty()) {
+                    pass[level[job]] = Math.max(pass[level[job]], currentPass);
+                }
+                queues[level[job]].add(job);
+                if (level[job] > 0) {
+                    promotionTimes[job] += agingSeconds;
+                    promotionKeys[job] = IndexSort.sortableKey(promotionTimes[job]);
+                    aging.add(job);
+                }
+            }
+
+            blocked = false;
+            while (waiting > 0 && !idle.isEmpty()) {
+                int chosen = -1;
+                for (int l = 0; l < levelCount; l++) {
+                    if (!queues[l].isEmpty() && (chosen < 0 || pass[l] < pass[chosen])) {
+                        chosen = l;
+                    }
+                }
+                int job = queues[chosen].peek();
+                int q = pollFastestFitting(workload, job, idle, queueVms);
+                if (q < 0) {
+                    // Wait for a busy VM with enough PEs
+                    blocked = true;
+                    break;
+                }
+                queues[chosen].poll();
+                waiting--;
+                if (aging.contains(job)) {
+                    aging.remove(job);
+                }
+
+                double executionTime = (double) lengths[job] / vmMips[queueVms[q]];
+                assignment[job] = queueVms[q];
+                startTimes[job] = now;
+                finishTimes[job] = now + executionTime;
+                busyKeys[q] = Double.doubleToLongBits(finishTimes[job]);
+                busy.add(q);
+                dispatched++;
+
+                currentPass = pass[chosen];
+                pass[chosen] += executionTime / weights[chosen];
+            }
+        }
+        return new Schedule(assignment, startTimes, finishTimes);
+    }
+
+    // Fastest idle queue on a VM with enough PEs for the job, or -1; the rest stay idle
+    private static int pollFastestFitting(Workload workload, int job, JobHeap idle, int[] queueVms) {
+        if (workload.fits(job, queueVms[idle.peek()])) {
+            return idle.poll();
+        }
+        List<Integer> skipped = new ArrayList<>();
+        int found = -1;
+        while (!idle.isEmpty()) {
+            int q = idle.poll();
+            if (workload.fits(job, queueVms[q])) {
+                found = q;
+                break;
+            }
+            skipped.add(q);
+        }
+        for (int q : skipped) {
+            idle.add(q);
+        }
+        return found;
+    }
+}
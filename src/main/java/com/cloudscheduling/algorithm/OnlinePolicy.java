@@ -0,0 +1,41 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * A policy that can also place jobs one at a time, as they arrive.
+ * <p>
+ * {@link #newDispatcher(Workload)} returns the per-run state; the caller releases
+ * jobs in arrival order and calls {@link Dispatcher#dispatch(int, double)} once per job.
+ * Jobs that arrive at the same instant are released in {@link #dispatchOrder(Workload)}.
+ * The offline {@link #schedule(Workload)} is the same dispatcher with every job
+ * arriving at time 0, so both modes give the same assignment for such a workload.
+ */
+public interface OnlinePolicy extends SchedulingPolicy {
+
+    /**
+     * Places jobs one by one, keeping the VM queue state between calls.
+     */
+    interface Dispatcher {
+        /**
+         * Returns the VM index for the job, which is released at time {@code now}.
+         * Calls must come with non-decreasing times.
+         */
+        int dispatch(int job, double now);
+    }
+
+    Dispatcher newDispatcher(Workload workload);
+
+    /**
+     * Order of the jobs when all of them are available at once.
+     */
+    int[] dispatchOrder(Workload workload);
+
+    @Override
+    default int[] schedule(Workload workload) {
+        int[] assignment = new int[workload.getJobCount()];
+        Dispatcher dispatcher = newDispatcher(workload);
+        for (int job : dispatchOrder(workload)) {
+            assignment[job] = dispatcher.dispatch(job, 0);
+        }
+        return assignment;
+    }
+}
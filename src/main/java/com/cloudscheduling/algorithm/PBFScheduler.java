@@ -1,32 +1,47 @@
 package com.cloudscheduling.algorithm;
 
-import com.cloudscheduling.model.CloudJob;
-
-import java.util.List;
-
 /**
- * Minimal PBFScheduler stub. Adjust algorithmic details as needed.
+ * PBFS baseline policy.
+ * Jobs are taken longest first and each one goes to the VM on which it would
+ * finish LATEST. This deliberately pessimistic placement is the baseline that
+ * EG-SJF is compared against. Online, each job goes to the VM on which it
+ * would finish latest given the work still queued when it arrives.
  */
-public class PBFScheduler {
+public class PBFScheduler implements OnlinePolicy, PlanningPolicy {
 
-    /**
-     * Example method to schedule jobs: set start times sequentially on a single VM.
-     * This is just a placeholder to match calls to setStartTime/getStartTime.
-     */
-    public void scheduleSequentially(List<CloudJob> jobs, double vmMips) {
-        double currentTime = 0.0;
-        for (CloudJob job : jobs) {
-            job.setStartTime(currentTime);
-            double executionTime = job.getLength() / vmMips;
-            job.setFinishTime(currentTime + executionTime);
-            currentTime += executionTime;
-        }
+    public static final String NAME = "PBFS";
+
+    private final VmSelector.Mode selectorMode;
+
+    public PBFScheduler() {
+        this(VmSelector.Mode.fromSystemProperty());
+    }
+
+    public PBFScheduler(VmSelector.Mode selectorMode) {
+        this.selectorMode = selectorMode;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // Jobs that arrive together are taken longest first
+    @Override
+    public int[] dispatchOrder(Workload workload) {
+        return IndexSort.descending(workload.getLengths());
+    }
+
+    @Override
+    public Dispatcher newDispatcher(Workload workload) {
+        return SelectorDispatcher.create(workload, VmSelector.Objective.LATEST_FINISH, selectorMode);
     }
 
     /**
-     * A comparator helper that might be used in your code to sort by startTime.
+     * Offline plan with start and finish times; VMs with several PEs run that many jobs at once.
      */
-    public static int compareByStartTime(CloudJob a, CloudJob b) {
-        return Double.compare(a.getStartTime(), b.getStartTime());
+    @Override
+    public Schedule plan(Workload workload) {
+        return SelectorDispatcher.plan(workload, dispatchOrder(workload), VmSelector.Objective.LATEST_FINISH, selectorMode);
     }
 }
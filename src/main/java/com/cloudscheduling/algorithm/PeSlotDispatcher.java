@@ -0,0 +1,99 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * Dispatcher that models each VM as its PEs rather than one serial queue.
+ * <p>
+ * VM v keeps the free times of its PEs in ascending order ({@code peFree[v]}, a few
+ * entries). A job needing k PEs can start on v once the k-th earliest PE is free; it takes
+ * the k earliest PEs until it finishes {@code length / mips} later. The VM is picked by
+ * the objective from those finish times, ties to the lowest index, among the VMs with
+ * at least k PEs. O(m * p) per job for p PEs per VM. Planned start and finish times are
+ * kept, so {@link #plan(Workload, int[], VmSelector.Objective)} can return a {@link Schedule}.
+ */
+final class PeSlotDispatcher implements OnlinePolicy.Dispatcher {
+
+    private final long[] lengths;
+    private final int[] jobPes;
+    private final double[] vmMips;
+    private final VmSelector.Objective objective;
+    private final double[][] peFree;
+
+    private final int[] assignment;
+    private final double[] startTimes;
+    private final double[] finishTimes;
+
+    PeSlotDispatcher(Workload workload, VmSelector.Objective objective) {
+        this.lengths = workload.getLengths();
+        this.jobPes = workload.getJobPes();
+        this.vmMips = workload.getVmMips();
+        this.objective = objective;
+        int[] vmPes = workload.getVmPes();
+        this.peFree = new double[vmMips.length][];
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            peFree[vm] = new double[vmPes[vm]];
+        }
+        int n = lengths.length;
+        this.assignment = new int[n];
+        this.startTimes = new double[n];
+        this.finishTimes = new double[n];
+    }
+
+    /**
+     * Plan: each job is released at its arrival, jobs arriving together in the given order.
+     */
+    static Schedule plan(Workload workload, int[] order, VmSelector.Objective objective) {
+        PeSlotDispatcher dispatcher = new PeSlotDispatcher(workload, objective);
+        for (int job : workload.releaseOrder(order)) {
+            dispatcher.dispatch(job, workload.getReleaseTime(job));
+        }
+        return dispatcher.toSchedule();
+    }
+
+    @Override
+    public int dispatch(int job, double now) {
+        int pes = jobPes[job];
+        int bestVm = -1;
+        double bestStart = 0;
+        double bestFinish = 0;
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            if (peFree[vm].length < pes) {
+                continue;
+            }
+            double start = Math.max(now, peFree[vm][pes - 1]);
+            double finish = start + (double) lengths[job] / vmMips[vm];
+            boolean better = objective == VmSelector.Objective.EARLIEST_FINISH
+                    ? finish < bestFinish
+                    : finish > bestFinish;
+            if (bestVm < 0 || better) {
+                bestVm = vm;
+                bestStart = start;
+                bestFinish = finish;
+            }
+        }
+        if (bestVm < 0) {
+            throw new IllegalArgumentException("Job " + job + " needs " + pes + " PEs, no VM has that many");
+        }
+        reserve(peFree[bestVm], pes, bestFinish);
+        assignment[job] = bestVm;
+        startTimes[job] = bestStart;
+        finishTimes[job] = bestFinish;
+        return bestVm;
+    }
+
+    Schedule toSchedule() {
+        return new Schedule(assignment, startTimes, finishTimes);
+    }
+
+    // The first pes entries become busy until finish; re-sort by moving them past earlier-free PEs
+    static void reserve(double[] free, int pes, double finish) {
+        int end = pes;
+        while (end < free.length && free[end] < finish) {
+            end++;
+        }
+        int shift = end - pes;
+        System.arraycopy(free, pes, free, 0, shift);
+        for (int i = shift; i < end; i++) {
+            free[i] = finish;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Times a fixed assignment the way {@link PeSlotDispatcher} plans: each VM is its PEs, jobs
+ * are released at their arrival (shortest first among jobs arriving together), and a job
+ * needing k PEs starts on its VM once the k earliest PEs are free and it has arrived.
+ * <p>
+ * The release order is sorted once, so timing an assignment is O(n * p) for p PEs per VM
+ * with no allocation. Not thread-safe: searches keep one per thread.
+ */
+final class PeSlotTimer {
+
+    private final long[] lengths;
+    private final int[] jobPes;
+    private final double[] vmMips;
+    private final int[] releaseOrder;
+    private final double[] releaseTimes;
+    private final double[][] peFree;
+
+    PeSlotTimer(Workload workload) {
+        this.lengths = workload.getLengths();
+        this.jobPes = workload.getJobPes();
+        this.vmMips = workload.getVmMips();
+        this.releaseOrder = workload.releaseOrder(IndexSort.ascending(lengths));
+        this.releaseTimes = new double[lengths.length];
+        for (int job = 0; job < lengths.length; job++) {
+            releaseTimes[job] = workload.getReleaseTime(job);
+        }
+        int[] vmPes = workload.getVmPes();
+        this.peFree = new double[vmMips.length][];
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            peFree[vm] = new double[vmPes[vm]];
+        }
+    }
+
+    double makespan(int[] assignment) {
+        return time(assignment, null, null);
+    }
+
+    Schedule schedule(int[] assignment) {
+        double[] startTimes = new double[lengths.length];
+        double[] finishTimes = new double[lengths.length];
+        time(assignment, startTimes, finishTimes);
+        return new Schedule(assignment.clone(), startTimes, finishTimes);
+    }
+
+    private double time(int[] assignment, double[] startTimes, double[] finishTimes) {
+        for (double[] free : peFree) {
+            Arrays.fill(free, 0.0);
+        }
+        double makespan = 0;
+        for (int job : releaseOrder) {
+            int vm = assignment[job];
+            double[] free = peFree[vm];
+            int pes = jobPes[job];
+            if (pes > free.length) {
+                throw new IllegalArgumentException("Job " + job + " needs " + pes + " PEs, VM " + vm
+                        + " has " + free.length);
+            }
+            double start = Math.max(releaseTimes[job], free[pes - 1]);
+            double finish = start + (double) lengths[job] / vmMips[vm];
+            PeSlotDispatcher.reserve(free, pes, finish);
+            if (startTimes != null) {
+                startTimes[job] = start;
+                finishTimes[job] = finish;
+            }
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+}
@@ -0,0 +1,10 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * A policy that plans start and finish times, not only VMs. Submitting each job at its
+ * planned start lets a simulator reproduce the plan.
+ */
+public interface PlanningPolicy extends SchedulingPolicy {
+
+    Schedule plan(Workload workload);
+}
@@ -0,0 +1,62 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * A timed plan: job i runs on VM {@code assignment[i]} from {@code startTimes[i]}
+ * to {@code finishTimes[i]} (seconds).
+ */
+public final class Schedule {
+
+    private final int[] assignment;
+    private final double[] startTimes;
+    private final double[] finishTimes;
+
+    public Schedule(int[] assignment, double[] startTimes, double[] finishTimes) {
+        this.assignment = assignment;
+        this.startTimes = startTimes;
+        this.finishTimes = finishTimes;
+    }
+
+    public int[] getAssignment() {
+        return assignment;
+    }
+
+    public double[] getStartTimes() {
+        return startTimes;
+    }
+
+    public double[] getFinishTimes() {
+        return finishTimes;
+    }
+
+    public double getMakespan() {
+        double makespan = 0;
+        for (double finish : finishTimes) {
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+
+    /**
+     * Busy time over the capacity of {@code vmCount} VMs from 0 to the makespan.
+     */
+    public double getUtilization(int vmCount) {
+        double busy = 0;
+        for (int i = 0; i < finishTimes.length; i++) {
+            busy += finishTimes[i] - startTimes[i];
+        }
+        double capacity = vmCount * getMakespan();
+        return capacity > 0 ? busy / capacity : 0;
+    }
+
+    /**
+     * Job indices ordered by planned start time, ties by index.
+     */
+    public int[] startOrder() {
+        long[] keys = new long[startTimes.length];
+        for (int i = 0; i < keys.length; i++) {
+            // Non-negative doubles order the same as their bit patterns
+            keys[i] = Double.doubleToLongBits(Math.max(0.0, startTimes[i]));
+        }
+        return IndexSort.ascending(keys);
+    }
+}
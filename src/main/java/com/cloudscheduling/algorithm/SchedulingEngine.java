@@ -0,0 +1,134 @@
+package com.cloudscheduling.algorithm;
+
+import com.cloudscheduling.model.CloudJob;
+import com.cloudscheduling.model.JobTable;
+import com.cloudscheduling.model.VirtualMachine;
+
+import java.util.List;
+
+/**
+ * Scheduler over the model classes, with no CloudSim dependency, for embedding in a
+ * dispatch service.
+ * <p>
+ * Each {@link VirtualMachine} is one serial queue that is free from its
+ * {@code availableTime}. {@link #dispatch(CloudJob)} places one job when it arrives: the
+ * VM is picked by the {@link VmSelector} objective (EG-SJF's earliest finish by default),
+ * the job starts once both it and the VM are ready, and the job's {@code assignedVmId},
+ * {@code startTime}, {@code finishTime}, {@code waitingTime} and {@code cpuTime} are filled
+ * in, as is the VM's {@code availableTime}. With the indexed selector a decision costs
+ * O(k log m) for m VMs in k MIPS classes, so thousands of VMs stay well under a millisecond.
+ * <p>
+ * {@link #scheduleAll(JobTable)} places a batch in arrival order; jobs arriving together are
+ * taken shortest first (longest first for {@link VmSelector.Objective#LATEST_FINISH}), so a
+ * batch that all arrives at once gets the same VMs as {@link EGSJFPolicy} or {@link PBFScheduler}.
+ * Calls are synchronized; time only moves forward, so a job that arrives before an earlier
+ * decision is placed as if it arrived then.
+ */
+public class SchedulingEngine {
+
+    private final List<VirtualMachine> vms;
+    private final VmSelector.Objective objective;
+    private final VmSelector selector;
+    private double now;
+    private double lastStart;
+    private double lastFinish;
+
+    public SchedulingEngine(List<VirtualMachine> vms) {
+        this(vms, VmSelector.Objective.EARLIEST_FINISH, VmSelector.Mode.fromSystemProperty());
+    }
+
+    public SchedulingEngine(List<VirtualMachine> vms, VmSelector.Objective objective, VmSelector.Mode mode) {
+        if (vms.isEmpty()) {
+            throw new IllegalArgumentException("Scheduling engine needs at least one VM");
+        }
+        this.vms = vms;
+        this.objective = objective;
+        double[] vmMips = new double[vms.size()];
+        for (int i = 0; i < vmMips.length; i++) {
+            vmMips[i] = vms.get(i).getMips();
+            if (vmMips[i] <= 0) {
+                throw new IllegalArgumentException("VM " + vms.get(i).getVmId() + " has no MIPS");
+            }
+        }
+        this.selector = VmSelector.create(vmMips, objective, mode);
+        // VMs that are already busy keep their queue
+        for (int i = 0; i < vmMips.length; i++) {
+            double busyUntil = vms.get(i).getAvailableTime();
+            if (busyUntil > 0) {
+                selector.assign(i, busyUntil);
+            }
+        }
+    }
+
+    /**
+     * Places one job and returns the id of its VM.
+     */
+    public synchronized int dispatch(CloudJob job) {
+        int vm = place(job.getJobLength(), job.getArrivalTime());
+        job.setAssignedVmId(vms.get(vm).getVmId());
+        job.setStartTime(lastStart);
+        job.setFinishTime(lastFinish);
+        job.setWaitingTime(lastStart - job.getArrivalTime());
+        job.setCpuTime(lastFinish - lastStart);
+        return vms.get(vm).getVmId();
+    }
+
+    /**
+     * Places every job of the table and fills in its result columns. Jobs without an
+     * arrival time arrive at 0.
+     */
+    public synchronized void scheduleAll(JobTable jobs) {
+        int n = jobs.size();
+        long[] lengths = jobs.lengthColumn();
+        double[] arrivals = jobs.arrivalTimeColumn();
+
+        int[] order = objective == VmSelector.Objective.LATEST_FINISH
+                ? IndexSort.descending(lengths)
+                : IndexSort.ascending(lengths);
+        long[] arrivalKeys = new long[n];
+        for (int row = 0; row < n; row++) {
+            arrivalKeys[row] = IndexSort.sortableKey(arrivalOf(arrivals[row]));
+        }
+        IndexSort.sortAscending(order, arrivalKeys);
+
+        for (int row : order) {
+            double arrival = arrivalOf(arrivals[row]);
+            int vm = place(lengths[row], arrival);
+            jobs.setAssignedVmId(row, vms.get(vm).getVmId());
+            jobs.setStartTime(row, lastStart);
+            jobs.setFinishTime(row, lastFinish);
+            jobs.setWaitingTime(row, lastStart - arrival);
+            jobs.setCpuTime(row, lastFinish - lastStart);
+        }
+    }
+
+    /**
+     * Places the jobs in list order (call {@link #scheduleAll(JobTable)} for batch ordering).
+     */
+    public synchronized void scheduleAll(List<CloudJob> jobs) {
+        for (CloudJob job : jobs) {
+            dispatch(job);
+        }
+    }
+
+    public synchronized double getCurrentTime() {
+        return now;
+    }
+
+    // Picks and books the VM; leaves the job's times in lastStart and lastFinish
+    private int place(long length, double arrival) {
+        now = Math.max(now, arrivalOf(arrival));
+        selector.advanceTo(now);
+        int vm = selector.select(length);
+        double executionTime = vms.get(vm).calculateExecutionTime(length);
+        lastStart = selector.getAvailableTime(vm);
+        selector.assign(vm, executionTime);
+        lastFinish = selector.getAvailableTime(vm);
+        vms.get(vm).setAvailableTime(lastFinish);
+        return vm;
+    }
+
+    private static double arrivalOf(double arrival) {
+        return Double.isNaN(arrival) ? 0.0 : Math.max(0.0, arrival);
+    }
+}
@@ -0,0 +1,85 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Name-based registry of the available {@link SchedulingPolicy} implementations,
+ * so policies can be picked from the command line ("PBFS,EG-SJF").
+ * Lookup ignores case, dashes and underscores.
+ */
+public final class SchedulingPolicies {
+
+    private static final Map<String, Supplier<SchedulingPolicy>> REGISTRY = new LinkedHashMap<>();
+    private static final List<String> DEFAULTS = List.of(PBFScheduler.NAME, EGSJFPolicy.NAME);
+
+    static {
+        register(PBFScheduler.NAME, PBFScheduler::new);
+        register(EGSJFPolicy.NAME, EGSJFPolicy::new);
+        register(GapFillingEGSJFPolicy.NAME, GapFillingEGSJFPolicy::new);
+        register(GapFillingEGSJFPolicy.APPEND_ONLY_NAME, () -> new GapFillingEGSJFPolicy(false));
+        register(EDFPolicy.NAME, EDFPolicy::new);
+        register(LeastSlackPolicy.NAME, LeastSlackPolicy::new);
+        register(MooreHodgsonPolicy.NAME, MooreHodgsonPolicy::new);
+        register(LocalSearchPolicy.NAME, LocalSearchPolicy::new);
+        register(GeneticPolicy.NAME, GeneticPolicy::new);
+        register(MultiLevelQueuePolicy.NAME, MultiLevelQueuePolicy::new);
+        register(BatchHeuristicPolicy.MIN_MIN_NAME, () -> new BatchHeuristicPolicy(BatchHeuristicPolicy.Heuristic.MIN_MIN));
+        register(BatchHeuristicPolicy.MAX_MIN_NAME, () -> new BatchHeuristicPolicy(BatchHeuristicPolicy.Heuristic.MAX_MIN));
+        register(BatchHeuristicPolicy.SUFFERAGE_NAME, () -> new BatchHeuristicPolicy(BatchHeuristicPolicy.Heuristic.SUFFERAGE));
+    }
+
+    private SchedulingPolicies() {
+    }
+
+    public static synchronized void register(String name, Supplier<SchedulingPolicy> factory) {
+        REGISTRY.put(normalize(name), factory);
+    }
+
+    public static synchronized SchedulingPolicy create(String name) {
+        Supplier<SchedulingPolicy> factory = REGISTRY.get(normalize(name));
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown scheduling policy '" + name + "'. Available: " + names());
+        }
+        return factory.get();
+    }
+
+    /**
+     * Parses a comma separated list such as "PBFS,EG-SJF". Blank input gives the defaults.
+     */
+    public static List<SchedulingPolicy> parse(String csv) {
+        if (csv == null || csv.isBlank()) {
+            return defaults();
+        }
+        List<SchedulingPolicy> policies = new ArrayList<>();
+        for (String name : csv.split(",")) {
+            if (!name.isBlank()) {
+                policies.add(create(name.trim()));
+            }
+        }
+        return policies;
+    }
+
+    // PBFS first: the comparison report treats the first policy as the baseline
+    public static List<SchedulingPolicy> defaults() {
+        List<SchedulingPolicy> policies = new ArrayList<>();
+        for (String name : DEFAULTS) {
+            policies.add(create(name));
+        }
+        return policies;
+    }
+
+    public static synchronized Set<String> names() {
+        return Collections.unmodifiableSet(REGISTRY.keySet());
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toUpperCase(Locale.ROOT).replace("-", "").replace("_", "");
+    }
+}
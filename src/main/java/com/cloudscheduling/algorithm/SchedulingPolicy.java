@@ -0,0 +1,21 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * A static scheduling policy: maps every job of a {@link Workload} to a VM index.
+ * Implementations only read the primitive columns of the workload, so they can be
+ * benchmarked and swapped without building any CloudSim objects.
+ */
+public interface SchedulingPolicy {
+
+    /**
+     * Short name used in reports and on the command line, e.g. "EG-SJF".
+     */
+    String getName();
+
+    /**
+     * Assigns every job of the workload to a VM.
+     *
+     * @return array of length {@code workload.getJobCount()}; entry i is the VM index of job i
+     */
+    int[] schedule(Workload workload);
+}
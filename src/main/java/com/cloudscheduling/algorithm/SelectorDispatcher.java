@@ -0,0 +1,107 @@
+package com.cloudscheduling.algorithm;
+
+/**
+ * Dispatcher shared by the list policies: each job goes to the VM the
+ * {@link VmSelector} picks for the objective, given the work queued so far.
+ * <p>
+ * A VM with p PEs is offered to the selector at the time its earliest PE is free; after an
+ * assignment that PE is busy until the job finishes and the VM moves on to its next free
+ * PE. For single-PE jobs this is exactly what {@link PeSlotDispatcher} plans, but at the
+ * selector's O(C + log m) per job plus O(p) to re-sort the VM's PE free times.
+ * Use {@link #create(Workload, VmSelector.Objective, VmSelector.Mode)}, which switches to a
+ * {@link PeSlotDispatcher} only when some job needs several PEs. Planned start and finish
+ * times are kept, so {@link #plan} can return a {@link Schedule}.
+ */
+final class SelectorDispatcher implements OnlinePolicy.Dispatcher {
+
+    private final long[] lengths;
+    private final double[] vmMips;
+    private final VmSelector selector;
+    private final double[][] peFree; // null when every VM has one PE
+
+    private final int[] assignment;
+    private final double[] startTimes;
+    private final double[] finishTimes;
+
+    SelectorDispatcher(Workload workload, VmSelector.Objective objective, VmSelector.Mode mode) {
+        this.lengths = workload.getLengths();
+        this.vmMips = workload.getVmMips();
+        this.selector = VmSelector.create(vmMips, objective, mode);
+
+        int[] vmPes = workload.getVmPes();
+        double[][] free = null;
+        for (int vm = 0; vm < vmPes.length; vm++) {
+            if (vmPes[vm] > 1) {
+                free = new double[vmPes.length][];
+                for (int v = 0; v < vmPes.length; v++) {
+                    free[v] = new double[vmPes[v]];
+                }
+                break;
+            }
+        }
+        this.peFree = free;
+
+        int n = lengths.length;
+        this.assignment = new int[n];
+        this.startTimes = new double[n];
+        this.finishTimes = new double[n];
+    }
+
+    static OnlinePolicy.Dispatcher create(Workload workload, VmSelector.Objective objective, VmSelector.Mode mode) {
+        return workload.hasMultiPeJobs()
+                ? new PeSlotDispatcher(workload, objective)
+                : new SelectorDispatcher(workload, objective, mode);
+    }
+
+    /**
+     * Plan: each job is released at its arrival, jobs arriving together in the given order,
+     * so no job starts before it arrives. With every arrival at 0 this is the given order.
+     * Jobs needing several PEs go through {@link PeSlotDispatcher}.
+     */
+    static Schedule plan(Workload workload, int[] order, VmSelector.Objective objective, VmSelector.Mode mode) {
+        if (workload.hasMultiPeJobs()) {
+            return PeSlotDispatcher.plan(workload, order, objective);
+        }
+        SelectorDispatcher dispatcher = new SelectorDispatcher(workload, objective, mode);
+        for (int job : workload.releaseOrder(order)) {
+            dispatcher.dispatch(job, workload.getReleaseTime(job));
+        }
+        return dispatcher.toSchedule();
+    }
+
+    @Override
+    public int dispatch(int job, double now) {
+        selector.advanceTo(now);
+        long length = lengths[job];
+        int vm = selector.select(length);
+        double start = selector.getAvailableTime(vm);
+        double executionTime = (double) length / vmMips[vm];
+        double finish = start + executionTime;
+        if (peFree == null) {
+            selector.assign(vm, executionTime);
+        } else {
+            // The VM becomes available again when its next PE is free
+            double[] free = peFree[vm];
+            reserveFirst(free, finish);
+            selector.assignUntil(vm, Math.max(now, free[0]));
+        }
+        assignment[job] = vm;
+        startTimes[job] = start;
+        finishTimes[job] = finish;
+        return vm;
+    }
+
+    Schedule toSchedule() {
+        return new Schedule(assignment, startTimes, finishTimes);
+    }
+
+    // The earliest PE is busy until finish; move it past the PEs free before then
+    private static void reserveFirst(double[] free, double finish) {
+        int i = 1;
+        while (i < free.length && free[i] < finish) {
+            free[i - 1] = free[i];
+            i++;
+        }
+        free[i - 1] = finish;
+    }
+}
@@ -0,0 +1,134 @@
+package com.cloudscheduling.algorithm;
+
+import java.util.Locale;
+
+/**
+ * Picks the VM for the next job from the VMs' current available times.
+ * Policies call {@link #select(long)} and then {@link #assign(int, double)} for every job.
+ * <p>
+ * Two implementations give the same answers: {@link LinearScanVmSelector} (O(m) per job,
+ * the original loop) and {@link IndexedVmSelector} (VMs grouped by MIPS class with a heap
+ * per class). Choose one with the {@value #MODE_PROPERTY} system property:
+ * {@code indexed} (default), {@code scan}, or {@code verify}. {@code verify} runs both and
+ * fails on the first different answer.
+ * <p>
+ * Offline policies plan everything from time 0. Online dispatch calls {@link #advanceTo(double)}
+ * with the current time before each decision: a VM that went idle earlier is then treated
+ * as available now, not in the past.
+ */
+public interface VmSelector {
+
+    String MODE_PROPERTY = "scheduler.vmSelector";
+
+    enum Objective {
+        /** VM on which the job finishes earliest (EG-SJF). */
+        EARLIEST_FINISH,
+        /** VM on which the job finishes latest (PBFS). */
+        LATEST_FINISH
+    }
+
+    enum Mode {
+        INDEXED, LINEAR_SCAN, VERIFY;
+
+        public static Mode fromSystemProperty() {
+            String value = System.getProperty(MODE_PROPERTY, "indexed").trim().toLowerCase(Locale.ROOT);
+            switch (value) {
+                case "scan":
+                case "linear":
+                    return LINEAR_SCAN;
+                case "verify":
+                    return VERIFY;
+                case "indexed":
+                    return INDEXED;
+                default:
+                    throw new IllegalArgumentException("Unknown " + MODE_PROPERTY + " value: " + value);
+            }
+        }
+    }
+
+    /**
+     * Returns the VM index chosen for a job of the given length; ties go to the lowest index.
+     */
+    int select(long length);
+
+    /**
+     * Records that the VM is busy for {@code executionTime} more seconds.
+     */
+    void assign(int vm, double executionTime);
+
+    /**
+     * Records that the VM is busy until {@code availableTime}, which must not be earlier than
+     * {@link #getAvailableTime(int)}. Multi-PE VMs use it to report when their next PE is free.
+     */
+    void assignUntil(int vm, double availableTime);
+
+    /**
+     * Returns when the VM can start new work, never earlier than the current time.
+     */
+    double getAvailableTime(int vm);
+
+    /**
+     * Moves the current time forward; later decisions cannot start work before it.
+     * Time never goes back.
+     */
+    void advanceTo(double time);
+
+    static VmSelector create(double[] vmMips, Objective objective, Mode mode) {
+        switch (mode) {
+            case LINEAR_SCAN:
+                return new LinearScanVmSelector(vmMips, objective);
+            case VERIFY:
+                return new VerifyingVmSelector(new IndexedVmSelector(vmMips, objective),
+                        new LinearScanVmSelector(vmMips, objective));
+            default:
+                return new IndexedVmSelector(vmMips, objective);
+        }
+    }
+
+    /**
+     * Runs two selectors side by side and fails as soon as they disagree.
+     */
+    final class VerifyingVmSelector implements VmSelector {
+        private final VmSelector primary;
+        private final VmSelector reference;
+
+        VerifyingVmSelector(VmSelector primary, VmSelector reference) {
+            this.primary = primary;
+            this.reference = reference;
+        }
+
+        @Override
+        public int select(long length) {
+            int vm = primary.select(length);
+            int expected = reference.select(length);
+            if (vm != expected) {
+                throw new IllegalStateException("VM selector mismatch for length " + length
+                        + ": indexed chose VM " + vm + ", linear scan chose VM " + expected);
+            }
+            return vm;
+        }
+
+        @Override
+        public void assign(int vm, double executionTime) {
+            primary.assign(vm, executionTime);
+            reference.assign(vm, executionTime);
+        }
+
+        @Override
+        public void assignUntil(int vm, double availableTime) {
+            primary.assignUntil(vm, availableTime);
+            reference.assignUntil(vm, availableTime);
+        }
+
+        @Override
+        public double getAvailableTime(int vm) {
+            return primary.getAvailableTime(vm);
+        }
+
+        @Override
+        public void advanceTo(double time) {
+            primary.advanceTo(time);
+            reference.advanceTo(time);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.cloudscheduling.algorithm;
+
+import com.cloudscheduling.model.JobTable;
+import com.cloudscheduling.model.WorkloadFile;
+
+import java.util.Arrays;
+
+/**
+ * Compact, column-oriented view of a scheduling problem.
+ * Job i has length {@code lengths[i]} (MI) and deadline {@code deadlines[i]} (seconds,
+ * {@link Double#POSITIVE_INFINITY} if it has none) and arrives at {@code arrivalTimes[i]}
+ * (seconds, 0 for offline workloads) with priority {@code priorities[i]} (lower number =
+ * more urgent, all 0 if unknown); VM v runs at {@code vmMips[v]}.
+ * <p>
+ * By default every VM is one serial queue and every job needs one slot. {@link #withPes(int[], int[])}
+ * gives VM v {@code vmPes[v]} PEs and job i {@code jobPes[i]} of them; a job then runs for
+ * {@code length / mips} on that many PEs at once, as a CloudSim cloudlet does.
+ * The arrays are shared, not copied, so policies must treat them as read-only.
+ */
+public final class Workload {
+
+    private final long[] lengths;
+    private final double[] deadlines;
+    private final double[] arrivalTimes;
+    private final int[] priorities;
+    private final double[] vmMips;
+    private final int[] vmPes;
+    private final int[] jobPes;
+
+    // Every job available at time 0
+    public Workload(long[] lengths, double[] deadlines, double[] vmMips) {
+        this(lengths, deadlines, new double[lengths.length], vmMips);
+    }
+
+    public Workload(long[] lengths, double[] deadlines, double[] arrivalTimes, double[] vmMips) {
+        this(lengths, deadlines, arrivalTimes, new int[lengths.length], vmMips);
+    }
+
+    public Workload(long[] lengths, double[] deadlines, double[] arrivalTimes, int[] priorities, double[] vmMips) {
+        this(lengths, deadlines, arrivalTimes, priorities, vmMips, ones(vmMips.length), ones(lengths.length));
+    }
+
+    private Workload(long[] lengths, double[] deadlines, double[] arrivalTimes, int[] priorities, double[] vmMips,
+                     int[] vmPes, int[] jobPes) {
+        if (lengths.length != deadlines.length) {
+            throw new IllegalArgumentException("lengths and deadlines must have the same size: "
+                    + lengths.length + " != " + deadlines.length);
+        }
+        if (lengths.length != arrivalTimes.length) {
+            throw new IllegalArgumentException("lengths and arrival times must have the same size: "
+                    + lengths.length + " != " + arrivalTimes.length);
+        }
+        if (lengths.length != priorities.length) {
+            throw new IllegalArgumentException("lengths and priorities must have the same size: "
+                    + lengths.length + " != " + priorities.length);
+        }
+        if (vmMips.length == 0) {
+            throw new IllegalArgumentException("Workload needs at least one VM");
+        }
+        this.lengths = lengths;
+        this.deadlines = deadlines;
+        this.arrivalTimes = arrivalTimes;
+        this.priorities = priorities;
+        this.vmMips = vmMips;
+        this.vmPes = vmPes;
+        this.jobPes = jobPes;
+    }
+
+    /**
+     * Same jobs and VMs with PE counts; the other columns are shared. Fails if a job needs
+     * more PEs than the largest VM has.
+     */
+    public Workload withPes(int[] vmPes, int[] jobPes) {
+        if (vmPes.length != vmMips.length || jobPes.length != lengths.length) {
+            throw new IllegalArgumentException("Need one PE count per VM and per job: "
+                    + vmPes.length + "/" + vmMips.length + ", " + jobPes.length + "/" + lengths.length);
+        }
+        int maxVmPes = 0;
+        for (int pes : vmPes) {
+            if (pes < 1) {
+                throw new IllegalArgumentException("Every VM needs at least one PE: " + pes);
+            }
+            maxVmPes = Math.max(maxVmPes, pes);
+        }
+        for (int i = 0; i < jobPes.length; i++) {
+            if (jobPes[i] < 1 || jobPes[i] > maxVmPes) {
+                throw new IllegalArgumentException("Job " + i + " needs " + jobPes[i]
+                        + " PEs, VMs have 1 to " + maxVmPes);
+            }
+        }
+        return new Workload(lengths, deadlines, arrivalTimes, priorities, vmMips, vmPes, jobPes);
+    }
+
+    /**
+     * Same, with {@code pes} PEs on every VM and one per job.
+     */
+    public Workload withVmPes(int pes) {
+        int[] vmPes = new int[vmMips.length];
+        Arrays.fill(vmPes, pes);
+        return withPes(vmPes, ones(lengths.length));
+    }
+
+    private static int[] ones(int n) {
+        int[] values = new int[n];
+        Arrays.fill(values, 1);
+        return values;
+    }
+
+    // Convenience for callers that have no deadlines at all
+    public static Workload withoutDeadlines(long[] lengths, double[] vmMips) {
+        double[] deadlines = new double[lengths.length];
+        Arrays.fill(deadlines, Double.POSITIVE_INFINITY);
+        return new Workload(lengths, deadlines, vmMips);
+    }
+
+    /**
+     * Workload over the columns of a {@link JobTable}; the length and priority columns are shared, not copied.
+     * Jobs without a due date get no deadline; jobs without an arrival time arrive at 0.
+     */
+    public static Workload fromJobTable(JobTable jobs, double[] vmMips) {
+        double[] dueDates = jobs.dueDateColumn();
+        double[] arrivals = jobs.arrivalTimeColumn();
+        double[] deadlines = new double[dueDates.length];
+        double[] arrivalTimes = new double[arrivals.length];
+        for (int i = 0; i < dueDates.length; i++) {
+            deadlines[i] = Double.isNaN(dueDates[i]) ? Double.POSITIVE_INFINITY : dueDates[i];
+            arrivalTimes[i] = Double.isNaN(arrivals[i]) ? 0 : Math.max(0, arrivals[i]);
+        }
+        return new Workload(jobs.lengthColumn(), deadlines, arrivalTimes, jobs.priorityColumn(), vmMips);
+    }
+
+    /**
+     * Workload over a memory-mapped {@link WorkloadFile}, with the same defaults as
+     * {@link #fromJobTable}. Each column is bulk-copied once out of the mapping.
+     */
+    public static Workload fromWorkloadFile(WorkloadFile file, double[] vmMips) {
+        double[] deadlines = file.deadlineColumn();
+        double[] arrivalTimes = file.arrivalTimeColumn();
+        for (int i = 0; i < deadlines.length; i++) {
+            if (Double.isNaN(deadlines[i])) {
+                deadlines[i] = Double.POSITIVE_INFINITY;
+            }
+            arrivalTimes[i] = Double.isNaN(arrivalTimes[i]) ? 0 : Math.max(0, arrivalTimes[i]);
+        }
+        return new Workload(file.lengthColumn(), deadlines, arrivalTimes, file.priorityColumn(), vmMips);
+    }
+
+    public long[] getLengths() {
+        return lengths;
+    }
+
+    public double[] getDeadlines() {
+        return deadlines;
+    }
+
+    public double[] getArrivalTimes() {
+        return arrivalTimes;
+    }
+
+    public int[] getPriorities() {
+        return priorities;
+    }
+
+    public double[] getVmMips() {
+        return vmMips;
+    }
+
+    public int[] getVmPes() {
+        return vmPes;
+    }
+
+    public int[] getJobPes() {
+        return jobPes;
+    }
+
+    /**
+     * True if some VM has more than one PE or some job needs more than one.
+     */
+    public boolean usesPeSlots() {
+        for (int pes : vmPes) {
+            if (pes > 1) {
+                return true;
+            }
+        }
+        for (int pes : jobPes) {
+            if (pes > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if some job needs more than one PE, so VMs cannot be planned one PE at a time.
+     */
+    public boolean hasMultiPeJobs() {
+        for (int pes : jobPes) {
+            if (pes > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Serial queues for planners that run one job at a time per queue: one per PE, VMs in
+     * index order with their PEs side by side, or one per VM when some job needs several
+     * PEs. Entry q is the VM of queue q. A job needing k PEs only fits the queues of VMs
+     * with at least k PEs; see {@link #fits(int, int)}.
+     */
+    int[] serialQueueVms() {
+        int queues = 0;
+        for (int pes : vmPes) {
+            queues += pes;
+        }
+        if (hasMultiPeJobs()) {
+            queues = vmPes.length;
+        }
+        int[] queueVms = new int[queues];
+        int q = 0;
+        for (int vm = 0; vm < vmPes.length; vm++) {
+            int count = queues == vmPes.length ? 1 : vmPes[vm];
+            for (int pe = 0; pe < count; pe++) {
+                queueVms[q++] = vm;
+            }
+        }
+        return queueVms;
+    }
+
+    /**
+     * True if the job's PEs fit on the VM.
+     */
+    boolean fits(int job, int vm) {
+        return jobPes[job] <= vmPes[vm];
+    }
+
+    /**
+     * The given job order regrouped by arrival: earlier arrivals first, jobs that arrive
+     * together in the given order. Offline workloads (every arrival 0) get the order back.
+     */
+    int[] releaseOrder(int[] order) {
+        for (double arrival : arrivalTimes) {
+            if (arrival > 0) {
+                long[] keys = new long[arrivalTimes.length];
+                for (int job = 0; job < keys.length; job++) {
+                    keys[job] = IndexSort.sortableKey(getReleaseTime(job));
+                }
+                int[] release = order.clone();
+                IndexSort.sortAscending(release, keys);
+                return release;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Earliest time job can start: its arrival, 0 if that is negative.
+     */
+    public double getReleaseTime(int job) {
+        return Math.max(0.0, arrivalTimes[job]);
+    }
+
+    public int getJobCount() {
+        return lengths.length;
+    }
+
+    public int getVmCount() {
+        return vmMips.length;
+    }
+}
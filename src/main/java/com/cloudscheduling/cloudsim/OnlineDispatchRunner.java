@@ -0,0 +1,144 @@
+package com.cloudscheduling.cloudsim;
+
+import com.cloudscheduling.algorithm.OnlinePolicy;
+import com.cloudscheduling.algorithm.PlanningPolicy;
+import com.cloudscheduling.algorithm.Schedule;
+import com.cloudscheduling.algorithm.SchedulingPolicies;
+import com.cloudscheduling.algorithm.SchedulingPolicy;
+import com.cloudscheduling.algorithm.Workload;
+import com.cloudscheduling.dao.JobDAO;
+import com.cloudscheduling.model.JobTable;
+import com.cloudscheduling.sim.CliOptions;
+import com.cloudscheduling.sim.CloudSimExecutor;
+import com.cloudscheduling.sim.CloudletScheduling;
+import com.cloudscheduling.sim.OnlineDispatch;
+import com.cloudscheduling.sim.ScheduleMetrics;
+import com.cloudscheduling.sim.SweepRunner;
+import com.cloudscheduling.sim.WorkloadGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Online mode: jobs are released at their arrival times and each policy places every
+ * job when it arrives, from the VM queues at that moment. The decisions are then
+ * simulated in CloudSim with each cloudlet submitted after a delay equal to its arrival
+ * time, and the offline plan (every job known up front) is shown next to it for reference.
+ * Policies see the VMs' PEs; a {@link PlanningPolicy}'s plan is simulated with each cloudlet
+ * submitted at its planned start, which is never before its arrival.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   OnlineDispatchRunner source=synthetic|db policies=PBFS,EG-SJF jobs=1000 seed=42
+ *                        burst=20 quiet=5 fleet=800/1000/1200/1500 pes=2 scheduling=space|time
+ * </pre>
+ * With {@code source=db} jobs, arrival times and due dates come from the {@code jobs} table.
+ */
+public class OnlineDispatchRunner {
+
+    public static void main(String[] args) {
+        Map<String, String> options = CliOptions.parse(args);
+
+        double[] vmMips = SweepRunner.Fleet.parse(options.getOrDefault("fleet", "800/1000/1200/1500")).getVmMips();
+        int vmPes = Integer.parseInt(options.getOrDefault("pes", "2"));
+        CloudletScheduling scheduling = options.getOrDefault("scheduling", "space").toLowerCase(Locale.ROOT)
+                .startsWith("time") ? CloudletScheduling.TIME_SHARED : CloudletScheduling.SPACE_SHARED;
+
+        Workload workload = "db".equalsIgnoreCase(options.get("source"))
+                ? loadFromDatabase(vmMips)
+                : syntheticWorkload(options, vmMips);
+        if (workload == null || workload.getJobCount() == 0) {
+            System.err.println("❌ No jobs to dispatch");
+            return;
+        }
+        workload = workload.withVmPes(vmPes);
+
+        List<OnlinePolicy> policies = new ArrayList<>();
+        for (SchedulingPolicy policy : SchedulingPolicies.parse(options.get("policies"))) {
+            if (policy instanceof OnlinePolicy) {
+                policies.add((OnlinePolicy) policy);
+            } else {
+                System.err.println("⚠️ " + policy.getName() + " has no online mode, skipping");
+            }
+        }
+
+        System.out.println("🚀 Online dispatch of " + workload.getJobCount() + " jobs on "
+                + vmMips.length + " VMs (" + scheduling + ")");
+        printArrivalProfile(workload.getArrivalTimes());
+
+        List<String> names = new ArrayList<>();
+        List<ScheduleMetrics> online = new ArrayList<>();
+        List<ScheduleMetrics> offline = new ArrayList<>();
+        for (OnlinePolicy policy : policies) {
+            OnlineDispatch dispatch = OnlineDispatch.run(policy, workload);
+            dispatch.printLatency();
+
+            CloudSimExecutor.Outcome outcome = CloudSimExecutor.execute(workload.getLengths(),
+                    workload.getArrivalTimes(), dispatch.getReleaseOrder(), vmMips, vmPes,
+                    dispatch.getAssignment(), scheduling);
+
+            // Offline reference: the same policy knowing every job up front
+            Schedule plan = policy instanceof PlanningPolicy ? ((PlanningPolicy) policy).plan(workload) : null;
+            CloudSimExecutor.Outcome planned = CloudSimExecutor.execute(workload.getLengths(),
+                    plan != null ? plan.getStartTimes() : workload.getArrivalTimes(), policy.dispatchOrder(workload),
+                    vmMips, vmPes, plan != null ? plan.getAssignment() : policy.schedule(workload), scheduling);
+
+            names.add(policy.getName());
+            online.add(outcome.metrics(workload.getArrivalTimes(), workload.getDeadlines()));
+            offline.add(planned.metrics(workload.getArrivalTimes(), workload.getDeadlines()));
+        }
+
+        System.out.println("\n" + "=".repeat(100));
+        System.out.println(" ONLINE vs OFFLINE PLAN (flow time counted from arrival)");
+        System.out.println("=".repeat(100));
+        System.out.printf("%-16s | %-10s | %-15s | %-15s | %-15s | %-12s%n",
+                "Algorithm", "Makespan", "Total Flow", "Avg Wait Time", "Total Tardiness", "Completed");
+        System.out.println("-".repeat(100));
+        for (int i = 0; i < names.size(); i++) {
+            printRow(names.get(i) + " online", online.get(i));
+            printRow(names.get(i) + " plan", offline.get(i));
+        }
+        System.out.println("-".repeat(100));
+    }
+
+    private static void printRow(String name, ScheduleMetrics metrics) {
+        System.out.printf("%-16s | %-10.2f | %-15.2f | %-15.2f | %-15.2f | %-4d/%-6d%n",
+                name, metrics.getMakespan(), metrics.getTotalFlowTime(), metrics.getAvgWaitingTime(),
+                metrics.getTotalTardiness(), metrics.getCompletedJobs(), metrics.getTotalJobs());
+    }
+
+    private static Workload syntheticWorkload(Map<String, String> options, double[] vmMips) {
+        int jobs = Integer.parseInt(options.getOrDefault("jobs", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int burst = Integer.parseInt(options.getOrDefault("burst", "20"));
+        double quiet = Double.parseDouble(options.getOrDefault("quiet", "5"));
+
+        long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+        double[] arrivals = WorkloadGenerator.burstyArrivals(jobs, burst, quiet, seed);
+        double[] deadlines = WorkloadGenerator.defaultDeadlines(lengths, arrivals, seed);
+        return new Workload(lengths, deadlines, arrivals, vmMips);
+    }
+
+    private static Workload loadFromDatabase(double[] vmMips) {
+        try {
+            JobTable jobs = new JobDAO().getJobTable();
+            System.out.println("✅ Loaded " + jobs.size() + " jobs from database");
+            return Workload.fromJobTable(jobs, vmMips);
+        } catch (Exception e) {
+            System.err.println("❌ Error loading jobs: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void printArrivalProfile(double[] arrivals) {
+        double first = Double.MAX_VALUE;
+        double last = 0;
+        for (double arrival : arrivals) {
+            first = Math.min(first, arrival);
+            last = Math.max(last, arrival);
+        }
+        System.out.printf(" Arrivals span %.2f - %.2f s%n", first, last);
+    }
+}
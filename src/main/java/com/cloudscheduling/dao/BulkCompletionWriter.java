@@ -0,0 +1,232 @@
+package com.cloudscheduling.dao;
+
+import com.cloudscheduling.db.DatabaseConfig;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.Map;
+
+/**
+ * Writes finish times to cloud_jobs in bulk.
+ * <p>
+ * The fast path streams {@code job_id,finish_time} CSV rows through PostgreSQL's COPY
+ * protocol into a session temp table, then applies them with one set-based
+ * {@code UPDATE ... FROM}, all in a single transaction. When the connection is not
+ * PostgreSQL or COPY fails, the rows go through the batched UPDATE instead, committed once
+ * every {@link #BATCH_SIZE} rows. Either way the returned {@link Result} carries rows per second.
+ */
+public class BulkCompletionWriter {
+
+    public static final String COPY = "COPY";
+    public static final String BATCH = "batch";
+    public static final int BATCH_SIZE = 5000;
+
+    // Bytes buffered before each write to the COPY stream
+    private static final int COPY_CHUNK = 64 * 1024;
+
+    private static final String CREATE_STAGING =
+            "CREATE TEMP TABLE IF NOT EXISTS finish_time_staging " +
+            "(job_id INTEGER, finish_time DOUBLE PRECISION) ON COMMIT DELETE ROWS";
+    private static final String COPY_SQL =
+            "COPY finish_time_staging (job_id, finish_time) FROM STDIN (FORMAT csv)";
+    private static final String UPDATE_FROM_STAGING =
+            "UPDATE cloud_jobs c SET finish_time = s.finish_time " +
+            "FROM finish_time_staging s WHERE c.job_id = s.job_id";
+    private static final String UPDATE_ONE =
+            "UPDATE cloud_jobs SET finish_time = ? WHERE job_id = ?";
+
+    private final DataSource dataSource;
+    private final WorkloadCache cache;
+
+    public BulkCompletionWriter() {
+        this(DatabaseConfig.getDataSource());
+    }
+
+    public BulkCompletionWriter(DataSource dataSource) {
+        this(dataSource, WorkloadCache.shared());
+    }
+
+    public BulkCompletionWriter(DataSource dataSource, WorkloadCache cache) {
+        this.dataSource = dataSource;
+        this.cache = cache;
+    }
+
+    /**
+     * How one write went.
+     */
+    public static final class Result {
+        private final String method;
+        private final int rows;
+        private final int updated;
+        private final double elapsedMs;
+
+        Result(String method, int rows, int updated, double elapsedMs) {
+            this.method = method;
+            this.rows = rows;
+            this.updated = updated;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public double getElapsedMs() {
+            return elapsedMs;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedMs > 0 ? rows / (elapsedMs / 1000) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d rows (%d jobs updated) in %.1f ms, %.0f rows/s",
+                    method, rows, updated, elapsedMs, getRowsPerSecond());
+        }
+    }
+
+    /**
+     * COPY when possible, batched UPDATEs otherwise. A null finish time clears the column.
+     */
+    public Result write(Map<Integer, Double> completionTimes) throws SQLException {
+        try {
+            return writeWithCopy(completionTimes);
+        } catch (SQLException e) {
+            System.out.println("⚠️ COPY unavailable (" + e.getMessage() + "), falling back to batched UPDATEs");
+            return writeBatched(completionTimes);
+        }
+    }
+
+    public Result writeWithCopy(Map<Integer, Double> completionTimes) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_STAGING);
+                int[] jobIds = new int[completionTimes.size()];
+                Double[] finishTimes = new Double[jobIds.length];
+                int next = 0;
+                for (Map.Entry<Integer, Double> entry : completionTimes.entrySet()) {
+                    jobIds[next] = entry.getKey();
+                    finishTimes[next++] = entry.getValue();
+                }
+                copyCsv(conn, COPY_SQL, jobIds.length, (row, line) -> {
+                    line.append(jobIds[row]).append(',');
+                    if (finishTimes[row] != null) {
+                        line.append(finishTimes[row].doubleValue());
+                    }
+                });
+                int updated = stmt.executeUpdate(UPDATE_FROM_STAGING);
+                conn.commit();
+                cache.invalidate(WorkloadCache.JOBS);
+                return new Result(COPY, completionTimes.size(), updated, (System.nanoTime() - start) / 1e6);
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Writes row {@code row} of a COPY stream as CSV fields, without the line break.
+     */
+    @FunctionalInterface
+    interface CsvRow {
+        void append(int row, StringBuilder line);
+    }
+
+    /**
+     * Streams {@code rowCount} CSV rows through COPY in COPY_CHUNK pieces. An empty field
+     * is NULL. Runs inside the caller's transaction.
+     */
+    static void copyCsv(Connection conn, String copySql, int rowCount, CsvRow rows) throws SQLException {
+        if (!conn.isWrapperFor(PGConnection.class)) {
+            throw new SQLException("not a PostgreSQL connection");
+        }
+        CopyIn copy = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+        try {
+            StringBuilder chunk = new StringBuilder(COPY_CHUNK + 256);
+            for (int row = 0; row < rowCount; row++) {
+                rows.append(row, chunk);
+                chunk.append('\n');
+                if (chunk.length() >= COPY_CHUNK) {
+                    flush(copy, chunk);
+                }
+            }
+            flush(copy, chunk);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void flush(CopyIn copy, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    public Result writeBatched(Map<Integer, Double> completionTimes) throws SQLException {
+        long start = System.nanoTime();
+        int updated = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(UPDATE_ONE)) {
+                int pending = 0;
+                for (Map.Entry<Integer, Double> entry : completionTimes.entrySet()) {
+                    if (entry.getValue() == null) {
+                        ps.setNull(1, Types.DOUBLE);
+                    } else {
+                        ps.setDouble(1, entry.getValue());
+                    }
+                    ps.setInt(2, entry.getKey());
+                    ps.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        updated += countUpdated(ps.executeBatch());
+                        conn.commit();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    updated += countUpdated(ps.executeBatch());
+                    conn.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+                // Earlier batches may have committed even if a later one failed
+                cache.invalidate(WorkloadCache.JOBS);
+            }
+        }
+        return new Result(BATCH, completionTimes.size(), updated, (System.nanoTime() - start) / 1e6);
+    }
+
+    // SUCCESS_NO_INFO counts as one row
+    private static int countUpdated(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return total;
+    }
+}
@@ -2,85 +2,274 @@ package com.cloudscheduling.dao;
 
 import com.cloudscheduling.db.DatabaseConfig;
 import com.cloudscheduling.model.CloudJob;
+import com.cloudscheduling.model.JobTable;
+import com.cloudscheduling.model.WorkloadFile;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.*;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JobDAO {
+    // What getJobTable() loads; the simulations are sized for it
+    public static final int DEFAULT_JOB_LIMIT = 1000;
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final WorkloadCache cache;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
+    // ✅ Uses the shared pool from DatabaseConfig and the shared WorkloadCache
+    public JobDAO() {
+        this(DatabaseConfig.getDataSource());
+    }
+
+    public JobDAO(DataSource dataSource) {
+        this(dataSource, WorkloadCache.shared());
+    }
+
+    public JobDAO(DataSource dataSource, WorkloadCache cache) {
+        this.dataSource = dataSource;
+        this.cache = cache;
+    }
+
     private Connection getConnection() throws SQLException {
-        String url = "jdbc:postgresql://localhost:5432/cloud_scheduling";
-        String user = "postgres";
-        String password = "1234";
-        return DriverManager.getConnection(url, user, password);
+        return dataSource.getConnection();
     }
 
     // ✅ Fetch up to n jobs from database
     public List<CloudJob> getNJobs(int n) {
-        List<CloudJob> jobs = new ArrayList<>();
-        String sql = "SELECT job_id, job_name, job_length, priority, arrival_time, due_date, finish_time " +
-                     "FROM cloud_jobs ORDER BY job_id LIMIT ?";
+        try {
+            JobTable table = getJobTable(n);
+            System.out.println("✅ Loaded " + table.size() + " jobs from PostgreSQL.");
+            return table.asCloudJobs();
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading jobs: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    // ✅ Get all jobs as CloudJob views over a columnar JobTable
+    public List<CloudJob> getAllJobs() throws SQLException {
+        return getJobTable(0).asCloudJobs();
+    }
 
-            ps.setInt(1, n);
-            ResultSet rs = ps.executeQuery();
+    // ✅ Load the first DEFAULT_JOB_LIMIT jobs straight into a JobTable - no per-row objects, no boxing
+    public JobTable getJobTable() throws SQLException {
+        return getJobTable(DEFAULT_JOB_LIMIT);
+    }
 
-            while (rs.next()) {
-                CloudJob job = new CloudJob(
-                    rs.getInt("job_id"),
-                    rs.getString("job_name"),
-                    rs.getLong("job_length"),
-                    rs.getInt("priority"),
-                    rs.getObject("arrival_time") != null ? rs.getDouble("arrival_time") : null,
-                    rs.getObject("due_date") != null ? rs.getDouble("due_date") : null,
-                    rs.getObject("finish_time") != null ? rs.getDouble("finish_time") : null
-                );
-                jobs.add(job);
+    // ✅ Load up to limit jobs (0 = all of them) into a JobTable
+    public JobTable getJobTable(int limit) throws SQLException {
+        JobTable table = new JobTable(limit > 0 ? limit : fetchSize);
+        forEachJob(limit, (jobId, jobName, jobLength, priority, arrivalTime, dueDate, finishTime) -> {
+            int row = table.addJob(jobId, jobName, jobLength, priority, arrivalTime, dueDate);
+            if (!Double.isNaN(finishTime)) {
+                table.setFinishTime(row, finishTime);
+            }
+        });
+        return table;
+    }
+
+    /**
+     * Receives one cloud_jobs row at a time; SQL NULLs arrive as NaN.
+     */
+    @FunctionalInterface
+    public interface JobRowHandler {
+        void onJob(int jobId, String jobName, long jobLength, int priority,
+                   double arrivalTime, double dueDate, double finishTime) throws SQLException;
+    }
+
+    /**
+     * Streams up to {@code limit} jobs (0 = all) in job_id order to the handler while the rows
+     * arrive. Auto-commit is off for the call so PostgreSQL keeps a server-side cursor and
+     * sends {@code fetchSize} rows per round trip; memory stays bounded however large
+     * cloud_jobs is. Returns the number of rows handled.
+     * <p>
+     * The rows are also kept in a JobTable for the {@link WorkloadCache} until they outgrow
+     * it, so the next call with the same limit replays them without the database.
+     */
+    public long forEachJob(int limit, JobRowHandler handler) throws SQLException {
+        String query = "rows:" + limit;
+        long version = cache.version(WorkloadCache.JOBS);
+        JobTable cached = cache.getIfPresent(WorkloadCache.JOBS, version, query);
+        if (cached != null) {
+            for (int row = 0; row < cached.size(); row++) {
+                handler.onJob(cached.getJobId(row), cached.getJobName(row), cached.getJobLength(row),
+                        cached.getPriority(row), cached.getArrivalTime(row), cached.getDueDate(row),
+                        cached.getFinishTime(row));
             }
-            System.out.println("✅ Loaded " + jobs.size() + " jobs from PostgreSQL.");
+            return cached.size();
+        }
+
+        JobTable copy = new JobTable(limit > 0 ? Math.min(limit, fetchSize) : fetchSize);
+        long count = 0;
+        try (Connection conn = getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = prepareJobQuery(conn, limit);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int jobId = rs.getInt("job_id");
+                    String jobName = rs.getString("job_name");
+                    long jobLength = rs.getLong("job_length");
+                    int priority = rs.getInt("priority");
+                    double arrivalTime = getDoubleOrNaN(rs, "arrival_time");
+                    double dueDate = getDoubleOrNaN(rs, "due_date");
+                    double finishTime = getDoubleOrNaN(rs, "finish_time");
+                    handler.onJob(jobId, jobName, jobLength, priority, arrivalTime, dueDate, finishTime);
+                    count++;
+
+                    if (copy != null) {
+                        int row = copy.addJob(jobId, jobName, jobLength, priority, arrivalTime, dueDate);
+                        if (!Double.isNaN(finishTime)) {
+                            copy.setFinishTime(row, finishTime);
+                        }
+                        // Too big to cache: stop copying and keep streaming
+                        if ((row & 4095) == 4095 && copy.estimatedBytes() > cache.getMaxBytes()) {
+                            copy = null;
+                        }
+                    }
+                }
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        if (copy != null) {
+            copy.trimToSize();
+            cache.put(WorkloadCache.JOBS, version, query, copy, copy.estimatedBytes());
+        }
+        return count;
+    }
+
+    /**
+     * Same cursor as {@link #forEachJob}, as a lazy stream of standalone CloudJobs. The
+     * connection stays borrowed until the stream is closed, so use try-with-resources.
+     * Database errors surface as IllegalStateException.
+     */
+    public Stream<CloudJob> streamJobs(int limit) throws SQLException {
+        Connection conn = getConnection();
+        try {
+            conn.setAutoCommit(false);
+            PreparedStatement ps = prepareJobQuery(conn, limit);
+            ResultSet rs = ps.executeQuery();
+            return StreamSupport.stream(new JobSpliterator(rs), false)
+                    .onClose(() -> closeCursor(conn, ps, rs));
         } catch (SQLException e) {
-            System.err.println("❌ Error loading jobs: " + e.getMessage());
+            conn.close();
+            throw e;
         }
-        return jobs;
     }
 
-    // ✅ Get all jobs - using the simpler approach that matches your CloudJob constructor
-    public List<CloudJob> getAllJobs() throws SQLException {
-        List<CloudJob> jobs = new ArrayList<>();
-        
-        String sql = "SELECT job_id, job_name, job_length, priority, arrival_time, due_date, finish_time " +
-                     "FROM cloud_jobs ORDER BY job_id LIMIT 1000";
-        
+    /**
+     * Exports cloud_jobs in job_id order to a {@link WorkloadFile}, streaming rows straight into
+     * its mapped columns. Rows inserted after the count are left for the next export.
+     */
+    public int exportWorkloadFile(Path path) throws SQLException, IOException {
+        int count;
         try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            
-            while (rs.next()) {
-                CloudJob job = new CloudJob(
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM cloud_jobs")) {
+            rs.next();
+            count = rs.getInt(1);
+        }
+        try (WorkloadFile.Writer writer = new WorkloadFile.Writer(path, count)) {
+            if (count > 0) {
+                forEachJob(count, (jobId, jobName, jobLength, priority, arrivalTime, dueDate, finishTime) ->
+                        writer.add(jobId, jobLength, priority, arrivalTime, dueDate));
+            }
+            System.out.println("✅ Exported " + writer.size() + " jobs to " + path);
+            return writer.size();
+        }
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    private PreparedStatement prepareJobQuery(Connection conn, int limit) throws SQLException {
+        String sql = "SELECT job_id, job_name, job_length, priority, arrival_time, due_date, finish_time " +
+                     "FROM cloud_jobs ORDER BY job_id" + (limit > 0 ? " LIMIT ?" : "");
+        PreparedStatement ps = conn.prepareStatement(sql);
+        ps.setFetchSize(fetchSize);
+        if (limit > 0) {
+            ps.setInt(1, limit);
+        }
+        return ps;
+    }
+
+    private static void closeCursor(Connection conn, PreparedStatement ps, ResultSet rs) {
+        try (conn) {
+            rs.close();
+            ps.close();
+            conn.rollback();
+            conn.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.err.println("❌ Error closing job cursor: " + e.getMessage());
+        }
+    }
+
+    private static final class JobSpliterator extends Spliterators.AbstractSpliterator<CloudJob> {
+        private final ResultSet rs;
+
+        JobSpliterator(ResultSet rs) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.rs = rs;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CloudJob> action) {
+            try {
+                if (!rs.next()) {
+                    return false;
+                }
+                double arrivalTime = getDoubleOrNaN(rs, "arrival_time");
+                double dueDate = getDoubleOrNaN(rs, "due_date");
+                double finishTime = getDoubleOrNaN(rs, "finish_time");
+                action.accept(new CloudJob(
                     rs.getInt("job_id"),
                     rs.getString("job_name"),
                     rs.getLong("job_length"),
                     rs.getInt("priority"),
-                    rs.getObject("arrival_time") != null ? rs.getDouble("arrival_time") : null,
-                    rs.getObject("due_date") != null ? rs.getDouble("due_date") : null,
-                    rs.getObject("finish_time") != null ? rs.getDouble("finish_time") : null
-                );
-                jobs.add(job);
+                    Double.isNaN(arrivalTime) ? null : arrivalTime,
+                    Double.isNaN(dueDate) ? null : dueDate,
+                    Double.isNaN(finishTime) ? null : finishTime
+                ));
+                return true;
+            } catch (SQLException e) {
+                throw new IllegalStateException("Error streaming jobs", e);
             }
         }
-        return jobs;
+    }
+
+    private static double getDoubleOrNaN(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
     }
 
     // ✅ Get job deadlines (using due_date)
     public Map<Integer, Double> getJobDeadlines() throws SQLException {
+        return new HashMap<>(cache.get(WorkloadCache.JOBS, "deadlines:due_date",
+                () -> loadDeadlines("due_date"), WorkloadCache::weighDeadlines));
+    }
+
+    private Map<Integer, Double> loadDeadlines(String column) throws SQLException {
         Map<Integer, Double> deadlines = new HashMap<>();
-        String sql = "SELECT job_id, due_date FROM cloud_jobs WHERE due_date IS NOT NULL";
+        String sql = "SELECT job_id, " + column + " FROM cloud_jobs WHERE " + column + " IS NOT NULL";
         try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
-                deadlines.put(rs.getInt("job_id"), rs.getDouble("due_date"));
+                deadlines.put(rs.getInt("job_id"), rs.getDouble(column));
             }
         }
         return deadlines;
@@ -93,22 +282,9 @@ public class JobDAO {
             return;
         }
 
-        String sql = "UPDATE cloud_jobs SET finish_time = ? WHERE job_id = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            for (Map.Entry<Integer, Double> entry : completionTimes.entrySet()) {
-                if (entry.getValue() == null) {
-                    ps.setNull(1, Types.DOUBLE);
-                } else {
-                    ps.setDouble(1, entry.getValue());
-                }
-                ps.setInt(2, entry.getKey());
-                ps.addBatch();
-            }
-
-            int[] results = ps.executeBatch();
-            System.out.println("✅ Updated " + results.length + " job finish times in PostgreSQL.");
+        try {
+            BulkCompletionWriter.Result result = new BulkCompletionWriter(dataSource).write(completionTimes);
+            System.out.println("✅ Updated " + result.getUpdated() + " job finish times in PostgreSQL (" + result + ")");
         } catch (SQLException e) {
             System.err.println("❌ Error updating finish times: " + e.getMessage());
         }
@@ -170,6 +346,8 @@ public class JobDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             int updated = pstmt.executeUpdate();
             System.out.println("✅ Updated " + updated + " job deadlines in database");
+        } finally {
+            cache.invalidate(WorkloadCache.JOBS);
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.cloudscheduling.dao;
 
+import com.cloudscheduling.db.DatabaseConfig;
+
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -7,18 +10,27 @@ import java.util.List;
 import java.util.Map;
 
 public class ResultsDAO {
-    // PostgreSQL connection parameters
-    private static final String URL = "jdbc:postgresql://localhost:5432/cloud_scheduling";
-    private static final String USER = "postgres";
-    private static final String PASSWORD = "1234";
-    
+    private final DataSource dataSource;
+    private final WorkloadCache cache;
+
+    /**
+     * Uses the shared pool from DatabaseConfig and the shared WorkloadCache
+     */
+    public ResultsDAO() {
+        this(DatabaseConfig.getDataSource());
+    }
+
+    public ResultsDAO(DataSource dataSource) {
+        this(dataSource, WorkloadCache.shared());
+    }
+
+    public ResultsDAO(DataSource dataSource, WorkloadCache cache) {
+        this.dataSource = dataSource;
+        this.cache = cache;
+    }
+
     private Connection getConnection() throws SQLException {
-        try {
-            Class.forName("org.postgresql.Driver");
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("PostgreSQL JDBC Driver not found", e);
-        }
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return dataSource.getConnection();
     }
 
     /**
@@ -28,6 +40,12 @@ public class ResultsDAO {
  * Initialize deadlines in the database if they don't exist - UPDATED FOR YOUR SCHEMA
  */
 public void initializeDeadlines() {
+    // Checked once per cache version; any write to cloud_jobs re-checks
+    long version = cache.version(WorkloadCache.JOBS);
+    if (cache.getIfPresent(WorkloadCache.JOBS, version, "deadlines-initialized") != null) {
+        System.out.println("✅ Due dates already exist in database");
+        return;
+    }
     try (Connection conn = getConnection()) {
         // Check if due_date column has values
         String checkSql = "SELECT COUNT(*) as count_with_due_date FROM cloud_jobs WHERE due_date IS NOT NULL";
@@ -41,9 +59,12 @@ public void initializeDeadlines() {
                 try (Statement updateStmt = conn.createStatement()) {
                     int updated = updateStmt.executeUpdate(updateSql);
                     System.out.println("✅ Initialized due dates for " + updated + " jobs");
+                } finally {
+                    cache.invalidate(WorkloadCache.JOBS);
                 }
             } else {
                 System.out.println("✅ Due dates already exist in database");
+                cache.put(WorkloadCache.JOBS, version, "deadlines-initialized", Boolean.TRUE, 16);
             }
         }
         
@@ -125,6 +146,8 @@ public void updateJobCompletionTimes1(Map<Integer, Double> completionTimes) {
         
     } catch (SQLException e) {
         System.err.println("❌ Error updating job completion times: " + e.getMessage());
+    } finally {
+        cache.invalidate(WorkloadCache.JOBS);
     }
 }
 
@@ -132,22 +155,7 @@ public void updateJobCompletionTimes1(Map<Integer, Double> completionTimes) {
  * Get job deadlines for scheduling - UPDATED FOR YOUR SCHEMA
  */
 public Map<Integer, Double> getJobDeadlines1() {
-    Map<Integer, Double> deadlines = new HashMap<>();
-    String sql = "SELECT job_id, due_date FROM cloud_jobs WHERE due_date IS NOT NULL";
-    
-    try (Connection conn = getConnection();
-         PreparedStatement pstmt = conn.prepareStatement(sql);
-         ResultSet rs = pstmt.executeQuery()) {
-        
-        while (rs.next()) {
-            deadlines.put(rs.getInt("job_id"), rs.getDouble("due_date"));
-        }
-        System.out.println("✅ Loaded " + deadlines.size() + " job deadlines from database");
-        
-    } catch (SQLException e) {
-        System.err.println("❌ Error loading job deadlines: " + e.getMessage());
-    }
-    return deadlines;
+    return getCachedDeadlines("due_date");
 }
 
 /**
@@ -221,8 +229,8 @@ public void debugTardinessCalculation1() {
     public boolean testConnection() {
         try (Connection conn = getConnection()) {
             System.out.println("✅ PostgreSQL connection established successfully!");
-            System.out.println("   URL: " + URL);
-            System.out.println("   User: " + USER);
+            System.out.println("   URL: " + conn.getMetaData().getURL());
+            System.out.println("   User: " + conn.getMetaData().getUserName());
             return true;
         } catch (SQLException e) {
             System.err.println("❌ Failed to connect to PostgreSQL: " + e.getMessage());
@@ -300,7 +308,7 @@ public void debugTardinessCalculation1() {
     }
 
     /**
-     * Update job completion times in the database
+     * Update job completion times in the database, through COPY when available
      */
     public void updateJobCompletionTimes(Map<Integer, Double> completionTimes) {
         if (completionTimes == null || completionTimes.isEmpty()) {
@@ -308,21 +316,9 @@ public void debugTardinessCalculation1() {
             return;
         }
         
-        String sql = "UPDATE cloud_jobs SET finish_time = ? WHERE job_id = ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            int updatedCount = 0;
-            for (Map.Entry<Integer, Double> entry : completionTimes.entrySet()) {
-                pstmt.setDouble(1, entry.getValue());
-                pstmt.setInt(2, entry.getKey());
-                pstmt.addBatch();
-                updatedCount++;
-            }
-            
-            int[] results = pstmt.executeBatch();
-            System.out.println("✅ Updated completion times for " + updatedCount + " jobs");
+        try {
+            BulkCompletionWriter.Result result = new BulkCompletionWriter(dataSource).write(completionTimes);
+            System.out.println("✅ Updated completion times for " + result.getUpdated() + " jobs (" + result + ")");
             
         } catch (SQLException e) {
             System.err.println("❌ Error updating job completion times: " + e.getMessage());
@@ -473,17 +469,17 @@ public void debugTardinessCalculation1() {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, algorithmName);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                String result = String.format("Algorithm: %s, Makespan: %.2f, Tardiness: %.2f, Completed: %d/%d, Time: %s",
-                    rs.getString("algorithm_name"),
-                    rs.getDouble("makespan"),
-                    rs.getDouble("total_tardiness"),
-                    rs.getInt("jobs_completed"),
-                    rs.getInt("total_jobs"),
-                    rs.getTimestamp("simulation_timestamp"));
-                results.add(result);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String result = String.format("Algorithm: %s, Makespan: %.2f, Tardiness: %.2f, Completed: %d/%d, Time: %s",
+                        rs.getString("algorithm_name"),
+                        rs.getDouble("makespan"),
+                        rs.getDouble("total_tardiness"),
+                        rs.getInt("jobs_completed"),
+                        rs.getInt("total_jobs"),
+                        rs.getTimestamp("simulation_timestamp"));
+                    results.add(result);
+                }
             }
             
         } catch (SQLException e) {
@@ -537,20 +533,35 @@ public void debugTardinessCalculation1() {
      * Get job deadlines for scheduling
      */
     public Map<Integer, Double> getJobDeadlines() {
+        return getCachedDeadlines("deadline");
+    }
+
+    /**
+     * Deadlines from {@code column}, read through the WorkloadCache; the caller gets a copy
+     */
+    private Map<Integer, Double> getCachedDeadlines(String column) {
+        try {
+            Map<Integer, Double> deadlines = cache.get(WorkloadCache.JOBS, "deadlines:" + column,
+                    () -> loadDeadlines(column), WorkloadCache::weighDeadlines);
+            return new HashMap<>(deadlines);
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading job deadlines: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private Map<Integer, Double> loadDeadlines(String column) throws SQLException {
         Map<Integer, Double> deadlines = new HashMap<>();
-        String sql = "SELECT job_id, deadline FROM cloud_jobs WHERE deadline IS NOT NULL";
+        String sql = "SELECT job_id, " + column + " FROM cloud_jobs WHERE " + column + " IS NOT NULL";
         
         try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
-                deadlines.put(rs.getInt("job_id"), rs.getDouble("deadline"));
+                deadlines.put(rs.getInt("job_id"), rs.getDouble(column));
             }
             System.out.println("✅ Loaded " + deadlines.size() + " job deadlines from database");
-            
-        } catch (SQLException e) {
-            System.err.println("❌ Error loading job deadlines: " + e.getMessage());
         }
         return deadlines;
     }
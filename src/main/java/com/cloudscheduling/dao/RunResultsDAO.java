@@ -0,0 +1,489 @@
+package com.cloudscheduling.dao;
+
+import com.cloudscheduling.db.DatabaseConfig;
+import com.cloudscheduling.model.JobTable;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-run job results, so concurrent simulations never share a row.
+ * <p>
+ * {@code simulation_runs} registers each run, and {@code job_results} holds one row per
+ * (run_id, algorithm, job_id) with the VM, start, finish and due date. The primary key
+ * index serves every per-run aggregate, and runs only insert their own keys, so parallel
+ * sweeps write without contention. cloud_jobs stays the input table.
+ * <p>
+ * Writes go through COPY when the connection is PostgreSQL and batched upserts otherwise.
+ * Like the other DAOs, errors are printed and turned into an empty result.
+ */
+public class RunResultsDAO {
+
+    public static final long NO_RUN = -1;
+
+    private static final String CREATE_RUNS =
+            "CREATE TABLE IF NOT EXISTS simulation_runs (" +
+            "run_id BIGSERIAL PRIMARY KEY, " +
+            "label TEXT, " +
+            "started_at TIMESTAMPTZ NOT NULL DEFAULT now(), " +
+            "finished_at TIMESTAMPTZ)";
+    private static final String CREATE_JOB_RESULTS =
+            "CREATE TABLE IF NOT EXISTS job_results (" +
+            "run_id BIGINT NOT NULL REFERENCES simulation_runs (run_id) ON DELETE CASCADE, " +
+            "algorithm TEXT NOT NULL, " +
+            "job_id INTEGER NOT NULL, " +
+            "vm_id INTEGER, " +
+            "start_time DOUBLE PRECISION, " +
+            "finish_time DOUBLE PRECISION, " +
+            "due_date DOUBLE PRECISION, " +
+            "PRIMARY KEY (run_id, algorithm, job_id))";
+    private static final String COPY_SQL =
+            "COPY job_results (run_id, algorithm, job_id, vm_id, start_time, finish_time, due_date) " +
+            "FROM STDIN (FORMAT csv)";
+    private static final String UPSERT_SQL =
+            "INSERT INTO job_results (run_id, algorithm, job_id, vm_id, start_time, finish_time, due_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (run_id, algorithm, job_id) DO UPDATE SET " +
+            "vm_id = EXCLUDED.vm_id, start_time = EXCLUDED.start_time, " +
+            "finish_time = EXCLUDED.finish_time, due_date = EXCLUDED.due_date";
+    private static final String SUMMARY_SQL =
+            "SELECT algorithm, " +
+            "COUNT(*) AS jobs, " +
+            "COUNT(finish_time) AS finished, " +
+            "COALESCE(MAX(finish_time), 0) AS makespan, " +
+            "COALESCE(SUM(finish_time), 0) AS total_flow_time, " +
+            "COALESCE(SUM(GREATEST(0, finish_time - due_date)), 0) AS total_tardiness, " +
+            "COUNT(CASE WHEN finish_time > due_date THEN 1 END) AS late_jobs, " +
+            "COALESCE(MAX(GREATEST(0, finish_time - due_date)), 0) AS max_tardiness " +
+            "FROM job_results WHERE run_id = ?";
+
+    // DDL once per JVM, not per call
+    private static volatile boolean schemaReady;
+
+    private final DataSource dataSource;
+
+    public RunResultsDAO() {
+        this(DatabaseConfig.getDataSource());
+    }
+
+    public RunResultsDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Creates simulation_runs and job_results if they don't exist yet.
+     */
+    public void ensureSchema() throws SQLException {
+        if (schemaReady) {
+            return;
+        }
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_RUNS);
+            stmt.execute(CREATE_JOB_RESULTS);
+        }
+        schemaReady = true;
+    }
+
+    /**
+     * Registers a run and returns its id, or {@link #NO_RUN} when the database is unavailable.
+     */
+    public long startRun(String label) {
+        String sql = "INSERT INTO simulation_runs (label) VALUES (?) RETURNING run_id";
+        try {
+            ensureSchema();
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, label);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    rs.next();
+                    long runId = rs.getLong(1);
+                    System.out.println("✅ Registered simulation run " + runId + " (" + label + ")");
+                    return runId;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error registering simulation run: " + e.getMessage());
+            return NO_RUN;
+        }
+    }
+
+    public void finishRun(long runId) {
+        String sql = "UPDATE simulation_runs SET finished_at = now() WHERE run_id = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, runId);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("❌ Error finishing simulation run " + runId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the results of one algorithm in one run with the rows of {@code results}: job id,
+     * assigned VM, start, finish and due date. NaN and {@link JobTable#NO_VM} are stored as NULL.
+     */
+    public BulkCompletionWriter.Result saveJobResults(long runId, String algorithm, JobTable results) {
+        try {
+            return copyJobResults(runId, algorithm, results);
+        } catch (SQLException e) {
+            System.out.println("⚠️ COPY unavailable (" + e.getMessage() + "), falling back to batched upserts");
+        }
+        try {
+            return upsertJobResults(runId, algorithm, results);
+        } catch (SQLException e) {
+            System.err.println("❌ Error saving " + algorithm + " results for run " + runId + ": " + e.getMessage());
+            return new BulkCompletionWriter.Result(BulkCompletionWriter.BATCH, results.size(), 0, 0);
+        }
+    }
+
+    private BulkCompletionWriter.Result copyJobResults(long runId, String algorithm, JobTable results)
+            throws SQLException {
+        long start = System.nanoTime();
+        String quoted = quote(algorithm);
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                deleteResults(conn, runId, algorithm);
+                BulkCompletionWriter.copyCsv(conn, COPY_SQL, results.size(), (row, line) ->
+                        appendCsvRow(line, runId, quoted, results.getJobId(row), results.getAssignedVmId(row),
+                                results.getStartTime(row), results.getFinishTime(row), results.getDueDate(row)));
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return new BulkCompletionWriter.Result(BulkCompletionWriter.COPY, results.size(), results.size(),
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    private static String quote(String algorithm) {
+        return "\"" + algorithm.replace("\"", "\"\"") + "\"";
+    }
+
+    private static void appendCsvRow(StringBuilder line, long runId, String quotedAlgorithm, int jobId, int vmId,
+                                     double startTime, double finishTime, double dueDate) {
+        line.append(runId).append(',').append(quotedAlgorithm).append(',').append(jobId).append(',');
+        if (vmId != JobTable.NO_VM) {
+            line.append(vmId);
+        }
+        appendCsv(line, startTime);
+        appendCsv(line, finishTime);
+        appendCsv(line, dueDate);
+    }
+
+    private static void appendCsv(StringBuilder line, double value) {
+        line.append(',');
+        if (!Double.isNaN(value)) {
+            line.append(value);
+        }
+    }
+
+    private BulkCompletionWriter.Result upsertJobResults(long runId, String algorithm, JobTable results)
+            throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+                deleteResults(conn, runId, algorithm);
+                for (int row = 0; row < results.size(); row++) {
+                    bindRow(pstmt, runId, algorithm, results.getJobId(row), results.getAssignedVmId(row),
+                            results.getStartTime(row), results.getFinishTime(row), results.getDueDate(row));
+                    pstmt.addBatch();
+                    if ((row + 1) % BulkCompletionWriter.BATCH_SIZE == 0) {
+                        pstmt.executeBatch();
+                    }
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return new BulkCompletionWriter.Result(BulkCompletionWriter.BATCH, results.size(), results.size(),
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * Adds rows of any runs and algorithms in one transaction, through COPY when available and
+     * batched upserts otherwise. Unlike {@link #saveJobResults} nothing is deleted first, so
+     * the rows of one algorithm can arrive in several batches, as from a {@link WriteBehindQueue}.
+     * Throws if neither path works.
+     */
+    public BulkCompletionWriter.Result appendJobResults(List<JobResult> rows) throws SQLException {
+        try {
+            return copyAppend(rows);
+        } catch (SQLException e) {
+            System.out.println("⚠️ COPY unavailable (" + e.getMessage() + "), falling back to batched upserts");
+        }
+        return upsertAppend(rows);
+    }
+
+    private BulkCompletionWriter.Result copyAppend(List<JobResult> rows) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                BulkCompletionWriter.copyCsv(conn, COPY_SQL, rows.size(), (row, line) -> {
+                    JobResult result = rows.get(row);
+                    appendCsvRow(line, result.getRunId(), quote(result.getAlgorithm()), result.getJobId(),
+                            result.getVmId(), result.getStartTime(), result.getFinishTime(), result.getDueDate());
+                });
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return new BulkCompletionWriter.Result(BulkCompletionWriter.COPY, rows.size(), rows.size(),
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    private BulkCompletionWriter.Result upsertAppend(List<JobResult> rows) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+                for (int row = 0; row < rows.size(); row++) {
+                    JobResult result = rows.get(row);
+                    bindRow(pstmt, result.getRunId(), result.getAlgorithm(), result.getJobId(), result.getVmId(),
+                            result.getStartTime(), result.getFinishTime(), result.getDueDate());
+                    pstmt.addBatch();
+                    if ((row + 1) % BulkCompletionWriter.BATCH_SIZE == 0) {
+                        pstmt.executeBatch();
+                    }
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return new BulkCompletionWriter.Result(BulkCompletionWriter.BATCH, rows.size(), rows.size(),
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void bindRow(PreparedStatement pstmt, long runId, String algorithm, int jobId, int vmId,
+                                double startTime, double finishTime, double dueDate) throws SQLException {
+        pstmt.setLong(1, runId);
+        pstmt.setString(2, algorithm);
+        pstmt.setInt(3, jobId);
+        if (vmId == JobTable.NO_VM) {
+            pstmt.setNull(4, Types.INTEGER);
+        } else {
+            pstmt.setInt(4, vmId);
+        }
+        setDoubleOrNull(pstmt, 5, startTime);
+        setDoubleOrNull(pstmt, 6, finishTime);
+        setDoubleOrNull(pstmt, 7, dueDate);
+    }
+
+    private static void deleteResults(Connection conn, long runId, String algorithm) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "DELETE FROM job_results WHERE run_id = ? AND algorithm = ?")) {
+            pstmt.setLong(1, runId);
+            pstmt.setString(2, algorithm);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void setDoubleOrNull(PreparedStatement pstmt, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            pstmt.setNull(index, Types.DOUBLE);
+        } else {
+            pstmt.setDouble(index, value);
+        }
+    }
+
+    /**
+     * Aggregates of one algorithm in one run, or null if it saved nothing.
+     */
+    public RunSummary getSummary(long runId, String algorithm) {
+        List<RunSummary> summaries = querySummaries(runId, algorithm);
+        return summaries.isEmpty() ? null : summaries.get(0);
+    }
+
+    /**
+     * Aggregates of every algorithm in one run, by algorithm name.
+     */
+    public List<RunSummary> getSummaries(long runId) {
+        return querySummaries(runId, null);
+    }
+
+    private List<RunSummary> querySummaries(long runId, String algorithm) {
+        List<RunSummary> summaries = new ArrayList<>();
+        String sql = SUMMARY_SQL + (algorithm != null ? " AND algorithm = ?" : "")
+                + " GROUP BY algorithm ORDER BY algorithm";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, runId);
+            if (algorithm != null) {
+                pstmt.setString(2, algorithm);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(new RunSummary(runId, rs.getString("algorithm"),
+                            rs.getInt("jobs"), rs.getInt("finished"),
+                            rs.getDouble("makespan"), rs.getDouble("total_flow_time"),
+                            rs.getDouble("total_tardiness"), rs.getInt("late_jobs"),
+                            rs.getDouble("max_tardiness")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error summarizing run " + runId + ": " + e.getMessage());
+        }
+        return summaries;
+    }
+
+    public void deleteRun(long runId) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM simulation_runs WHERE run_id = ?")) {
+            pstmt.setLong(1, runId);
+            pstmt.executeUpdate();
+            System.out.println("✅ Deleted simulation run " + runId);
+        } catch (SQLException e) {
+            System.err.println("❌ Error deleting simulation run " + runId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * One job_results row. NaN and {@link JobTable#NO_VM} are stored as NULL.
+     */
+    public static final class JobResult {
+        private final long runId;
+        private final String algorithm;
+        private final int jobId;
+        private final int vmId;
+        private final double startTime;
+        private final double finishTime;
+        private final double dueDate;
+
+        public JobResult(long runId, String algorithm, int jobId, int vmId,
+                         double startTime, double finishTime, double dueDate) {
+            this.runId = runId;
+            this.algorithm = algorithm;
+            this.jobId = jobId;
+            this.vmId = vmId;
+            this.startTime = startTime;
+            this.finishTime = finishTime;
+            this.dueDate = dueDate;
+        }
+
+        public long getRunId() {
+            return runId;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public int getJobId() {
+            return jobId;
+        }
+
+        public int getVmId() {
+            return vmId;
+        }
+
+        public double getStartTime() {
+            return startTime;
+        }
+
+        public double getFinishTime() {
+            return finishTime;
+        }
+
+        public double getDueDate() {
+            return dueDate;
+        }
+    }
+
+    /**
+     * Per-algorithm aggregates of one run.
+     */
+    public static final class RunSummary {
+        private final long runId;
+        private final String algorithm;
+        private final int jobs;
+        private final int finishedJobs;
+        private final double makespan;
+        private final double totalFlowTime;
+        private final double totalTardiness;
+        private final int lateJobs;
+        private final double maxTardiness;
+
+        RunSummary(long runId, String algorithm, int jobs, int finishedJobs, double makespan,
+                   double totalFlowTime, double totalTardiness, int lateJobs, double maxTardiness) {
+            this.runId = runId;
+            this.algorithm = algorithm;
+            this.jobs = jobs;
+            this.finishedJobs = finishedJobs;
+            this.makespan = makespan;
+            this.totalFlowTime = totalFlowTime;
+            this.totalTardiness = totalTardiness;
+            this.lateJobs = lateJobs;
+            this.maxTardiness = maxTardiness;
+        }
+
+        public long getRunId() {
+            return runId;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public int getJobs() {
+            return jobs;
+        }
+
+        public int getFinishedJobs() {
+            return finishedJobs;
+        }
+
+        public double getMakespan() {
+            return makespan;
+        }
+
+        public double getTotalFlowTime() {
+            return totalFlowTime;
+        }
+
+        public double getTotalTardiness() {
+            return totalTardiness;
+        }
+
+        public int getLateJobs() {
+            return lateJobs;
+        }
+
+        public double getMaxTardiness() {
+            return maxTardiness;
+        }
+
+        public double getLatePercentage() {
+            return jobs > 0 ? lateJobs * 100.0 / jobs : 0;
+        }
+
+        // Over every job, on-time ones counting zero
+        public double getMeanTardiness() {
+            return jobs > 0 ? totalTardiness / jobs : 0;
+        }
+    }
+}
@@ -2,17 +2,57 @@ package com.cloudscheduling.dao;
 
 import com.cloudscheduling.db.DatabaseConfig;
 import com.cloudscheduling.model.VirtualMachine;
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class VirtualMachineDAO {
+    private final DataSource dataSource;
+    private final WorkloadCache cache;
+
+    // ✅ Uses the shared pool from DatabaseConfig and the shared WorkloadCache
+    public VirtualMachineDAO() {
+        this(DatabaseConfig.getDataSource());
+    }
+
+    public VirtualMachineDAO(DataSource dataSource) {
+        this(dataSource, WorkloadCache.shared());
+    }
+
+    public VirtualMachineDAO(DataSource dataSource, WorkloadCache cache) {
+        this.dataSource = dataSource;
+        this.cache = cache;
+    }
     
+    /**
+     * The VM catalog, read through the WorkloadCache. VirtualMachine is mutable, so every
+     * call gets its own copies. The fallback VMs are never cached.
+     */
     public List<VirtualMachine> getAllVMs() {
+        List<VirtualMachine> vms;
+        try {
+            List<VirtualMachine> cached = cache.get(WorkloadCache.VMS, "all", this::loadVMs,
+                    list -> 128L * list.size());
+            vms = new ArrayList<>(cached.size());
+            for (VirtualMachine vm : cached) {
+                vms.add(new VirtualMachine(vm.getVmId(), vm.getVmName(), vm.getMips(), vm.getRam(),
+                        vm.getBandwidth(), vm.getPesNumber(), vm.getStorage()));
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading virtual machines: " + e.getMessage());
+            // Fallback to in-memory generation if database fails
+            vms = generateFallbackVMs();
+        }
+        
+        return vms;
+    }
+
+    private List<VirtualMachine> loadVMs() throws SQLException {
         List<VirtualMachine> vms = new ArrayList<>();
         String sql = "SELECT * FROM virtual_machines ORDER BY vm_id";
         
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
@@ -30,11 +70,6 @@ public class VirtualMachineDAO {
             }
             
             System.out.println("✅ Loaded " + vms.size() + " virtual machines from database");
-            
-        } catch (SQLException e) {
-            System.err.println("❌ Error loading virtual machines: " + e.getMessage());
-            // Fallback to in-memory generation if database fails
-            vms = generateFallbackVMs();
         }
         
         return vms;
@@ -43,7 +78,7 @@ public class VirtualMachineDAO {
     public void saveVMs(List<VirtualMachine> vms) {
         String sql = "INSERT INTO virtual_machines (vm_name, mips, ram, bandwidth, pes_number, storage) VALUES (?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             for (VirtualMachine vm : vms) {
@@ -61,6 +96,8 @@ public class VirtualMachineDAO {
             
         } catch (SQLException e) {
             System.err.println("❌ Error saving virtual machines: " + e.getMessage());
+        } finally {
+            cache.invalidate(WorkloadCache.VMS);
         }
     }
     
@@ -0,0 +1,192 @@
+package com.cloudscheduling.dao;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Read-through cache for the static scheduling inputs: cloud_jobs rows, deadlines and the
+ * virtual_machines catalog, so repeated runs in one JVM read them from the database once.
+ * <p>
+ * Every table has a version, bumped by {@link #invalidate}, and entries are keyed by
+ * (table, version, query). The DAO writes that change a table (deadline updates, finish
+ * times, saveVMs) invalidate it, so a load that races with a write is stored under the
+ * old version and never served again. Writes from outside this JVM are not seen: call
+ * {@code invalidate} after changing the tables by hand.
+ * <p>
+ * Eviction is LRU, bounded by the estimated bytes of the cached values
+ * ({@code -Dcache.maxMB}, 128 by default). Values are shared, so the DAOs hand out copies.
+ */
+public final class WorkloadCache {
+
+    public static final String JOBS = "cloud_jobs";
+    public static final String VMS = "virtual_machines";
+
+    private static WorkloadCache shared;
+
+    private final long maxBytes;
+    private final Map<String, Long> versions = new HashMap<>();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public WorkloadCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The cache every DAO uses by default.
+     */
+    public static synchronized WorkloadCache shared() {
+        if (shared == null) {
+            shared = new WorkloadCache(Long.parseLong(System.getProperty("cache.maxMB", "128")) << 20);
+        }
+        return shared;
+    }
+
+    /**
+     * Loads a value from the database on a miss.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    private static final class Entry {
+        private final String table;
+        private final Object value;
+        private final long weight;
+
+        Entry(String table, Object value, long weight) {
+            this.table = table;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * The cached value of {@code query} on {@code table}, loading and caching it on a miss.
+     * The load runs outside the lock, so a slow query does not block other tables.
+     */
+    public <T> T get(String table, String query, Loader<T> loader, ToLongFunction<T> weigher) throws SQLException {
+        long version = version(table);
+        T value = getIfPresent(table, version, query);
+        if (value == null) {
+            value = loader.load();
+            put(table, version, query, value, weigher.applyAsLong(value));
+        }
+        return value;
+    }
+
+    /**
+     * Current version of the table; pass it to {@link #put} for a value loaded after this call.
+     */
+    public synchronized long version(String table) {
+        return versions.getOrDefault(table, 0L);
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T getIfPresent(String table, long version, String query) {
+        Entry entry = entries.get(key(table, version, query));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return (T) entry.value;
+    }
+
+    /**
+     * Caches a value loaded at {@code version}; ignored if the table changed since, or if the
+     * value alone is over the size bound.
+     */
+    public synchronized void put(String table, long version, String query, Object value, long weight) {
+        if (value == null || version != version(table) || weight > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key(table, version, query), new Entry(table, value, weight));
+        if (previous != null) {
+            bytes -= previous.weight;
+        }
+        bytes += weight;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().weight;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Drops everything cached for the table and moves it to a new version.
+     */
+    public synchronized void invalidate(String table) {
+        versions.put(table, version(table) + 1);
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.table.equals(table)) {
+                bytes -= entry.weight;
+                it.remove();
+            }
+        }
+        invalidations++;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Rough heap bytes of a boxed job_id to deadline map.
+     */
+    public static long weighDeadlines(Map<Integer, Double> deadlines) {
+        return 96L * deadlines.size();
+    }
+
+    private static String key(String table, long version, String query) {
+        return table + '@' + version + ':' + query;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("workload cache %d entries, %.1f/%d MB | %d hits, %d misses, %d evictions, %d invalidations",
+                entries.size(), bytes / 1048576.0, maxBytes >> 20, hits, misses, evictions, invalidations);
+    }
+}
@@ -0,0 +1,358 @@
+package com.cloudscheduling.dao;
+
+import com.cloudscheduling.db.DatabaseConfig;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded write-behind queue, so the simulation thread hands rows over and moves on while
+ * writer threads persist them.
+ * <p>
+ * Each writer takes whatever is queued, up to {@code maxBatch} rows, and passes it to the
+ * {@link BatchWriter} as one batch. When the queue is full {@link #submit} blocks until a
+ * writer catches up; how often and for how long is reported as backpressure. A batch whose
+ * write throws is counted as failed and dropped, not retried.
+ * <p>
+ * Writers are virtual threads when the JVM has them (Java 21+) and daemon platform threads
+ * otherwise. {@link #close} writes everything still queued; it also runs at JVM exit, before
+ * the shared pool closes.
+ */
+public final class WriteBehindQueue<T> implements AutoCloseable {
+
+    private static final long POLL_MILLIS = 100;
+    private static final long CLOSE_TIMEOUT_MILLIS = 60_000;
+
+    // Thread.startVirtualThread is Java 21; the build targets 17, so it is looked up at run time
+    private static final Method START_VIRTUAL_THREAD = findStartVirtualThread();
+
+    /**
+     * Persists one batch of rows; an exception fails the whole batch.
+     */
+    @FunctionalInterface
+    public interface BatchWriter<T> {
+        void write(List<T> batch) throws SQLException;
+    }
+
+    private final String name;
+    private final int capacity;
+    private final int maxBatch;
+    private final BatchWriter<T> writer;
+    private final BlockingQueue<T> queue;
+    private final int writerCount;
+    private final boolean virtualWriters;
+    private final Runnable shutdownFlush = this::close;
+    private volatile boolean closed;
+
+    // Rows submitted but not yet written or dropped
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private final Condition drained = pendingLock.newCondition();
+    private long pending;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final AtomicLong backpressureWaits = new AtomicLong();
+    private final AtomicLong backpressureNanos = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+    private final AtomicInteger peakDepth = new AtomicInteger();
+
+    public WriteBehindQueue(String name, int capacity, int maxBatch, int writers, BatchWriter<T> writer) {
+        if (capacity <= 0 || maxBatch <= 0 || writers <= 0) {
+            throw new IllegalArgumentException("Capacity, batch size and writers must be positive: "
+                    + capacity + ", " + maxBatch + ", " + writers);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.maxBatch = maxBatch;
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writerCount = writers;
+
+        boolean virtual = true;
+        for (int i = 0; i < writers; i++) {
+            virtual &= startWriter(name + "-writer-" + i);
+        }
+        this.virtualWriters = virtual;
+        DatabaseConfig.onShutdown(shutdownFlush);
+    }
+
+    /**
+     * Queues a row, blocking while the queue is full.
+     */
+    public void submit(T row) {
+        if (closed) {
+            throw new IllegalStateException(name + " is closed");
+        }
+        addPending(1);
+        if (!queue.offer(row)) {
+            backpressureWaits.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                queue.put(row);
+            } catch (InterruptedException e) {
+                addPending(-1);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for room in " + name, e);
+            } finally {
+                backpressureNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+        submitted.incrementAndGet();
+        peakDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    /**
+     * Waits until every row submitted so far is written or dropped; false on timeout.
+     */
+    public boolean flush(long timeoutMillis) {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        pendingLock.lock();
+        try {
+            while (pending > 0) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = drained.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting rows and writes what is queued; the writers exit once it is empty.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        DatabaseConfig.removeShutdownTask(shutdownFlush);
+        if (!flush(CLOSE_TIMEOUT_MILLIS)) {
+            System.err.println("⚠️ " + name + ": " + getPending() + " rows still unwritten after "
+                    + CLOSE_TIMEOUT_MILLIS / 1000 + " s");
+        }
+    }
+
+    private void drain() {
+        List<T> batch = new ArrayList<>(Math.min(maxBatch, 1024));
+        while (true) {
+            T first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                first = null;
+            }
+            if (first == null) {
+                // A row may still be on its way in from a submit that passed the closed check
+                if (closed && getPending() == 0) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, maxBatch - 1);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<T> batch) {
+        long start = System.nanoTime();
+        try {
+            writer.write(batch);
+            written.addAndGet(batch.size());
+        } catch (SQLException | RuntimeException e) {
+            failedBatches.incrementAndGet();
+            failedRows.addAndGet(batch.size());
+            System.err.println("❌ " + name + ": dropped a batch of " + batch.size() + " rows: " + e.getMessage());
+        } finally {
+            batches.incrementAndGet();
+            writeNanos.addAndGet(System.nanoTime() - start);
+            addPending(-batch.size());
+        }
+    }
+
+    private void addPending(long rows) {
+        pendingLock.lock();
+        try {
+            pending += rows;
+            if (pending == 0) {
+                drained.signalAll();
+            }
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    private long getPending() {
+        pendingLock.lock();
+        try {
+            return pending;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    // True if the writer is a virtual thread
+    private boolean startWriter(String threadName) {
+        if (START_VIRTUAL_THREAD != null) {
+            try {
+                Thread thread = (Thread) START_VIRTUAL_THREAD.invoke(null, (Runnable) this::drain);
+                thread.setName(threadName);
+                return true;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Preview-only on Java 19 and 20: use a platform thread
+            }
+        }
+        Thread thread = new Thread(this::drain, threadName);
+        thread.setDaemon(true);
+        thread.start();
+        return false;
+    }
+
+    private static Method findStartVirtualThread() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(name, capacity, queue.size(), peakDepth.get(), writerCount, virtualWriters,
+                submitted.get(), written.get(), batches.get(), failedBatches.get(), failedRows.get(),
+                backpressureWaits.get(), backpressureNanos.get() / 1e6, writeNanos.get() / 1e6);
+    }
+
+    /**
+     * Point-in-time counters of a queue.
+     */
+    public static final class Metrics {
+        private final String name;
+        private final int capacity;
+        private final int depth;
+        private final int peakDepth;
+        private final int writers;
+        private final boolean virtualWriters;
+        private final long submitted;
+        private final long written;
+        private final long batches;
+        private final long failedBatches;
+        private final long failedRows;
+        private final long backpressureWaits;
+        private final double backpressureMs;
+        private final double writeMs;
+
+        Metrics(String name, int capacity, int depth, int peakDepth, int writers, boolean virtualWriters,
+                long submitted, long written, long batches, long failedBatches, long failedRows,
+                long backpressureWaits, double backpressureMs, double writeMs) {
+            this.name = name;
+            this.capacity = capacity;
+            this.depth = depth;
+            this.peakDepth = peakDepth;
+            this.writers = writers;
+            this.virtualWriters = virtualWriters;
+            this.submitted = submitted;
+            this.written = written;
+            this.batches = batches;
+            this.failedBatches = failedBatches;
+            this.failedRows = failedRows;
+            this.backpressureWaits = backpressureWaits;
+            this.backpressureMs = backpressureMs;
+            this.writeMs = writeMs;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getPeakDepth() {
+            return peakDepth;
+        }
+
+        public int getWriters() {
+            return writers;
+        }
+
+        public boolean isVirtualWriters() {
+            return virtualWriters;
+        }
+
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public long getWritten() {
+            return written;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        public double getAverageBatchSize() {
+            return batches > 0 ? (written + failedRows) / (double) batches : 0;
+        }
+
+        public long getFailedBatches() {
+            return failedBatches;
+        }
+
+        public long getFailedRows() {
+            return failedRows;
+        }
+
+        public long getBackpressureWaits() {
+            return backpressureWaits;
+        }
+
+        public double getBackpressureMs() {
+            return backpressureMs;
+        }
+
+        public double getWriteMs() {
+            return writeMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("write-behind %s: %d submitted, %d written in %d batches (avg %.0f), "
+                            + "%d failed batches (%d rows) | depth %d/%d, peak %d | %d backpressure waits, "
+                            + "%.2f ms blocked | %d %s writers, %.2f ms writing",
+                    name, submitted, written, batches, getAverageBatchSize(), failedBatches, failedRows,
+                    depth, capacity, peakDepth, backpressureWaits, backpressureMs, writers,
+                    virtualWriters ? "virtual" : "platform", writeMs);
+        }
+    }
+}
@@ -0,0 +1,561 @@
+package com.cloudscheduling.db;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Bounded JDBC connection pool, shared by the DAOs so a run reuses a few open sessions
+ * instead of paying TCP and authentication setup on every call.
+ * <p>
+ * At most {@code maxSize} connections exist at once; a borrower waits up to
+ * {@code borrowTimeoutMillis} for one to come back. A connection that sat idle for longer
+ * than {@code validationIntervalMillis} is checked with {@link Connection#isValid} before it
+ * is handed out and replaced if the server dropped it.
+ * <p>
+ * Borrowed connections are proxies: {@code close()} rolls back any open transaction,
+ * restores auto-commit and returns the connection to the pool. {@code prepareStatement(sql)}
+ * is served from a per-connection LRU cache of {@code statementCacheSize} statements; closing
+ * a cached statement closes its open result set, clears its parameters and batch, and puts
+ * fetch size, max rows and query timeout back to the driver defaults, so the next borrower
+ * does not inherit them. A statement that cannot be reset is closed and prepared again.
+ * Statements the borrower leaves open are reset the same way when the connection is returned,
+ * and closed if they were not cached; their proxies are dead from then on.
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+
+    private final String url;
+    private final Properties connectionProperties;
+    private final int maxSize;
+    private final int statementCacheSize;
+    private final long borrowTimeoutMillis;
+    private final long validationIntervalMillis;
+
+    private final Semaphore permits;
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    public ConnectionPool(String url, Properties connectionProperties, int maxSize, int statementCacheSize,
+                          long borrowTimeoutMillis, long validationIntervalMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxSize);
+        }
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.maxSize = maxSize;
+        this.statementCacheSize = statementCacheSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for one of " + maxSize + " pooled connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+        waitNanos.addAndGet(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(DriverManager.getConnection(url, connectionProperties));
+                created.incrementAndGet();
+            }
+            borrowed.incrementAndGet();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // An idle connection that still works, or null when a new one must be opened
+    private PooledConnection takeIdle() {
+        while (true) {
+            PooledConnection pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - pooled.lastUsed < validationIntervalMillis || pooled.isValid()) {
+                return pooled;
+            }
+            validationFailures.incrementAndGet();
+            pooled.closePhysical();
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        pooled.reclaimStatements();
+        boolean reusable = !closed && pooled.reset();
+        if (reusable) {
+            pooled.lastUsed = System.currentTimeMillis();
+            synchronized (idle) {
+                idle.addFirst(pooled);
+            }
+        } else {
+            pooled.closePhysical();
+        }
+        permits.release();
+    }
+
+    /**
+     * Closes the idle connections; connections still borrowed are closed when returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        List<PooledConnection> drained;
+        synchronized (idle) {
+            drained = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (PooledConnection pooled : drained) {
+            pooled.closePhysical();
+        }
+    }
+
+    public Metrics getMetrics() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        return new Metrics(maxSize, maxSize - permits.availablePermits(), idleCount, created.get(),
+                borrowed.get(), waitNanos.get() / 1e6, timeouts.get(), validationFailures.get(),
+                statementHits.get(), statementMisses.get());
+    }
+
+    /**
+     * Snapshot of the pool counters.
+     */
+    public static final class Metrics {
+        private final int maxSize;
+        private final int active;
+        private final int idle;
+        private final long created;
+        private final long borrowed;
+        private final double totalWaitMs;
+        private final long timeouts;
+        private final long validationFailures;
+        private final long statementHits;
+        private final long statementMisses;
+
+        Metrics(int maxSize, int active, int idle, long created, long borrowed, double totalWaitMs,
+                long timeouts, long validationFailures, long statementHits, long statementMisses) {
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.created = created;
+            this.borrowed = borrowed;
+            this.totalWaitMs = totalWaitMs;
+            this.timeouts = timeouts;
+            this.validationFailures = validationFailures;
+            this.statementHits = statementHits;
+            this.statementMisses = statementMisses;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getBorrowed() {
+            return borrowed;
+        }
+
+        public double getTotalWaitMs() {
+            return totalWaitMs;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public long getValidationFailures() {
+            return validationFailures;
+        }
+
+        public long getStatementHits() {
+            return statementHits;
+        }
+
+        public long getStatementMisses() {
+            return statementMisses;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("pool %d/%d active, %d idle | %d opened for %d borrows, %.2f ms waiting, "
+                            + "%d timeouts, %d dropped as invalid | statements %d cached, %d prepared",
+                    active, maxSize, idle, created, borrowed, totalWaitMs, timeouts, validationFailures,
+                    statementHits, statementMisses);
+        }
+    }
+
+    /**
+     * One physical connection with its statement cache. Only one borrower holds it at a time.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final LinkedHashMap<String, CachedStatement> statements;
+        // Prepared outside the cache for the current lease; closed when it is returned
+        private final List<PreparedStatement> uncached = new ArrayList<>();
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= statementCacheSize || eldest.getValue().inUse) {
+                        return false;
+                    }
+                    eldest.getValue().closePhysical();
+                    return true;
+                }
+            };
+        }
+
+        Connection lease() {
+            Lease lease = new Lease(this);
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, lease);
+        }
+
+        PreparedStatement prepare(String sql) throws SQLException {
+            if (statementCacheSize <= 0) {
+                return track(physical.prepareStatement(sql));
+            }
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && !cached.inUse && cached.physical.isClosed()) {
+                // Its reset failed on the last close
+                statements.remove(sql);
+                cached = null;
+            }
+            if (cached != null && !cached.inUse) {
+                statementHits.incrementAndGet();
+            } else {
+                statementMisses.incrementAndGet();
+                PreparedStatement statement = physical.prepareStatement(sql);
+                if (cached != null) {
+                    // Same SQL already open on this lease: hand out an uncached statement
+                    return track(statement);
+                }
+                cached = new CachedStatement(statement);
+                statements.put(sql, cached);
+            }
+            cached.inUse = true;
+            return cached.lease();
+        }
+
+        private PreparedStatement track(PreparedStatement statement) {
+            uncached.add(statement);
+            return statement;
+        }
+
+        // Takes back whatever statements the lease being returned still has open
+        void reclaimStatements() {
+            for (CachedStatement cached : statements.values()) {
+                cached.reclaim();
+            }
+            for (PreparedStatement statement : uncached) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    System.err.println("❌ Error closing statement: " + e.getMessage());
+                }
+            }
+            uncached.clear();
+        }
+
+        boolean isValid() {
+            try {
+                return physical.isValid(2);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // Back to a clean session; false if the connection is not worth keeping
+        boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                System.err.println("⚠️ Dropping pooled connection: " + e.getMessage());
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            for (CachedStatement cached : statements.values()) {
+                cached.closePhysical();
+            }
+            statements.clear();
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                System.err.println("❌ Error closing pooled connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The borrower's view of a pooled connection; dead after {@code close()}.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean released;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + pooled.physical;
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Connection already returned to the pool");
+            }
+            if (name.equals("prepareStatement") && args != null && args.length == 1) {
+                return pooled.prepare((String) args[0]);
+            }
+            return forward(pooled.physical, method, args);
+        }
+    }
+
+    private final class CachedStatement {
+        private final PreparedStatement physical;
+        private final int defaultFetchSize;
+        private final int defaultMaxRows;
+        private final int defaultQueryTimeout;
+        private boolean inUse;
+        private StatementLease current;
+
+        CachedStatement(PreparedStatement physical) throws SQLException {
+            this.physical = physical;
+            this.defaultFetchSize = physical.getFetchSize();
+            this.defaultMaxRows = physical.getMaxRows();
+            this.defaultQueryTimeout = physical.getQueryTimeout();
+        }
+
+        PreparedStatement lease() {
+            current = new StatementLease();
+            return (PreparedStatement) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, current);
+        }
+
+        // The borrower's connection was returned with this statement still open
+        void reclaim() {
+            if (inUse) {
+                current.giveBack();
+            }
+        }
+
+        /**
+         * The borrower's view of a cached statement; dead after {@code close()} or once its
+         * connection is returned.
+         */
+        private final class StatementLease implements InvocationHandler {
+            private boolean released;
+
+            void giveBack() {
+                if (!released) {
+                    released = true;
+                    reset();
+                    inUse = false;
+                }
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        giveBack();
+                        return null;
+                    case "isClosed":
+                        return released || physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        if (released) {
+                            throw new SQLException("Statement already closed");
+                        }
+                        return forward(physical, method, args);
+                }
+            }
+        }
+
+        // Back to the state it was prepared in; closed instead if that fails
+        private void reset() {
+            try {
+                ResultSet open = physical.getResultSet();
+                if (open != null) {
+                    open.close();
+                }
+                physical.clearParameters();
+                physical.clearBatch();
+                physical.clearWarnings();
+                if (physical.getFetchSize() != defaultFetchSize) {
+                    physical.setFetchSize(defaultFetchSize);
+                }
+                if (physical.getMaxRows() != defaultMaxRows) {
+                    physical.setMaxRows(defaultMaxRows);
+                }
+                if (physical.getQueryTimeout() != defaultQueryTimeout) {
+                    physical.setQueryTimeout(defaultQueryTimeout);
+                }
+            } catch (SQLException e) {
+                System.err.println("⚠️ Dropping cached statement: " + e.getMessage());
+                closePhysical();
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                System.err.println("❌ Error closing cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Remaining DataSource methods: the pool has fixed credentials and logs to stdout
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("The pool connects with its configured credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("No java.util.logging support");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + type.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) {
+        return type.isInstance(this);
+    }
+}
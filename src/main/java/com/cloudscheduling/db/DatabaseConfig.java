@@ -1,15 +1,30 @@
 package com.cloudscheduling.db;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Connection settings and the {@link ConnectionPool} every DAO shares by default.
+ * <p>
+ * Each setting is read from a system property, then an environment variable, then the
+ * default: {@code db.url} / {@code DB_URL}, {@code db.user} / {@code DB_USER},
+ * {@code db.password} / {@code DB_PASSWORD}, {@code db.pool.size} / {@code DB_POOL_SIZE} (8),
+ * {@code db.pool.statementCache} (64 per connection), {@code db.pool.timeoutMs} (30000) and
+ * {@code db.pool.validateAfterMs} (idle time before a connection is re-checked, 30000).
+ */
 public class DatabaseConfig {
 
-    // ✅ Update these to match your pgAdmin settings
-    private static final String URL = "jdbc:postgresql://localhost:5432/cloud_scheduling";
-    private static final String USERNAME = "postgres";
+    // ✅ Update these to match your pgAdmin settings, or override them as above
+    private static final String URL = setting("db.url", "jdbc:postgresql://localhost:5432/cloud_scheduling");
+    private static final String USERNAME = setting("db.user", "postgres");
+    private static final String PASSWORD = setting("db.password", "1234");
+
+    private static ConnectionPool pool;
+    private static final List<Runnable> shutdownTasks = new CopyOnWriteArrayList<>();
+    private static boolean shutdownHookRegistered;
 
     static {
         try {
@@ -20,15 +35,77 @@ public class DatabaseConfig {
         }
     }
 
-    public static Connection getConnection() {
-        try {
+    private static String setting(String property, String defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            value = System.getenv(property.toUpperCase().replace('.', '_'));
+        }
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * The shared pool, opened on first use and closed when the JVM exits.
+     */
+    public static synchronized ConnectionPool getDataSource() {
+        if (pool == null) {
             Properties props = new Properties();
             props.setProperty("user", USERNAME);
+            props.setProperty("password", PASSWORD);
             props.setProperty("ssl", "false");
+            pool = new ConnectionPool(URL, props,
+                    Integer.parseInt(setting("db.pool.size", "8")),
+                    Integer.parseInt(setting("db.pool.statementCache", "64")),
+                    Long.parseLong(setting("db.pool.timeoutMs", "30000")),
+                    Long.parseLong(setting("db.pool.validateAfterMs", "30000")));
+            registerShutdownHook();
+        }
+        return pool;
+    }
+
+    /**
+     * Runs {@code task} at JVM exit, before the shared pool closes, so pending writes can
+     * still borrow connections.
+     */
+    public static synchronized void onShutdown(Runnable task) {
+        shutdownTasks.add(task);
+        registerShutdownHook();
+    }
+
+    public static void removeShutdownTask(Runnable task) {
+        shutdownTasks.remove(task);
+    }
+
+    // JVM hooks run in no particular order, so the tasks and the pool share one
+    private static synchronized void registerShutdownHook() {
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConfig::shutdown, "db-pool-shutdown"));
+            shutdownHookRegistered = true;
+        }
+    }
+
+    private static void shutdown() {
+        for (Runnable task : shutdownTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("❌ Shutdown task failed: " + e.getMessage());
+            }
+        }
+        ConnectionPool opened;
+        synchronized (DatabaseConfig.class) {
+            opened = pool;
+        }
+        if (opened != null) {
+            opened.close();
+        }
+    }
 
-            Connection connection = DriverManager.getConnection(URL, props);
-            System.out.println("✅ Database connection established successfully!");
-            return connection;
+    /**
+     * Borrows a pooled connection; closing it returns it to the pool.
+     */
+    public static Connection getConnection() {
+        try {
+            return getDataSource().getConnection();
         } catch (SQLException e) {
             System.err.println("❌ Failed to connect to database: " + e.getMessage());
             System.out.println("⚠️ Using in-memory data instead (if available).");
@@ -40,19 +117,26 @@ public class DatabaseConfig {
         if (connection != null) {
             try {
                 connection.close();
-                System.out.println("✅ Database connection closed!");
+                System.out.println("✅ Database connection returned to the pool!");
             } catch (SQLException e) {
                 System.err.println("❌ Error closing database connection: " + e.getMessage());
             }
         }
     }
 
+    public static void printPoolMetrics() {
+        if (pool != null) {
+            System.out.println("📊 DB " + pool.getMetrics());
+        }
+    }
+
     public static void testConnection() {
         try (Connection conn = getConnection()) {
             if (conn != null && !conn.isClosed()) {
                 System.out.println("✅ Database connection test: SUCCESS");
                 System.out.println("   URL: " + URL);
                 System.out.println("   User: " + USERNAME);
+                System.out.println("   Pool size: " + getDataSource().getMaxSize());
             } else {
                 System.out.println("❌ Database connection test: FAILED");
             }
@@ -61,4 +145,3 @@ public class DatabaseConfig {
         }
     }
 }
-
@@ -1,20 +1,12 @@
 package com.cloudscheduling.db;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseConnection {
-    private static final String URL = "jdbc:postgresql://localhost:5432/cloud_scheduling";
-    private static final String USER = "postgres";
-    private static final String PASSWORD = "1234";
 
+    // Borrows from the shared pool; closing the connection returns it
     public static Connection getConnection() throws SQLException {
-        try {
-            Class.forName("org.postgresql.Driver");
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("PostgreSQL JDBC Driver not found", e);
-        }
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return DatabaseConfig.getDataSource().getConnection();
     }
-}
\ No newline at end of file
+}
@@ -1,133 +1,159 @@
 package com.cloudscheduling.model;
 
+/**
+ * A cloud job. Since the move to {@link JobTable} this is a thin view onto one table
+ * row: the standalone constructors create a private one-row table, and the DAOs hand
+ * out views onto a shared table. Boxed getters return {@code null} where the table
+ * holds its sentinel ({@code NaN} or {@link JobTable#NO_VM}).
+ */
 public class CloudJob {
-    private int jobId;
-    private String jobName;
-    private long jobLength;
-    private int priority;
-    private double arrivalTime;
-    private double dueDate;
-    private Integer assignedVmId;
-    private Double startTime;
-    private Double finishTime;
-    private Double waitingTime;
-    private Double cpuTime;
+    private final JobTable table;
+    private final int row;
 
     // Default constructor (required for your getAllJobs method)
     public CloudJob() {
+        this.table = new JobTable(1);
+        this.row = table.addJob(0, null, 0L, 0, Double.NaN, Double.NaN);
     }
 
     // Your existing constructor (keep this for backward compatibility)
     public CloudJob(int jobId, String jobName, long jobLength, int priority, 
                    Double arrivalTime, Double dueDate, Double finishTime) {
-        this.jobId = jobId;
-        this.jobName = jobName;
-        this.jobLength = jobLength;
-        this.priority = priority;
-        this.arrivalTime = arrivalTime != null ? arrivalTime : 0.0;
-        this.dueDate = dueDate != null ? dueDate : 0.0;
-        this.finishTime = finishTime;
+        this.table = new JobTable(1);
+        this.row = table.addJob(jobId, jobName, jobLength, priority,
+                arrivalTime != null ? arrivalTime : Double.NaN,
+                dueDate != null ? dueDate : Double.NaN);
+        if (finishTime != null) {
+            table.setFinishTime(row, finishTime);
+        }
+    }
+
+    // View onto an existing table row
+    CloudJob(JobTable table, int row) {
+        this.table = table;
+        this.row = row;
+    }
+
+    public JobTable getTable() {
+        return table;
+    }
+
+    public int getRow() {
+        return row;
     }
 
     // Getters and Setters for all fields
     public int getJobId() {
-        return jobId;
+        return table.getJobId(row);
     }
 
     public void setJobId(int jobId) {
-        this.jobId = jobId;
+        table.setJobId(row, jobId);
     }
 
     public String getJobName() {
-        return jobName;
+        return table.getJobName(row);
     }
 
     public void setJobName(String jobName) {
-        this.jobName = jobName;
+        table.setJobName(row, jobName);
     }
 
     public long getJobLength() {
-        return jobLength;
+        return table.getJobLength(row);
     }
 
     public void setJobLength(long jobLength) {
-        this.jobLength = jobLength;
+        table.setJobLength(row, jobLength);
     }
 
     public int getPriority() {
-        return priority;
+        return table.getPriority(row);
     }
 
     public void setPriority(int priority) {
-        this.priority = priority;
+        table.setPriority(row, priority);
     }
 
     public double getArrivalTime() {
-        return arrivalTime;
+        return orZero(table.getArrivalTime(row));
     }
 
     public void setArrivalTime(double arrivalTime) {
-        this.arrivalTime = arrivalTime;
+        table.setArrivalTime(row, arrivalTime);
     }
 
     public double getDueDate() {
-        return dueDate;
+        return orZero(table.getDueDate(row));
     }
 
     public void setDueDate(double dueDate) {
-        this.dueDate = dueDate;
+        table.setDueDate(row, dueDate);
     }
 
     public Integer getAssignedVmId() {
-        return assignedVmId;
+        int vmId = table.getAssignedVmId(row);
+        return vmId == JobTable.NO_VM ? null : vmId;
     }
 
     public void setAssignedVmId(Integer assignedVmId) {
-        this.assignedVmId = assignedVmId;
+        table.setAssignedVmId(row, assignedVmId != null ? assignedVmId : JobTable.NO_VM);
     }
 
     public Double getStartTime() {
-        return startTime;
+        return boxed(table.getStartTime(row));
     }
 
     public void setStartTime(Double startTime) {
-        this.startTime = startTime;
+        table.setStartTime(row, unboxed(startTime));
     }
 
     public Double getFinishTime() {
-        return finishTime;
+        return boxed(table.getFinishTime(row));
     }
 
     public void setFinishTime(Double finishTime) {
-        this.finishTime = finishTime;
+        table.setFinishTime(row, unboxed(finishTime));
     }
 
     public Double getWaitingTime() {
-        return waitingTime;
+        return boxed(table.getWaitingTime(row));
     }
 
     public void setWaitingTime(Double waitingTime) {
-        this.waitingTime = waitingTime;
+        table.setWaitingTime(row, unboxed(waitingTime));
     }
 
     public Double getCpuTime() {
-        return cpuTime;
+        return boxed(table.getCpuTime(row));
     }
 
     public void setCpuTime(Double cpuTime) {
-        this.cpuTime = cpuTime;
+        table.setCpuTime(row, unboxed(cpuTime));
+    }
+
+    private static double orZero(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static double unboxed(Double value) {
+        return value != null ? value : Double.NaN;
     }
 
     @Override
     public String toString() {
         return "CloudJob{" +
-                "jobId=" + jobId +
-                ", jobName='" + jobName + '\'' +
-                ", jobLength=" + jobLength +
-                ", priority=" + priority +
-                ", arrivalTime=" + arrivalTime +
-                ", dueDate=" + dueDate +
-                ", finishTime=" + finishTime +
+                "jobId=" + getJobId() +
+                ", jobName='" + getJobName() + '\'' +
+                ", jobLength=" + getJobLength() +
+                ", priority=" + getPriority() +
+                ", arrivalTime=" + getArrivalTime() +
+                ", dueDate=" + getDueDate() +
+                ", finishTime=" + getFinishTime() +
                 '}';
     }
 }
\ No newline at end of file
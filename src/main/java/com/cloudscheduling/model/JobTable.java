@@ -0,0 +1,341 @@
+package com.cloudscheduling.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Struct-of-arrays storage for cloud jobs.
+ * <p>
+ * One primitive column per field instead of one {@link CloudJob} object per row.
+ * Missing values use sentinels instead of boxing: {@link #NO_VM} for the VM id and
+ * {@code NaN} for times. Job names are interned, so repeated names are stored once.
+ * The result columns (VM, start, finish, waiting, CPU time) are only allocated on the
+ * first write, so a table loaded for scheduling holds just the input columns.
+ * <p>
+ * {@link CloudJob} is a thin view onto one row, and {@link #asCloudJobs()} exposes the
+ * table as a list for existing callers. Not thread-safe.
+ */
+public final class JobTable {
+
+    public static final int NO_VM = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int size;
+
+    // Input columns
+    private int[] jobIds;
+    private int[] nameIds;
+    private long[] lengths;
+    private int[] priorities;
+    private double[] arrivalTimes;
+    private double[] dueDates;
+
+    // Result columns, null until first written
+    private int[] assignedVmIds;
+    private double[] startTimes;
+    private double[] finishTimes;
+    private double[] waitingTimes;
+    private double[] cpuTimes;
+
+    // Interned job names
+    private Map<String, Integer> nameIndex;
+    private String[] names = new String[0];
+
+    public JobTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public JobTable(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        jobIds = new int[capacity];
+        nameIds = new int[capacity];
+        lengths = new long[capacity];
+        priorities = new int[capacity];
+        arrivalTimes = new double[capacity];
+        dueDates = new double[capacity];
+    }
+
+    /**
+     * Appends a job and returns its row index.
+     * Pass {@code NaN} for an unknown arrival time or due date.
+     */
+    public int addJob(int jobId, String jobName, long jobLength, int priority, double arrivalTime, double dueDate) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        jobIds[row] = jobId;
+        nameIds[row] = internName(jobName);
+        lengths[row] = jobLength;
+        priorities[row] = priority;
+        arrivalTimes[row] = arrivalTime;
+        dueDates[row] = dueDate;
+        if (assignedVmIds != null) {
+            clearResults(row);
+        }
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ---------- Row accessors ----------
+
+    public int getJobId(int row) {
+        return jobIds[checkRow(row)];
+    }
+
+    public void setJobId(int row, int jobId) {
+        jobIds[checkRow(row)] = jobId;
+    }
+
+    public String getJobName(int row) {
+        int id = nameIds[checkRow(row)];
+        return id < 0 ? null : names[id];
+    }
+
+    public void setJobName(int row, String jobName) {
+        nameIds[checkRow(row)] = internName(jobName);
+    }
+
+    public long getJobLength(int row) {
+        return lengths[checkRow(row)];
+    }
+
+    public void setJobLength(int row, long jobLength) {
+        lengths[checkRow(row)] = jobLength;
+    }
+
+    public int getPriority(int row) {
+        return priorities[checkRow(row)];
+    }
+
+    public void setPriority(int row, int priority) {
+        priorities[checkRow(row)] = priority;
+    }
+
+    public double getArrivalTime(int row) {
+        return arrivalTimes[checkRow(row)];
+    }
+
+    public void setArrivalTime(int row, double arrivalTime) {
+        arrivalTimes[checkRow(row)] = arrivalTime;
+    }
+
+    public double getDueDate(int row) {
+        return dueDates[checkRow(row)];
+    }
+
+    public void setDueDate(int row, double dueDate) {
+        dueDates[checkRow(row)] = dueDate;
+    }
+
+    public int getAssignedVmId(int row) {
+        checkRow(row);
+        return assignedVmIds == null ? NO_VM : assignedVmIds[row];
+    }
+
+    public void setAssignedVmId(int row, int vmId) {
+        checkRow(row);
+        allocateResults();
+        assignedVmIds[row] = vmId;
+    }
+
+    public double getStartTime(int row) {
+        return result(startTimes, row);
+    }
+
+    public void setStartTime(int row, double startTime) {
+        checkRow(row);
+        allocateResults();
+        startTimes[row] = startTime;
+    }
+
+    public double getFinishTime(int row) {
+        return result(finishTimes, row);
+    }
+
+    public void setFinishTime(int row, double finishTime) {
+        checkRow(row);
+        allocateResults();
+        finishTimes[row] = finishTime;
+    }
+
+    public double getWaitingTime(int row) {
+        return result(waitingTimes, row);
+    }
+
+    public void setWaitingTime(int row, double waitingTime) {
+        checkRow(row);
+        allocateResults();
+        waitingTimes[row] = waitingTime;
+    }
+
+    public double getCpuTime(int row) {
+        return result(cpuTimes, row);
+    }
+
+    public void setCpuTime(int row, double cpuTime) {
+        checkRow(row);
+        allocateResults();
+        cpuTimes[row] = cpuTime;
+    }
+
+    // ---------- Column access for the scheduling hot path ----------
+
+    /**
+     * Job lengths of all rows. Trims the table first, so the returned array is the
+     * live column (no copy) and has exactly {@link #size()} entries.
+     */
+    public long[] lengthColumn() {
+        trimToSize();
+        return lengths;
+    }
+
+    public int[] jobIdColumn() {
+        trimToSize();
+        return jobIds;
+    }
+
+    public int[] priorityColumn() {
+        trimToSize();
+        return priorities;
+    }
+
+    public double[] arrivalTimeColumn() {
+        trimToSize();
+        return arrivalTimes;
+    }
+
+    public double[] dueDateColumn() {
+        trimToSize();
+        return dueDates;
+    }
+
+    public void trimToSize() {
+        if (jobIds.length != size) {
+            resize(size);
+        }
+    }
+
+    /**
+     * The table as a read/write list of {@link CloudJob} views. Views are created on
+     * access, so holding the list costs nothing per row.
+     */
+    public List<CloudJob> asCloudJobs() {
+        return new CloudJobList();
+    }
+
+    public CloudJob view(int row) {
+        return new CloudJob(this, checkRow(row));
+    }
+
+    /**
+     * Approximate heap bytes used by this table, excluding the shared name strings.
+     */
+    public long estimatedBytes() {
+        long perRow = 4 + 4 + 8 + 4 + 8 + 8;
+        if (assignedVmIds != null) {
+            perRow += 4 + 8 * 4;
+        }
+        return perRow * jobIds.length + 4L * names.length;
+    }
+
+    // ---------- internals ----------
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for table of size " + size);
+        }
+        return row;
+    }
+
+    private double result(double[] column, int row) {
+        checkRow(row);
+        return column == null ? Double.NaN : column[row];
+    }
+
+    private int internName(String name) {
+        if (name == null) {
+            return -1;
+        }
+        if (nameIndex == null) {
+            nameIndex = new HashMap<>();
+        }
+        Integer id = nameIndex.get(name);
+        if (id == null) {
+            id = nameIndex.size();
+            nameIndex.put(name, id);
+            if (id == names.length) {
+                names = Arrays.copyOf(names, Math.max(4, names.length * 2));
+            }
+            names[id] = name;
+        }
+        return id;
+    }
+
+    private void allocateResults() {
+        if (assignedVmIds != null) {
+            return;
+        }
+        int capacity = jobIds.length;
+        assignedVmIds = new int[capacity];
+        startTimes = new double[capacity];
+        finishTimes = new double[capacity];
+        waitingTimes = new double[capacity];
+        cpuTimes = new double[capacity];
+        for (int row = 0; row < capacity; row++) {
+            clearResults(row);
+        }
+    }
+
+    private void clearResults(int row) {
+        assignedVmIds[row] = NO_VM;
+        startTimes[row] = Double.NaN;
+        finishTimes[row] = Double.NaN;
+        waitingTimes[row] = Double.NaN;
+        cpuTimes[row] = Double.NaN;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > jobIds.length) {
+            resize(Math.max(required, jobIds.length * 2));
+        }
+    }
+
+    private void resize(int capacity) {
+        jobIds = Arrays.copyOf(jobIds, capacity);
+        nameIds = Arrays.copyOf(nameIds, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+        dueDates = Arrays.copyOf(dueDates, capacity);
+        if (assignedVmIds != null) {
+            int oldCapacity = assignedVmIds.length;
+            assignedVmIds = Arrays.copyOf(assignedVmIds, capacity);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            finishTimes = Arrays.copyOf(finishTimes, capacity);
+            waitingTimes = Arrays.copyOf(waitingTimes, capacity);
+            cpuTimes = Arrays.copyOf(cpuTimes, capacity);
+            for (int row = oldCapacity; row < capacity; row++) {
+                clearResults(row);
+            }
+        }
+    }
+
+    private final class CloudJobList extends AbstractList<CloudJob> implements RandomAccess {
+        @Override
+        public CloudJob get(int index) {
+            return view(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -92,6 +92,11 @@ public class VirtualMachine {
         return (double) jobLength / mips;
     }
 
+    // CloudJob lengths are long
+    public double calculateExecutionTime(long jobLength) {
+        return (double) jobLength / mips;
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -0,0 +1,241 @@
+package com.cloudscheduling.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar binary workload file, read through {@link FileChannel#map} so a run needs no
+ * database and loading costs a page-in, not a parse.
+ * <p>
+ * Layout, little-endian:
+ * <pre>
+ *   header   32 bytes: magic "CSWL", version, job count (long), capacity (long), reserved
+ *   lengths      capacity x long   (MI)
+ *   arrivals     capacity x double (s, NaN = unknown)
+ *   deadlines    capacity x double (s, NaN = none)
+ *   jobIds       capacity x int
+ *   priorities   capacity x int
+ * </pre>
+ * Only the first {@code count} rows of each column are valid; the capacity lets a writer
+ * size the file before it knows the final row count. The 8-byte columns come first so
+ * every column is aligned. Each column is mapped on its own, so the 2 GB limit of one
+ * mapping applies per column: about 268M jobs.
+ * <p>
+ * The mappings stay valid until the reader is garbage collected. Not thread-safe.
+ */
+public final class WorkloadFile {
+
+    public static final int MAGIC = 0x4C575343; // "CSWL" read little-endian
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+
+    private final Path path;
+    private final int count;
+    private final LongBuffer lengths;
+    private final DoubleBuffer arrivalTimes;
+    private final DoubleBuffer deadlines;
+    private final IntBuffer jobIds;
+    private final IntBuffer priorities;
+
+    private WorkloadFile(Path path, int count, LongBuffer lengths, DoubleBuffer arrivalTimes,
+                         DoubleBuffer deadlines, IntBuffer jobIds, IntBuffer priorities) {
+        this.path = path;
+        this.count = count;
+        this.lengths = lengths;
+        this.arrivalTimes = arrivalTimes;
+        this.deadlines = deadlines;
+        this.jobIds = jobIds;
+        this.priorities = priorities;
+    }
+
+    /**
+     * Maps an existing file read-only.
+     */
+    public static WorkloadFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a workload file");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException(path + " has unsupported version " + header.getInt(4));
+            }
+            long count = header.getLong(8);
+            long capacity = header.getLong(16);
+            if (count < 0 || count > capacity || channel.size() < HEADER_BYTES + capacity * 32) {
+                throw new IOException(path + " is truncated or corrupt");
+            }
+            int n = (int) count;
+            long offset = HEADER_BYTES;
+            LongBuffer lengths = map(channel, offset, n, Long.BYTES).asLongBuffer();
+            offset += capacity * Long.BYTES;
+            DoubleBuffer arrivals = map(channel, offset, n, Double.BYTES).asDoubleBuffer();
+            offset += capacity * Double.BYTES;
+            DoubleBuffer deadlines = map(channel, offset, n, Double.BYTES).asDoubleBuffer();
+            offset += capacity * Double.BYTES;
+            IntBuffer jobIds = map(channel, offset, n, Integer.BYTES).asIntBuffer();
+            offset += capacity * Integer.BYTES;
+            IntBuffer priorities = map(channel, offset, n, Integer.BYTES).asIntBuffer();
+            // The mappings outlive the channel
+            return new WorkloadFile(path, n, lengths, arrivals, deadlines, jobIds, priorities);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, int rows, int width) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) rows * width);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Writes a whole table. The result columns are not stored.
+     */
+    public static void write(Path path, JobTable table) throws IOException {
+        try (Writer writer = new Writer(path, table.size())) {
+            for (int row = 0; row < table.size(); row++) {
+                writer.add(table.getJobId(row), table.getJobLength(row), table.getPriority(row),
+                        table.getArrivalTime(row), table.getDueDate(row));
+            }
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long getLength(int row) {
+        return lengths.get(row);
+    }
+
+    public double getArrivalTime(int row) {
+        return arrivalTimes.get(row);
+    }
+
+    public double getDeadline(int row) {
+        return deadlines.get(row);
+    }
+
+    public int getJobId(int row) {
+        return jobIds.get(row);
+    }
+
+    public int getPriority(int row) {
+        return priorities.get(row);
+    }
+
+    // Bulk copies for the array-based scheduling code
+
+    public long[] lengthColumn() {
+        long[] column = new long[count];
+        lengths.duplicate().get(column);
+        return column;
+    }
+
+    public double[] arrivalTimeColumn() {
+        double[] column = new double[count];
+        arrivalTimes.duplicate().get(column);
+        return column;
+    }
+
+    public double[] deadlineColumn() {
+        double[] column = new double[count];
+        deadlines.duplicate().get(column);
+        return column;
+    }
+
+    public int[] jobIdColumn() {
+        int[] column = new int[count];
+        jobIds.duplicate().get(column);
+        return column;
+    }
+
+    public int[] priorityColumn() {
+        int[] column = new int[count];
+        priorities.duplicate().get(column);
+        return column;
+    }
+
+    /**
+     * Streams rows into a new file sized for {@code capacity} jobs; {@link #close()} records
+     * how many were added. Columns are written straight into a read-write mapping.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final long capacity;
+        private final List<MappedByteBuffer> mappings = new ArrayList<>();
+        private final MappedByteBuffer header;
+        private final LongBuffer lengths;
+        private final DoubleBuffer arrivalTimes;
+        private final DoubleBuffer deadlines;
+        private final IntBuffer jobIds;
+        private final IntBuffer priorities;
+        private int count;
+
+        public Writer(Path path, int capacity) throws IOException {
+            this.capacity = capacity;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.header = mapWritable(0, HEADER_BYTES);
+            long offset = HEADER_BYTES;
+            this.lengths = mapWritable(offset, capacity * (long) Long.BYTES).asLongBuffer();
+            offset += capacity * (long) Long.BYTES;
+            this.arrivalTimes = mapWritable(offset, capacity * (long) Double.BYTES).asDoubleBuffer();
+            offset += capacity * (long) Double.BYTES;
+            this.deadlines = mapWritable(offset, capacity * (long) Double.BYTES).asDoubleBuffer();
+            offset += capacity * (long) Double.BYTES;
+            this.jobIds = mapWritable(offset, capacity * (long) Integer.BYTES).asIntBuffer();
+            offset += capacity * (long) Integer.BYTES;
+            this.priorities = mapWritable(offset, capacity * (long) Integer.BYTES).asIntBuffer();
+        }
+
+        private MappedByteBuffer mapWritable(long offset, long size) throws IOException {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, offset, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            mappings.add(buffer);
+            return buffer;
+        }
+
+        public void add(int jobId, long length, int priority, double arrivalTime, double deadline) {
+            if (count == capacity) {
+                throw new IllegalStateException("Workload file is full at " + capacity + " jobs");
+            }
+            lengths.put(count, length);
+            arrivalTimes.put(count, arrivalTime);
+            deadlines.put(count, deadline);
+            jobIds.put(count, jobId);
+            priorities.put(count, priority);
+            count++;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(8, count);
+            header.putLong(16, capacity);
+            for (MappedByteBuffer mapping : mappings) {
+                mapping.force();
+            }
+            channel.close();
+        }
+    }
+}
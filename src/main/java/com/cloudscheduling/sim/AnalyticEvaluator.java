@@ -0,0 +1,314 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.EGSJFPolicy;
+import com.cloudscheduling.algorithm.IndexSort;
+import com.cloudscheduling.algorithm.PBFScheduler;
+import com.cloudscheduling.algorithm.SchedulingPolicy;
+import com.cloudscheduling.algorithm.Workload;
+
+import java.util.Arrays;
+
+/**
+ * Computes the metrics of a static assignment directly from job lengths and VM MIPS,
+ * without running the CloudSim event loop.
+ * <p>
+ * Cloudlets are taken in submission order (job index order, as
+ * {@link CloudSimExecutor} submits them) and each uses one PE:
+ * <ul>
+ *   <li>{@link CloudletScheduling#SPACE_SHARED}: a cloudlet starts on the VM's earliest
+ *       free PE and runs for {@code length / mips}.</li>
+ *   <li>{@link CloudletScheduling#TIME_SHARED}: all cloudlets of a VM start at once and
+ *       share its PEs, so each runs at {@code mips * min(1, pes / active)}. They finish
+ *       in length order, and one pass over the VM's jobs sorted by length gives all
+ *       finish times.</li>
+ * </ul>
+ * An evaluator is bound to one workload. The length order and all buffers are built
+ * once, so {@link #evaluateMakespan(int[])} allocates nothing and runs in O(n) per
+ * candidate assignment. Not thread-safe: use one instance per thread.
+ */
+public final class AnalyticEvaluator {
+
+    private final long[] lengths;
+    private final double[] deadlines;
+    private final double[] vmMips;
+    private final int vmPes;
+    private final CloudletScheduling scheduling;
+
+    // Reused per evaluation
+    private final double[] startTimes;
+    private final double[] finishTimes;
+    private final double[] cpuTimes;
+    private final double[] peFreeTimes;   // SPACE_SHARED: vm * vmPes + pe
+    private final int[] lengthOrder;      // TIME_SHARED: jobs by ascending length
+    private final int[] vmOffsets;        // TIME_SHARED: counting sort by VM
+    private final int[] jobsByVm;
+
+    private double makespan;
+    private double totalFlowTime;
+    private double totalCpuTime;
+    private double totalWaitingTime;
+    private double totalTardiness;
+    private double maxTardiness;
+    private int lateJobs;
+
+    public AnalyticEvaluator(long[] lengths, double[] deadlines, double[] vmMips, int vmPes,
+                             CloudletScheduling scheduling) {
+        this.lengths = lengths;
+        this.deadlines = deadlines;
+        this.vmMips = vmMips;
+        this.vmPes = vmPes;
+        this.scheduling = scheduling;
+
+        int n = lengths.length;
+        this.startTimes = new double[n];
+        this.finishTimes = new double[n];
+        this.cpuTimes = new double[n];
+        if (scheduling == CloudletScheduling.SPACE_SHARED) {
+            this.peFreeTimes = new double[vmMips.length * vmPes];
+            this.lengthOrder = null;
+            this.vmOffsets = null;
+            this.jobsByVm = null;
+        } else {
+            this.peFreeTimes = null;
+            this.lengthOrder = IndexSort.ascending(lengths);
+            this.vmOffsets = new int[vmMips.length + 1];
+            this.jobsByVm = new int[n];
+        }
+    }
+
+    /**
+     * Evaluates the assignment and returns the same metrics printResults reports.
+     * Per-job times of the last evaluation are available from the getters.
+     */
+    public ScheduleMetrics evaluate(int[] assignment) {
+        evaluateMakespan(assignment);
+        int n = lengths.length;
+        return new ScheduleMetrics(makespan, totalFlowTime,
+                n > 0 ? totalCpuTime / n : 0, n > 0 ? totalWaitingTime / n : 0,
+                totalTardiness, maxTardiness, lateJobs, n, n);
+    }
+
+    /**
+     * Evaluates the assignment without allocating; returns the makespan.
+     */
+    public double evaluateMakespan(int[] assignment) {
+        makespan = 0;
+        totalFlowTime = 0;
+        totalCpuTime = 0;
+        totalWaitingTime = 0;
+        totalTardiness = 0;
+        maxTardiness = 0;
+        lateJobs = 0;
+
+        if (scheduling == CloudletScheduling.SPACE_SHARED) {
+            evaluateSpaceShared(assignment);
+        } else {
+            evaluateTimeShared(assignment);
+        }
+
+        for (int i = 0; i < lengths.length; i++) {
+            double finish = finishTimes[i];
+            makespan = Math.max(makespan, finish);
+            totalFlowTime += finish;
+            totalCpuTime += cpuTimes[i];
+            totalWaitingTime += finish - startTimes[i] - cpuTimes[i];
+            if (deadlines != null && finish > deadlines[i]) {
+                totalTardiness += finish - deadlines[i];
+                maxTardiness = Math.max(maxTardiness, finish - deadlines[i]);
+                lateJobs++;
+            }
+        }
+        return makespan;
+    }
+
+    private void evaluateSpaceShared(int[] assignment) {
+        Arrays.fill(peFreeTimes, 0.0);
+        for (int i = 0; i < lengths.length; i++) {
+            int vm = assignment[i];
+            int base = vm * vmPes;
+            int slot = base;
+            for (int pe = base + 1; pe < base + vmPes; pe++) {
+                if (peFreeTimes[pe] < peFreeTimes[slot]) {
+                    slot = pe;
+                }
+            }
+            double start = peFreeTimes[slot];
+            double executionTime = lengths[i] / vmMips[vm];
+            double finish = start + executionTime;
+            peFreeTimes[slot] = finish;
+
+            startTimes[i] = start;
+            finishTimes[i] = finish;
+            cpuTimes[i] = executionTime;
+        }
+    }
+
+    private void evaluateTimeShared(int[] assignment) {
+        // Stable counting sort of the length order by VM: each VM's jobs end up sorted by length
+        Arrays.fill(vmOffsets, 0);
+        for (int vm : assignment) {
+            vmOffsets[vm + 1]++;
+        }
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            vmOffsets[vm + 1] += vmOffsets[vm];
+        }
+        for (int job : lengthOrder) {
+            jobsByVm[vmOffsets[assignment[job]]++] = job;
+        }
+
+        // vmOffsets[vm] now points at the end of the VM's segment
+        int segmentStart = 0;
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            int segmentEnd = vmOffsets[vm];
+            int active = segmentEnd - segmentStart;
+            double time = 0;
+            long previousLength = 0;
+            for (int k = segmentStart; k < segmentEnd; k++, active--) {
+                int job = jobsByVm[k];
+                double rate = vmMips[vm] * Math.min(1.0, (double) vmPes / active);
+                time += (lengths[job] - previousLength) / rate;
+                previousLength = lengths[job];
+
+                startTimes[job] = 0;
+                finishTimes[job] = time;
+                cpuTimes[job] = time;
+            }
+            segmentStart = segmentEnd;
+        }
+    }
+
+    public double[] getStartTimes() {
+        return startTimes;
+    }
+
+    public double[] getFinishTimes() {
+        return finishTimes;
+    }
+
+    public double[] getCpuTimes() {
+        return cpuTimes;
+    }
+
+    // ---------- Cross-check against CloudSim ----------
+
+    /**
+     * How far the analytic results are from a CloudSim run of the same assignment.
+     */
+    public static final class CrossCheck {
+        private final ScheduleMetrics analytic;
+        private final ScheduleMetrics simulated;
+        private final double maxFinishDivergence;
+        private final double meanFinishDivergence;
+        private final int worstJob;
+
+        CrossCheck(ScheduleMetrics analytic, ScheduleMetrics simulated, double maxFinishDivergence,
+                   double meanFinishDivergence, int worstJob) {
+            this.analytic = analytic;
+            this.simulated = simulated;
+            this.maxFinishDivergence = maxFinishDivergence;
+            this.meanFinishDivergence = meanFinishDivergence;
+            this.worstJob = worstJob;
+        }
+
+        public ScheduleMetrics getAnalytic() {
+            return analytic;
+        }
+
+        public ScheduleMetrics getSimulated() {
+            return simulated;
+        }
+
+        public double getMaxFinishDivergence() {
+            return maxFinishDivergence;
+        }
+
+        public double getMeanFinishDivergence() {
+            return meanFinishDivergence;
+        }
+
+        public void print(String label) {
+            System.out.println("\n🔍 CROSS-CHECK " + label + ":");
+            System.out.println("-".repeat(70));
+            System.out.printf("%-18s | %-14s | %-14s | %-10s%n", "Metric", "Analytic", "CloudSim", "Diff");
+            System.out.println("-".repeat(70));
+            row("Makespan", analytic.getMakespan(), simulated.getMakespan());
+            row("Total Flow Time", analytic.getTotalFlowTime(), simulated.getTotalFlowTime());
+            row("Avg Exec Time", analytic.getAvgExecutionTime(), simulated.getAvgExecutionTime());
+            row("Avg Wait Time", analytic.getAvgWaitingTime(), simulated.getAvgWaitingTime());
+            row("Total Tardiness", analytic.getTotalTardiness(), simulated.getTotalTardiness());
+            System.out.println("-".repeat(70));
+            System.out.printf(" Finish time divergence: max %.4f s (job %d), mean %.4f s%n",
+                    maxFinishDivergence, worstJob, meanFinishDivergence);
+        }
+
+        private static void row(String name, double analyticValue, double simulatedValue) {
+            System.out.printf("%-18s | %-14.4f | %-14.4f | %-10.4f%n",
+                    name, analyticValue, simulatedValue, analyticValue - simulatedValue);
+        }
+    }
+
+    /**
+     * Evaluates the assignment both ways and reports the divergence per job and per metric.
+     */
+    public CrossCheck crossCheck(int[] assignment) {
+        ScheduleMetrics analytic = evaluate(assignment);
+        CloudSimExecutor.Outcome outcome = CloudSimExecutor.execute(lengths, vmMips, vmPes, assignment, scheduling);
+        ScheduleMetrics simulated = outcome.metrics(deadlines);
+
+        double[] simulatedFinish = outcome.getFinishTimes();
+        double maxDivergence = 0;
+        double totalDivergence = 0;
+        int worstJob = -1;
+        for (int i = 0; i < lengths.length; i++) {
+            double divergence = Double.isNaN(simulatedFinish[i])
+                    ? Double.POSITIVE_INFINITY
+                    : Math.abs(finishTimes[i] - simulatedFinish[i]);
+            totalDivergence += divergence;
+            if (divergence > maxDivergence) {
+                maxDivergence = divergence;
+                worstJob = i;
+            }
+        }
+        double meanDivergence = lengths.length > 0 ? totalDivergence / lengths.length : 0;
+        return new CrossCheck(analytic, simulated, maxDivergence, meanDivergence, worstJob);
+    }
+
+    /**
+     * Cross-checks PBFS and EG-SJF on a synthetic workload for both cloudlet schedulers,
+     * then measures analytic evaluation throughput.
+     * Arguments: [jobs] [seed]
+     */
+    public static void main(String[] args) {
+        int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        double[] vmMips = {800, 1000, 1200, 1500};
+        int vmPes = 2;
+
+        long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+        double[] deadlines = WorkloadGenerator.defaultDeadlines(lengths, seed);
+        Workload workload = new Workload(lengths, deadlines, vmMips);
+
+        for (SchedulingPolicy policy : new SchedulingPolicy[]{new PBFScheduler(), new EGSJFPolicy()}) {
+            int[] assignment = policy.schedule(workload);
+            for (CloudletScheduling scheduling : CloudletScheduling.values()) {
+                AnalyticEvaluator evaluator = new AnalyticEvaluator(lengths, deadlines, vmMips, vmPes, scheduling);
+                evaluator.crossCheck(assignment).print(policy.getName() + " / " + scheduling);
+            }
+        }
+
+        // Throughput: evaluate the EG-SJF assignment repeatedly
+        int[] assignment = new EGSJFPolicy().schedule(workload);
+        for (CloudletScheduling scheduling : CloudletScheduling.values()) {
+            AnalyticEvaluator evaluator = new AnalyticEvaluator(lengths, deadlines, vmMips, vmPes, scheduling);
+            int iterations = Math.max(1, 20_000_000 / Math.max(1, jobs));
+            double checksum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                checksum += evaluator.evaluateMakespan(assignment);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("⚡ %s: %.0f evaluations/s on %d jobs (checksum %.1f)%n",
+                    scheduling, iterations / seconds, jobs, checksum);
+        }
+    }
+}
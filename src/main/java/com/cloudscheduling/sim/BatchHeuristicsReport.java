@@ -0,0 +1,141 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.BatchHeuristicPolicy;
+import com.cloudscheduling.algorithm.MakespanBounds;
+import com.cloudscheduling.algorithm.PBFScheduler;
+import com.cloudscheduling.algorithm.Schedule;
+import com.cloudscheduling.algorithm.Workload;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Scaling curves for Min-Min, Max-Min and Sufferage.
+ * <p>
+ * For each job count the report times {@link BatchHeuristicPolicy} and, up to
+ * {@code textbookMax} jobs, the textbook O(n^2 m) loop that re-scans every unplaced job on
+ * every VM at each step. Both must give the same plan. Makespans are compared with PBFS
+ * and with the {@link MakespanBounds} lower bound.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   BatchHeuristicsReport sizes=1000,2000,5000,10000,20000,50000,100000 seed=1 fleet=800x8/1000x8/1200x8/1500x8 textbookMax=5000
+ * </pre>
+ */
+public class BatchHeuristicsReport {
+
+    public static void main(String[] args) {
+        Map<String, String> options = CliOptions.parse(args);
+        int[] sizes = Arrays.stream(options.getOrDefault("sizes", "1000,2000,5000,10000,20000,50000,100000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        double[] vmMips = SweepRunner.Fleet.parse(options.getOrDefault("fleet", "800x8/1000x8/1200x8/1500x8")).getVmMips();
+        int textbookMax = Integer.parseInt(options.getOrDefault("textbookMax", "5000"));
+
+        System.out.println("\n" + "=".repeat(116));
+        System.out.println(" BATCH HEURISTICS SCALING (" + vmMips.length + " VMs, seed " + seed + ")");
+        System.out.println("=".repeat(116));
+        System.out.printf("%-8s | %-10s | %-12s | %-12s | %-10s | %-9s | %-14s | %-10s%n",
+                "Jobs", "Policy", "Plan ms", "Makespan", "vs PBFS", "Gap", "Textbook ms", "Same Plan");
+        System.out.println("-".repeat(116));
+
+        for (int jobs : sizes) {
+            long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+            Workload workload = new Workload(lengths, WorkloadGenerator.defaultDeadlines(lengths, seed), vmMips);
+            double pbfsMakespan = new PBFScheduler().plan(workload).getMakespan();
+            MakespanBounds bounds = MakespanBounds.of(workload);
+
+            for (BatchHeuristicPolicy.Heuristic heuristic : BatchHeuristicPolicy.Heuristic.values()) {
+                BatchHeuristicPolicy policy = new BatchHeuristicPolicy(heuristic);
+                long start = System.nanoTime();
+                Schedule plan = policy.plan(workload);
+                double planMs = (System.nanoTime() - start) / 1e6;
+
+                String textbookMs = "-";
+                String same = "-";
+                if (jobs <= textbookMax) {
+                    start = System.nanoTime();
+                    int[] reference = textbook(lengths, vmMips, heuristic);
+                    textbookMs = String.format("%.2f", (System.nanoTime() - start) / 1e6);
+                    same = Arrays.equals(reference, plan.getAssignment()) ? "yes" : "NO";
+                    if (!Arrays.equals(reference, plan.getAssignment())) {
+                        System.err.println("❌ " + policy.getName() + " differs from the textbook loop at " + jobs + " jobs");
+                    }
+                }
+                System.out.printf("%-8d | %-10s | %-12.2f | %-12.2f | %-+9.2f%% | %-8.3f%% | %-14s | %-10s%n",
+                        jobs, policy.getName(), planMs, plan.getMakespan(),
+                        (plan.getMakespan() - pbfsMakespan) / pbfsMakespan * 100, bounds.gap(plan.getMakespan()) * 100,
+                        textbookMs, same);
+            }
+        }
+        System.out.println("-".repeat(116));
+    }
+
+    /**
+     * Textbook loop: each step computes every unplaced job's best and second-best completion
+     * over all VMs. Ties go to the shorter job (longer for Max-Min), then the lower index;
+     * Sufferage sends equal finishes to the VM free sooner, as {@link BatchHeuristicPolicy} does.
+     */
+    private static int[] textbook(long[] lengths, double[] vmMips, BatchHeuristicPolicy.Heuristic heuristic) {
+        int n = lengths.length;
+        double[] ready = new double[vmMips.length];
+        boolean[] placed = new boolean[n];
+        int[] assignment = new int[n];
+
+        for (int step = 0; step < n; step++) {
+            int pick = -1;
+            int pickVm = -1;
+            double pickKey = 0;
+            double pickFinish = 0;
+            for (int job = 0; job < n; job++) {
+                if (placed[job]) {
+                    continue;
+                }
+                int bestVm = -1;
+                int secondVm = -1;
+                double best = Double.MAX_VALUE;
+                double second = Double.MAX_VALUE;
+                boolean sooner = heuristic == BatchHeuristicPolicy.Heuristic.SUFFERAGE;
+                for (int vm = 0; vm < vmMips.length; vm++) {
+                    double finish = ready[vm] + lengths[job] / vmMips[vm];
+                    if (finish < best || (sooner && finish == best && ready[vm] < ready[bestVm])) {
+                        secondVm = bestVm;
+                        second = best;
+                        bestVm = vm;
+                        best = finish;
+                    } else if (finish < second || (sooner && finish == second && ready[vm] < ready[secondVm])) {
+                        secondVm = vm;
+                        second = finish;
+                    }
+                }
+                double key;
+                switch (heuristic) {
+                    case MIN_MIN:
+                        key = -best;
+                        break;
+                    case MAX_MIN:
+                        key = best;
+                        break;
+                    default:
+                        // Same rounding as BatchHeuristicPolicy: exactly r2 - r1 on equal MIPS
+                        key = secondVm < 0 ? 0 : (ready[secondVm] - ready[bestVm])
+                                + lengths[job] * (1 / vmMips[secondVm] - 1 / vmMips[bestVm]);
+                }
+                boolean longerFirst = heuristic == BatchHeuristicPolicy.Heuristic.MAX_MIN;
+                boolean better = pick < 0 || key > pickKey || (key == pickKey
+                        && (longerFirst ? lengths[job] > lengths[pick] : lengths[job] < lengths[pick]));
+                if (better) {
+                    pick = job;
+                    pickVm = bestVm;
+                    pickKey = key;
+                    pickFinish = best;
+                }
+            }
+            placed[pick] = true;
+            assignment[pick] = pickVm;
+            ready[pickVm] = pickFinish;
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,54 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.dao.BulkCompletionWriter;
+import com.cloudscheduling.dao.JobDAO;
+import com.cloudscheduling.db.DatabaseConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rows per second of the two {@link BulkCompletionWriter} paths against the configured database.
+ * <p>
+ * Reads the current finish times of up to {@code rows} jobs and writes the same values back
+ * with COPY and then with batched UPDATEs, {@code rounds} times each, so cloud_jobs ends
+ * the way it started.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   BulkWriteReport rows=0 rounds=3
+ * </pre>
+ * {@code rows=0} takes every job.
+ */
+public class BulkWriteReport {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = CliOptions.parse(args);
+        int rows = Integer.parseInt(options.getOrDefault("rows", "0"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+
+        Map<Integer, Double> finishTimes = new HashMap<>();
+        new JobDAO().forEachJob(rows, (jobId, jobName, jobLength, priority, arrivalTime, dueDate, finishTime) ->
+                finishTimes.put(jobId, Double.isNaN(finishTime) ? null : finishTime));
+        if (finishTimes.isEmpty()) {
+            System.err.println("❌ No jobs in cloud_jobs to write back");
+            return;
+        }
+
+        BulkCompletionWriter writer = new BulkCompletionWriter();
+        System.out.println("\n" + "=".repeat(72));
+        System.out.println(" BULK FINISH-TIME WRITES (" + finishTimes.size() + " rows)");
+        System.out.println("=".repeat(72));
+        System.out.printf("%-6s | %-8s | %-12s | %-14s | %-10s%n", "Round", "Method", "Elapsed ms", "Rows/s", "Updated");
+        System.out.println("-".repeat(72));
+        for (int round = 1; round <= rounds; round++) {
+            for (BulkCompletionWriter.Result result
+                    : new BulkCompletionWriter.Result[]{writer.writeWithCopy(finishTimes), writer.writeBatched(finishTimes)}) {
+                System.out.printf("%-6d | %-8s | %-12.1f | %-14.0f | %-10d%n", round, result.getMethod(),
+                        result.getElapsedMs(), result.getRowsPerSecond(), result.getUpdated());
+            }
+        }
+        System.out.println("-".repeat(72));
+        DatabaseConfig.printPoolMetrics();
+    }
+}
@@ -0,0 +1,44 @@
+package com.cloudscheduling.sim;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Argument parsing shared by the reports and tools: {@code key=value} or {@code --key=value}
+ * options, and seed lists such as {@code seeds=1..5} or {@code seeds=3,7,11}.
+ */
+public final class CliOptions {
+
+    private CliOptions() {
+    }
+
+    /**
+     * Options in argument order; a bare {@code key} maps to the empty string.
+     */
+    public static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(kv[0], kv.length > 1 ? kv[1] : "");
+        }
+        return options;
+    }
+
+    /**
+     * An inclusive range {@code from..to}, or a comma-separated list of seeds.
+     */
+    public static long[] parseSeeds(String spec) {
+        if (spec.contains("..")) {
+            String[] bounds = spec.split("\\.\\.");
+            long from = Long.parseLong(bounds[0].trim());
+            long to = Long.parseLong(bounds[1].trim());
+            long[] seeds = new long[(int) (to - from + 1)];
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = from + i;
+            }
+            return seeds;
+        }
+        return Arrays.stream(spec.split(",")).mapToLong(s -> Long.parseLong(s.trim())).toArray();
+    }
+}
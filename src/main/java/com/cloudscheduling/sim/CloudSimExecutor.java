@@ -0,0 +1,238 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.IncrementalRescheduler;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerSpaceShared;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs a precomputed assignment in its own CloudSim instance.
+ * Every call builds a private simulation, datacenter, broker, VMs and cloudlets and
+ * shares no mutable state, so calls can run concurrently on different threads.
+ * Cloudlet i is created with id i, which is how results map back to jobs.
+ */
+public final class CloudSimExecutor {
+
+    private CloudSimExecutor() {
+    }
+
+    /**
+     * Per-job results of one simulation. Jobs that did not finish have NaN times.
+     */
+    public static final class Outcome {
+        private final double[] startTimes;
+        private final double[] finishTimes;
+        private final double[] cpuTimes;
+        private final int vmsCreated;
+        private final int stolenCloudlets;
+
+        Outcome(double[] startTimes, double[] finishTimes, double[] cpuTimes, int vmsCreated) {
+            this(startTimes, finishTimes, cpuTimes, vmsCreated, 0);
+        }
+
+        Outcome(double[] startTimes, double[] finishTimes, double[] cpuTimes, int vmsCreated, int stolenCloudlets) {
+            this.startTimes = startTimes;
+            this.finishTimes = finishTimes;
+            this.cpuTimes = cpuTimes;
+            this.vmsCreated = vmsCreated;
+            this.stolenCloudlets = stolenCloudlets;
+        }
+
+        public double[] getStartTimes() {
+            return startTimes;
+        }
+
+        public double[] getFinishTimes() {
+            return finishTimes;
+        }
+
+        public double[] getCpuTimes() {
+            return cpuTimes;
+        }
+
+        public int getVmsCreated() {
+            return vmsCreated;
+        }
+
+        /**
+         * Cloudlets that ran on a VM other than the assigned one (work stealing only).
+         */
+        public int getStolenCloudlets() {
+            return stolenCloudlets;
+        }
+
+        public ScheduleMetrics metrics(double[] deadlines) {
+            return ScheduleMetrics.compute(startTimes, finishTimes, cpuTimes, deadlines);
+        }
+
+        public ScheduleMetrics metrics(double[] arrivalTimes, double[] deadlines) {
+            return ScheduleMetrics.compute(startTimes, finishTimes, cpuTimes, arrivalTimes, deadlines);
+        }
+    }
+
+    /**
+     * Simulates the assignment with the default (time-shared) cloudlet scheduler.
+     */
+    public static Outcome execute(long[] lengths, double[] vmMips, int vmPes, int[] assignment) {
+        return execute(lengths, vmMips, vmPes, assignment, CloudletScheduling.TIME_SHARED);
+    }
+
+    /**
+     * Simulates the assignment: job i (length {@code lengths[i]}, 1 PE) runs on VM
+     * {@code assignment[i]}. Each VM gets its own host with {@code vmPes} PEs of
+     * matching MIPS, like {@link SimulationUtils#createVariedHosts()}.
+     */
+    public static Outcome execute(long[] lengths, double[] vmMips, int vmPes, int[] assignment,
+                                  CloudletScheduling scheduling) {
+        return execute(lengths, null, null, vmMips, vmPes, assignment, scheduling);
+    }
+
+    /**
+     * Simulates jobs released over time: job i is submitted with a delay of
+     * {@code arrivalTimes[i]} seconds. Cloudlets are handed to the broker in
+     * {@code submissionOrder} (job indices; null means index order), which decides
+     * the queue order of jobs that reach a VM at the same instant.
+     */
+    public static Outcome execute(long[] lengths, double[] arrivalTimes, int[] submissionOrder,
+                                  double[] vmMips, int vmPes, int[] assignment, CloudletScheduling scheduling) {
+        return execute(lengths, null, arrivalTimes, submissionOrder, vmMips, vmPes, assignment, scheduling);
+    }
+
+    /**
+     * Same, with cloudlet i using {@code jobPes[i]} PEs (null means one PE each).
+     */
+    public static Outcome execute(long[] lengths, int[] jobPes, double[] arrivalTimes, int[] submissionOrder,
+                                  double[] vmMips, int vmPes, int[] assignment, CloudletScheduling scheduling) {
+        CloudSim simulation = new CloudSim();
+        List<Vm> vms = createInfrastructure(simulation, vmMips, vmPes, scheduling);
+        DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+
+        List<Cloudlet> cloudlets = new ArrayList<>(lengths.length);
+        for (int k = 0; k < lengths.length; k++) {
+            int i = submissionOrder != null ? submissionOrder[k] : k;
+            Cloudlet cloudlet = new CloudletSimple(i, lengths[i], jobPes != null ? jobPes[i] : 1);
+            cloudlet.setVm(vms.get(assignment[i]));
+            if (arrivalTimes != null) {
+                cloudlet.setSubmissionDelay(arrivalTimes[i]);
+            }
+            cloudlets.add(cloudlet);
+        }
+
+        broker.submitVmList(vms);
+        broker.submitCloudletList(cloudlets);
+        simulation.start();
+
+        return collect(lengths.length, broker, 0);
+    }
+
+    /**
+     * Simulates the assignment with a {@link WorkStealingBroker}: each VM gets its jobs in
+     * {@code submissionOrder} (null means index order), {@code vmPes} at a time, and idle
+     * VMs steal queued jobs from the others.
+     */
+    public static Outcome executeWorkStealing(long[] lengths, int[] submissionOrder, double[] vmMips, int vmPes,
+                                              int[] assignment, CloudletScheduling scheduling) {
+        CloudSim simulation = new CloudSim();
+        List<Vm> vms = createInfrastructure(simulation, vmMips, vmPes, scheduling);
+        WorkStealingBroker broker = new WorkStealingBroker(simulation, vms, vmPes);
+
+        for (int k = 0; k < lengths.length; k++) {
+            int i = submissionOrder != null ? submissionOrder[k] : k;
+            broker.enqueue(new CloudletSimple(i, lengths[i], 1), vms.get(assignment[i]));
+        }
+        simulation.start();
+
+        return collect(lengths.length, broker, broker.getStolenCount());
+    }
+
+    /**
+     * Runs the rescheduler's current plan and fails VM {@code failedVm} at the first clock tick
+     * at or after {@code failTime}: {@link Vm#setFailed(boolean)} stops it, the rescheduler
+     * moves its unfinished jobs, and each moved job is submitted again as a new cloudlet
+     * (id {@code jobCount + job}) on its new VM, behind the work already queued there.
+     * Cloudlets go to each VM in planned start order on space-shared VMs with one PE.
+     */
+    public static Outcome executeWithVmFailure(long[] lengths, double[] vmMips, IncrementalRescheduler rescheduler,
+                                               int failedVm, double failTime) {
+        CloudSim simulation = new CloudSim();
+        List<Vm> vms = createInfrastructure(simulation, vmMips, 1, CloudletScheduling.SPACE_SHARED);
+        DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+        int n = lengths.length;
+
+        int[] order = rescheduler.toSchedule().startOrder();
+        List<Cloudlet> cloudlets = new ArrayList<>(n);
+        for (int job : order) {
+            Cloudlet cloudlet = new CloudletSimple(job, lengths[job], 1);
+            cloudlet.setVm(vms.get(rescheduler.getVm(job)));
+            cloudlets.add(cloudlet);
+        }
+
+        Vm failing = vms.get(failedVm);
+        simulation.addOnClockTickListener(info -> {
+            if (failing.isFailed() || info.getTime() < failTime) {
+                return;
+            }
+            failing.setFailed(true);
+            for (int job : rescheduler.failVm(failedVm, info.getTime())) {
+                Cloudlet retry = new CloudletSimple(n + job, lengths[job], 1);
+                retry.setVm(vms.get(rescheduler.getVm(job)));
+                broker.submitCloudlet(retry);
+            }
+        });
+
+        broker.submitVmList(vms);
+        broker.submitCloudletList(cloudlets);
+        simulation.start();
+
+        return collect(n, broker, 0);
+    }
+
+    // One host per VM with vmPes PEs of matching MIPS, plus the datacenter; returns the VMs
+    private static List<Vm> createInfrastructure(CloudSim simulation, double[] vmMips, int vmPes,
+                                                 CloudletScheduling scheduling) {
+        List<Host> hosts = new ArrayList<>(vmMips.length);
+        for (double mips : vmMips) {
+            hosts.add(SimulationUtils.createHost((long) mips, vmPes));
+        }
+        SimulationUtils.createDatacenter(simulation, hosts);
+
+        List<Vm> vms = new ArrayList<>(vmMips.length);
+        for (double mips : vmMips) {
+            Vm vm = new VmSimple(mips, vmPes);
+            vm.setRam(1024).setBw(1000).setSize(10_000);
+            if (scheduling == CloudletScheduling.SPACE_SHARED) {
+                vm.setCloudletScheduler(new CloudletSchedulerSpaceShared());
+            }
+            vms.add(vm);
+        }
+        return vms;
+    }
+
+    private static Outcome collect(int jobCount, DatacenterBrokerSimple broker, int stolenCloudlets) {
+        double[] startTimes = new double[jobCount];
+        double[] finishTimes = new double[jobCount];
+        double[] cpuTimes = new double[jobCount];
+        Arrays.fill(startTimes, Double.NaN);
+        Arrays.fill(finishTimes, Double.NaN);
+        Arrays.fill(cpuTimes, Double.NaN);
+
+        List<Cloudlet> finished = broker.getCloudletFinishedList();
+        for (Cloudlet cloudlet : finished) {
+            // Resubmitted copies have ids from jobCount up
+            int job = (int) (cloudlet.getId() % jobCount);
+            startTimes[job] = cloudlet.getExecStartTime();
+            finishTimes[job] = cloudlet.getFinishTime();
+            cpuTimes[job] = cloudlet.getActualCpuTime();
+        }
+        return new Outcome(startTimes, finishTimes, cpuTimes, broker.getVmCreatedList().size(), stolenCloudlets);
+    }
+}
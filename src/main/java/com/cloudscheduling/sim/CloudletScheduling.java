@@ -0,0 +1,11 @@
+package com.cloudscheduling.sim;
+
+/**
+ * How a VM shares its PEs among the cloudlets bound to it.
+ */
+public enum CloudletScheduling {
+    /** FIFO: a cloudlet waits until one of the VM's PEs is free (CloudletSchedulerSpaceShared). */
+    SPACE_SHARED,
+    /** Processor sharing: all cloudlets run at once (CloudletSchedulerTimeShared, the VmSimple default). */
+    TIME_SHARED
+}
@@ -0,0 +1,70 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.EGSJFPolicy;
+import com.cloudscheduling.algorithm.IslandGeneticScheduler;
+import com.cloudscheduling.algorithm.MakespanBounds;
+import com.cloudscheduling.algorithm.Workload;
+
+import java.util.Map;
+
+/**
+ * Time-to-quality report for {@link IslandGeneticScheduler} seeded with EG-SJF:
+ * the best makespan after every migration epoch, and how long it took to get
+ * within 1% and 0.1% of the final result. The EG-SJF seed and every GA makespan are timed the
+ * same way, each VM running its jobs on its {@code pes} PEs. Gap is over the
+ * {@link MakespanBounds} lower bound.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   GeneticReport jobs=5000 seeds=1..3 islands=8 population=32 migration=20 budgetMs=2000 fleet=800/1000/1200/1500 pes=2
+ * </pre>
+ */
+public class GeneticReport {
+
+    public static void main(String[] args) {
+        Map<String, String> options = CliOptions.parse(args);
+        int jobs = Integer.parseInt(options.getOrDefault("jobs", "5000"));
+        long[] seeds = CliOptions.parseSeeds(options.getOrDefault("seeds", "1..3"));
+        int islands = Integer.parseInt(options.getOrDefault("islands",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int population = Integer.parseInt(options.getOrDefault("population", "32"));
+        int migration = Integer.parseInt(options.getOrDefault("migration", "20"));
+        long budgetMs = Long.parseLong(options.getOrDefault("budgetMs", "2000"));
+        double[] vmMips = SweepRunner.Fleet.parse(options.getOrDefault("fleet", "800/1000/1200/1500")).getVmMips();
+        int vmPes = Integer.parseInt(options.getOrDefault("pes", "2"));
+
+        for (long seed : seeds) {
+            long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+            Workload workload = Workload.withoutDeadlines(lengths, vmMips).withVmPes(vmPes);
+            int[] greedy = new EGSJFPolicy().schedule(workload);
+            MakespanBounds bounds = MakespanBounds.of(workload);
+
+            IslandGeneticScheduler scheduler = new IslandGeneticScheduler(islands, population, migration,
+                    budgetMs, Integer.MAX_VALUE, seed);
+            IslandGeneticScheduler.Result result = scheduler.evolve(workload, greedy);
+
+            System.out.println("\n🧬 GA seed " + seed + ": " + jobs + " jobs, " + vmMips.length + " VMs x " + vmPes + " PEs, "
+                    + islands + " islands x " + population + ", " + result.getGenerations() + " generations");
+            System.out.println("-".repeat(62));
+            System.out.printf("%-12s | %-14s | %-10s | %-10s%n", "Time (ms)", "Best makespan", "vs EG-SJF", "Gap");
+            System.out.println("-".repeat(62));
+            System.out.printf("%-12.1f | %-14.3f | %-10s | %-9.3f%%%n", 0.0, result.getInitialMakespan(), "-",
+                    bounds.gap(result.getInitialMakespan()) * 100);
+            double[] millis = result.getCurveMillis();
+            double[] makespans = result.getCurveMakespans();
+            // Print about 15 points of the curve, always including the last one
+            int step = Math.max(1, millis.length / 15);
+            for (int i = 0; i < millis.length; i++) {
+                if (i % step == 0 || i == millis.length - 1) {
+                    System.out.printf("%-12.1f | %-14.3f | %-9.2f%% | %-9.3f%%%n", millis[i], makespans[i],
+                            (result.getInitialMakespan() - makespans[i]) / result.getInitialMakespan() * 100,
+                            bounds.gap(makespans[i]) * 100);
+                }
+            }
+            System.out.println("-".repeat(62));
+            System.out.printf("✅ EG-SJF %.3f -> GA %.3f; within 1%% of final after %.1f ms, within 0.1%% after %.1f ms%n",
+                    result.getInitialMakespan(), result.getMakespan(), result.millisToWithin(1.0),
+                    result.millisToWithin(0.1));
+        }
+    }
+}
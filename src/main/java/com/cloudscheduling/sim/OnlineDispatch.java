@@ -0,0 +1,104 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.IndexSort;
+import com.cloudscheduling.algorithm.OnlinePolicy;
+import com.cloudscheduling.algorithm.Workload;
+
+import java.util.Arrays;
+
+/**
+ * Replays a workload's arrivals through an {@link OnlinePolicy}: jobs are released in
+ * arrival order (ties in the policy's {@link OnlinePolicy#dispatchOrder(Workload) dispatch order})
+ * and each one is placed when it arrives, seeing only the jobs released before it.
+ * The wall-clock latency of every decision is recorded.
+ */
+public final class OnlineDispatch {
+
+    private final String policyName;
+    private final int[] assignment;
+    private final int[] releaseOrder;
+    private final long[] decisionNanos; // in release order
+    private long[] sortedNanos;
+
+    private OnlineDispatch(String policyName, int[] assignment, int[] releaseOrder, long[] decisionNanos) {
+        this.policyName = policyName;
+        this.assignment = assignment;
+        this.releaseOrder = releaseOrder;
+        this.decisionNanos = decisionNanos;
+    }
+
+    public static OnlineDispatch run(OnlinePolicy policy, Workload workload) {
+        int n = workload.getJobCount();
+        double[] arrivalTimes = workload.getArrivalTimes();
+
+        // Non-negative doubles order the same as their bit patterns
+        long[] arrivalKeys = new long[n];
+        for (int i = 0; i < n; i++) {
+            arrivalKeys[i] = Double.doubleToLongBits(Math.max(0.0, arrivalTimes[i]));
+        }
+        int[] releaseOrder = policy.dispatchOrder(workload);
+        IndexSort.sortAscending(releaseOrder, arrivalKeys);
+
+        int[] assignment = new int[n];
+        long[] decisionNanos = new long[n];
+        OnlinePolicy.Dispatcher dispatcher = policy.newDispatcher(workload);
+        for (int k = 0; k < n; k++) {
+            int job = releaseOrder[k];
+            double now = Math.max(0.0, arrivalTimes[job]);
+            long start = System.nanoTime();
+            assignment[job] = dispatcher.dispatch(job, now);
+            decisionNanos[k] = System.nanoTime() - start;
+        }
+        return new OnlineDispatch(policy.getName(), assignment, releaseOrder, decisionNanos);
+    }
+
+    public String getPolicyName() {
+        return policyName;
+    }
+
+    public int[] getAssignment() {
+        return assignment;
+    }
+
+    /**
+     * Job indices in the order they were released and dispatched.
+     */
+    public int[] getReleaseOrder() {
+        return releaseOrder;
+    }
+
+    public long[] getDecisionNanos() {
+        return decisionNanos;
+    }
+
+    /**
+     * Decision latency at the given percentile (0-100), in microseconds.
+     */
+    public double latencyPercentileMicros(double percentile) {
+        if (decisionNanos.length == 0) {
+            return 0;
+        }
+        if (sortedNanos == null) {
+            sortedNanos = decisionNanos.clone();
+            Arrays.sort(sortedNanos);
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        index = Math.max(0, Math.min(sortedNanos.length - 1, index));
+        return sortedNanos[index] / 1000.0;
+    }
+
+    public double meanLatencyMicros() {
+        long total = 0;
+        for (long nanos : decisionNanos) {
+            total += nanos;
+        }
+        return decisionNanos.length > 0 ? total / 1000.0 / decisionNanos.length : 0;
+    }
+
+    public void printLatency() {
+        System.out.printf(" %s decision latency over %d jobs: mean %.2f us, p50 %.2f us, p90 %.2f us, "
+                        + "p99 %.2f us, max %.2f us%n",
+                policyName, decisionNanos.length, meanLatencyMicros(), latencyPercentileMicros(50),
+                latencyPercentileMicros(90), latencyPercentileMicros(99), latencyPercentileMicros(100));
+    }
+}
@@ -0,0 +1,81 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.BranchAndBoundScheduler;
+import com.cloudscheduling.algorithm.LocalSearchImprover;
+import com.cloudscheduling.algorithm.MakespanBounds;
+import com.cloudscheduling.algorithm.SchedulingPolicies;
+import com.cloudscheduling.algorithm.SchedulingPolicy;
+import com.cloudscheduling.algorithm.Workload;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How far each policy is from optimal. Every makespan, the policies' and the branch and bound
+ * one, is timed the same way: each VM runs its jobs on its {@code pes} PEs.
+ * <p>
+ * Every seed prints the {@link MakespanBounds} of the workload and, up to {@code bnbJobs}
+ * jobs, the {@link BranchAndBoundScheduler} result within {@code bnbMs}. Each policy's
+ * makespan is then shown with its gap to the lower bound and, when the search proved it,
+ * to the optimum. The gap to the bound is an upper limit on what any scheduler can still gain.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   OptimalityGapReport policies=PBFS,EG-SJF,Max-Min,Sufferage jobs=16 seeds=1..5 fleet=800/1000/1200/1500 pes=2
+ *                       bnbJobs=24 bnbMs=2000
+ * </pre>
+ */
+public class OptimalityGapReport {
+
+    public static void main(String[] args) {
+        Map<String, String> options = CliOptions.parse(args);
+        List<SchedulingPolicy> policies = SchedulingPolicies.parse(
+                options.getOrDefault("policies", "PBFS,EG-SJF,Max-Min,Sufferage"));
+        int jobs = Integer.parseInt(options.getOrDefault("jobs", "16"));
+        long[] seeds = CliOptions.parseSeeds(options.getOrDefault("seeds", "1..5"));
+        double[] vmMips = SweepRunner.Fleet.parse(options.getOrDefault("fleet", "800/1000/1200/1500")).getVmMips();
+        int vmPes = Integer.parseInt(options.getOrDefault("pes", "2"));
+        int bnbJobs = Integer.parseInt(options.getOrDefault("bnbJobs", "24"));
+        long bnbMs = Long.parseLong(options.getOrDefault("bnbMs", "2000"));
+
+        Map<String, double[]> totals = new LinkedHashMap<>();
+        for (long seed : seeds) {
+            long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+            Workload workload = Workload.withoutDeadlines(lengths, vmMips).withVmPes(vmPes);
+            MakespanBounds bounds = MakespanBounds.of(workload);
+
+            System.out.println("\n📐 Seed " + seed + ": " + jobs + " jobs, " + vmMips.length + " VMs x " + vmPes + " PEs");
+            System.out.printf("  Bounds: work %.3f, longest job %.3f, uniform machines %.3f -> lower bound %.3f%n",
+                    bounds.getWorkBound(), bounds.getLongestJobBound(), bounds.getUniformMachineBound(),
+                    bounds.getLowerBound());
+            double optimum = Double.NaN;
+            if (jobs <= bnbJobs) {
+                BranchAndBoundScheduler.Result exact = new BranchAndBoundScheduler(bnbMs).solve(workload);
+                System.out.printf("  Branch and bound: %.3f (%s, %d nodes, %.1f ms)%n", exact.getMakespan(),
+                        exact.isOptimal() ? "optimal" : "time limit hit", exact.getNodes(), exact.getElapsedMs());
+                if (exact.isOptimal()) {
+                    optimum = exact.getMakespan();
+                }
+            }
+            System.out.println("-".repeat(64));
+            System.out.printf("  %-12s | %-12s | %-14s | %-14s%n", "Policy", "Makespan", "Gap to bound", "Gap to optimum");
+            System.out.println("-".repeat(64));
+            for (SchedulingPolicy policy : policies) {
+                double makespan = LocalSearchImprover.makespan(workload, policy.schedule(workload));
+                double gap = bounds.gap(makespan) * 100;
+                double optimumGap = Double.isNaN(optimum) ? Double.NaN : (makespan - optimum) / optimum * 100;
+                System.out.printf("  %-12s | %-12.3f | %-13.3f%% | %-14s%n", policy.getName(), makespan, gap,
+                        Double.isNaN(optimumGap) ? "-" : String.format("%.3f%%", optimumGap));
+                double[] total = totals.computeIfAbsent(policy.getName(), k -> new double[2]);
+                total[0] += gap;
+                total[1]++;
+            }
+        }
+
+        System.out.println("\n✅ Mean gap to the lower bound:");
+        for (Map.Entry<String, double[]> entry : totals.entrySet()) {
+            System.out.printf("  %-12s %.3f%%%n", entry.getKey(), entry.getValue()[0] / entry.getValue()[1]);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.IndexSort;
+import com.cloudscheduling.algorithm.OnlinePolicy;
+import com.cloudscheduling.algorithm.PlanningPolicy;
+import com.cloudscheduling.algorithm.Schedule;
+import com.cloudscheduling.algorithm.SchedulingPolicies;
+import com.cloudscheduling.algorithm.SchedulingPolicy;
+import com.cloudscheduling.algorithm.Workload;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Serial-queue planning versus PE-slot planning on multi-PE VMs.
+ * <p>
+ * The serial plan treats every VM as one queue, as the policies used to; CloudSim then
+ * runs it with all cloudlets submitted at once in dispatch order. The PE-slot plan
+ * tracks every PE, and each cloudlet is submitted at its planned start, so the simulated
+ * times should match the planned ones. A fraction {@code wide} of the jobs need
+ * {@code widePes} PEs. PE utilization is PE-seconds of work over all PEs up to the makespan.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   PeSlotReport policy=EG-SJF jobs=1000 seeds=1..5 fleet=800/1000/1200/1500 pes=2 wide=0.1 widePes=2
+ * </pre>
+ */
+public class PeSlotReport {
+
+    public static void main(String[] args) {
+        Map<String, String> options = CliOptions.parse(args);
+        SchedulingPolicy policy = SchedulingPolicies.create(options.getOrDefault("policy", "EG-SJF"));
+        if (!(policy instanceof PlanningPolicy)) {
+            System.err.println("❌ " + policy.getName() + " does not plan start times");
+            return;
+        }
+        PlanningPolicy planner = (PlanningPolicy) policy;
+        int jobs = Integer.parseInt(options.getOrDefault("jobs", "1000"));
+        long[] seeds = CliOptions.parseSeeds(options.getOrDefault("seeds", "1..5"));
+        double[] vmMips = SweepRunner.Fleet.parse(options.getOrDefault("fleet", "800/1000/1200/1500")).getVmMips();
+        int pes = Integer.parseInt(options.getOrDefault("pes", "2"));
+        double wide = Double.parseDouble(options.getOrDefault("wide", "0.1"));
+        int widePes = Math.min(pes, Integer.parseInt(options.getOrDefault("widePes", "2")));
+
+        int[] vmPes = new int[vmMips.length];
+        Arrays.fill(vmPes, pes);
+
+        System.out.println("\n" + "=".repeat(112));
+        System.out.println(" PE-SLOT PLANNING for " + policy.getName() + " (" + jobs + " jobs, " + vmMips.length + " VMs x "
+                + pes + " PEs, " + (wide * 100) + "% of jobs on " + widePes + " PEs)");
+        System.out.println("=".repeat(112));
+        System.out.printf("%-6s | %-10s | %-12s | %-14s | %-12s | %-14s | %-14s%n",
+                "Seed", "Plan", "Planned Mksp", "PE Utilization", "Plan ms", "CloudSim Mksp", "Max Drift");
+        System.out.println("-".repeat(112));
+
+        for (long seed : seeds) {
+            long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+            double[] deadlines = WorkloadGenerator.defaultDeadlines(lengths, seed);
+            int[] jobPes = new int[jobs];
+            SplittableRandom random = new SplittableRandom(seed ^ 0x2545F4914F6CDD1DL);
+            for (int i = 0; i < jobs; i++) {
+                jobPes[i] = random.nextDouble() < wide ? widePes : 1;
+            }
+
+            // The serial model cannot express wide jobs, so it plans them as single-PE ones
+            Workload serial = new Workload(lengths, deadlines, vmMips);
+            Workload slotted = serial.withPes(vmPes, jobPes);
+            int[] order = policy instanceof OnlinePolicy ? ((OnlinePolicy) policy).dispatchOrder(serial) : null;
+
+            long start = System.nanoTime();
+            Schedule serialPlan = planner.plan(serial);
+            double serialMs = (System.nanoTime() - start) / 1e6;
+            CloudSimExecutor.Outcome serialRun = CloudSimExecutor.execute(lengths, jobPes, null, order, vmMips, pes,
+                    serialPlan.getAssignment(), CloudletScheduling.SPACE_SHARED);
+            print(seed, "serial", serialPlan, jobPes, vmPes, serialMs, serialRun);
+
+            start = System.nanoTime();
+            Schedule slotPlan = planner.plan(slotted);
+            double slotMs = (System.nanoTime() - start) / 1e6;
+            CloudSimExecutor.Outcome slotRun = CloudSimExecutor.execute(lengths, jobPes, slotPlan.getStartTimes(),
+                    slotPlan.startOrder(), vmMips, pes, slotPlan.getAssignment(), CloudletScheduling.SPACE_SHARED);
+            print(seed, "PE slots", slotPlan, jobPes, vmPes, slotMs, slotRun);
+
+            int overbooked = overbookedVms(slotPlan, jobPes, vmPes);
+            if (overbooked > 0) {
+                System.err.println("❌ Seed " + seed + ": PE-slot plan uses more PEs than exist on " + overbooked + " VMs");
+            }
+        }
+        System.out.println("-".repeat(112));
+    }
+
+    private static void print(long seed, String label, Schedule plan, int[] jobPes, int[] vmPes, double planMs,
+                              CloudSimExecutor.Outcome outcome) {
+        double[] finish = plan.getFinishTimes();
+        double[] simulated = outcome.getFinishTimes();
+        double maxDrift = 0;
+        double simulatedMakespan = 0;
+        for (int i = 0; i < finish.length; i++) {
+            maxDrift = Math.max(maxDrift, Double.isNaN(simulated[i])
+                    ? Double.POSITIVE_INFINITY
+                    : Math.abs(simulated[i] - finish[i]));
+            if (!Double.isNaN(simulated[i])) {
+                simulatedMakespan = Math.max(simulatedMakespan, simulated[i]);
+            }
+        }
+        System.out.printf("%-6d | %-10s | %-12.2f | %-13.1f%% | %-12.3f | %-14.2f | %-14.4f%n",
+                seed, label, plan.getMakespan(), peUtilization(plan, jobPes, vmPes) * 100, planMs,
+                simulatedMakespan, maxDrift);
+    }
+
+    private static double peUtilization(Schedule plan, int[] jobPes, int[] vmPes) {
+        double busy = 0;
+        for (int i = 0; i < jobPes.length; i++) {
+            busy += (plan.getFinishTimes()[i] - plan.getStartTimes()[i]) * jobPes[i];
+        }
+        double capacity = Arrays.stream(vmPes).sum() * plan.getMakespan();
+        return capacity > 0 ? busy / capacity : 0;
+    }
+
+    // Sweeps each job's start and finish in time order and checks the PEs in use per VM
+    private static int overbookedVms(Schedule plan, int[] jobPes, int[] vmPes) {
+        int n = jobPes.length;
+        // Event e < n is the finish of job e, event n + i the start of job i; the stable sort
+        // puts finishes before starts at the same instant, so a freed PE can be reused at once
+        double[] times = new double[2 * n];
+        for (int i = 0; i < n; i++) {
+            times[i] = plan.getFinishTimes()[i];
+            times[n + i] = plan.getStartTimes()[i];
+        }
+        int[] inUse = new int[vmPes.length];
+        boolean[] overbooked = new boolean[vmPes.length];
+        for (int e : IndexSort.ascending(times)) {
+            int job = e < n ? e : e - n;
+            int vm = plan.getAssignment()[job];
+            inUse[vm] += e < n ? -jobPes[job] : jobPes[job];
+            if (inUse[vm] > vmPes[vm]) {
+                overbooked[vm] = true;
+            }
+        }
+        int count = 0;
+        for (boolean b : overbooked) {
+            count += b ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,98 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.MultiLevelQueuePolicy;
+import com.cloudscheduling.algorithm.Schedule;
+import com.cloudscheduling.algorithm.Workload;
+
+import java.util.Map;
+
+/**
+ * Flow time per priority class under {@link MultiLevelQueuePolicy}, against the same
+ * queue with priorities ignored (every job in one level, shortest first). Flow time is
+ * finish minus arrival. The class of a job is its original priority, even if aging
+ * promoted it.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   PriorityReport jobs=2000 seeds=1..5 burst=20 quiet=5 aging=10 ratio=2 fleet=800/1000/1200/1500
+ * </pre>
+ */
+public class PriorityReport {
+
+    public static void main(String[] args) {
+        Map<String, String> options = CliOptions.parse(args);
+        int jobs = Integer.parseInt(options.getOrDefault("jobs", "2000"));
+        long[] seeds = CliOptions.parseSeeds(options.getOrDefault("seeds", "1..5"));
+        int burst = Integer.parseInt(options.getOrDefault("burst", "20"));
+        double quiet = Double.parseDouble(options.getOrDefault("quiet", "5"));
+        double aging = Double.parseDouble(options.getOrDefault("aging", "10"));
+        double ratio = Double.parseDouble(options.getOrDefault("ratio", "2"));
+        double[] vmMips = SweepRunner.Fleet.parse(options.getOrDefault("fleet", "800/1000/1200/1500")).getVmMips();
+
+        MultiLevelQueuePolicy policy = new MultiLevelQueuePolicy(aging, ratio);
+
+        System.out.println("\n" + "=".repeat(96));
+        System.out.println(" MULTI-LEVEL QUEUE by priority (" + jobs + " jobs, " + vmMips.length + " VMs, aging "
+                + aging + " s, weight ratio " + ratio + ")");
+        System.out.println("=".repeat(96));
+        System.out.printf("%-6s | %-16s | %-10s | %-10s | %-12s | %-12s | %-12s%n",
+                "Seed", "Queue", "Makespan", "Mean Flow", "P1 Flow", "P2 Flow", "P3 Flow");
+        System.out.println("-".repeat(96));
+
+        double[] blindTotals = new double[5];
+        double[] priorityTotals = new double[5];
+        int runs = 0;
+        for (long seed : seeds) {
+            long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+            double[] arrivals = WorkloadGenerator.burstyArrivals(jobs, burst, quiet, seed);
+            double[] deadlines = WorkloadGenerator.defaultDeadlines(lengths, arrivals, seed);
+            int[] priorities = WorkloadGenerator.priorities(jobs, seed);
+
+            Workload blind = new Workload(lengths, deadlines, arrivals, new int[jobs], vmMips);
+            Workload prioritized = new Workload(lengths, deadlines, arrivals, priorities, vmMips);
+
+            accumulate(blindTotals, report(seed, "priority-blind", policy.plan(blind), arrivals, priorities));
+            accumulate(priorityTotals, report(seed, MultiLevelQueuePolicy.NAME, policy.plan(prioritized), arrivals, priorities));
+            runs++;
+        }
+        System.out.println("-".repeat(96));
+        System.out.printf(" Mean over %d seeds, priority-blind -> %s:%n", runs, MultiLevelQueuePolicy.NAME);
+        String[] labels = {"Makespan", "Mean flow", "P1 flow", "P2 flow", "P3 flow"};
+        for (int i = 0; i < labels.length; i++) {
+            double before = blindTotals[i] / runs;
+            double after = priorityTotals[i] / runs;
+            System.out.printf("   %-10s %10.2f s -> %10.2f s (%+.1f%%)%n", labels[i], before, after,
+                    before > 0 ? (after - before) / before * 100 : 0);
+        }
+    }
+
+    // Returns makespan, mean flow and mean flow of priority 1, 2 and 3
+    private static double[] report(long seed, String label, Schedule schedule, double[] arrivals, int[] priorities) {
+        double[] finish = schedule.getFinishTimes();
+        double[] classFlow = new double[3];
+        int[] classCount = new int[3];
+        double totalFlow = 0;
+        for (int i = 0; i < finish.length; i++) {
+            double flow = finish[i] - arrivals[i];
+            totalFlow += flow;
+            int c = Math.min(3, Math.max(1, priorities[i])) - 1;
+            classFlow[c] += flow;
+            classCount[c]++;
+        }
+        double[] row = new double[5];
+        row[0] = schedule.getMakespan();
+        row[1] = finish.length > 0 ? totalFlow / finish.length : 0;
+        for (int c = 0; c < 3; c++) {
+            row[2 + c] = classCount[c] > 0 ? classFlow[c] / classCount[c] : 0;
+        }
+        System.out.printf("%-6d | %-16s | %-10.2f | %-10.2f | %-12.2f | %-12.2f | %-12.2f%n",
+                seed, label, row[0], row[1], row[2], row[3], row[4]);
+        return row;
+    }
+
+    private static void accumulate(double[] totals, double[] row) {
+        for (int i = 0; i < row.length; i++) {
+            totals[i] += row[i];
+        }
+    }
+}
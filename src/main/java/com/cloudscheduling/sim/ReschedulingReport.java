@@ -0,0 +1,151 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.EGSJFPolicy;
+import com.cloudscheduling.algorithm.IncrementalRescheduler;
+import com.cloudscheduling.algorithm.Schedule;
+import com.cloudscheduling.algorithm.SchedulingEngine;
+import com.cloudscheduling.algorithm.Workload;
+import com.cloudscheduling.model.JobTable;
+import com.cloudscheduling.model.VirtualMachine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental repair versus a full replan when the fleet changes part way through an
+ * EG-SJF plan.
+ * <p>
+ * At {@code at} times the planned makespan, VM {@code failVm} fails (or a VM of
+ * {@code addMips} is added). The {@link IncrementalRescheduler} moves only the affected
+ * jobs; the full replan runs {@link SchedulingEngine} over every job not yet started,
+ * with each VM busy until its running job ends. Latency is the repair time alone;
+ * penalties are makespan increases over the original plan and over the full replan.
+ * The failure case is also run in CloudSim with the VM failed at that time.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   ReschedulingReport jobs=10000 seeds=1..5 fleet=800x16/1000x16/1200x16/1500x16 failVm=0 at=0.3 addMips=1500 cloudsim=true
+ * </pre>
+ */
+public class ReschedulingReport {
+
+    public static void main(String[] args) {
+        Map<String, String> options = CliOptions.parse(args);
+        int jobs = Integer.parseInt(options.getOrDefault("jobs", "10000"));
+        long[] seeds = CliOptions.parseSeeds(options.getOrDefault("seeds", "1..5"));
+        double[] vmMips = SweepRunner.Fleet.parse(options.getOrDefault("fleet", "800/1000/1200/1500")).getVmMips();
+        int failVm = Integer.parseInt(options.getOrDefault("failVm", "0"));
+        double at = Double.parseDouble(options.getOrDefault("at", "0.3"));
+        double addMips = Double.parseDouble(options.getOrDefault("addMips", "1500"));
+        boolean cloudSim = Boolean.parseBoolean(options.getOrDefault("cloudsim", "true"));
+
+        System.out.println("\n" + "=".repeat(120));
+        System.out.println(" INCREMENTAL RESCHEDULING (" + jobs + " jobs, " + vmMips.length + " VMs, change at "
+                + at + " x makespan)");
+        System.out.println("=".repeat(120));
+        System.out.printf("%-6s | %-9s | %-6s | %-13s | %-13s | %-12s | %-12s | %-14s | %-14s%n",
+                "Seed", "Change", "Moved", "Repair us", "Replan us", "Repair Mksp", "Replan Mksp",
+                "vs Plan", "vs Replan");
+        System.out.println("-".repeat(120));
+
+        EGSJFPolicy policy = new EGSJFPolicy();
+        for (long seed : seeds) {
+            long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+            Workload workload = new Workload(lengths, WorkloadGenerator.defaultDeadlines(lengths, seed), vmMips);
+            Schedule plan = policy.plan(workload);
+            double now = plan.getMakespan() * at;
+
+            IncrementalRescheduler failed = new IncrementalRescheduler(workload, plan);
+            long start = System.nanoTime();
+            int moved = failed.failVm(failVm, now).length;
+            double repairUs = (System.nanoTime() - start) / 1e3;
+            double[] fleet = vmMips.clone();
+            fleet[failVm] = 0;
+            start = System.nanoTime();
+            double replanMakespan = replan(lengths, plan, fleet, now);
+            double replanUs = (System.nanoTime() - start) / 1e3;
+            print(seed, "fail VM " + failVm, moved, repairUs, replanUs, failed.getMakespan(), replanMakespan,
+                    plan.getMakespan());
+
+            IncrementalRescheduler grown = new IncrementalRescheduler(workload, plan);
+            start = System.nanoTime();
+            moved = grown.addVm(addMips, now).length;
+            repairUs = (System.nanoTime() - start) / 1e3;
+            fleet = Arrays.copyOf(vmMips, vmMips.length + 1);
+            fleet[vmMips.length] = addMips;
+            start = System.nanoTime();
+            replanMakespan = replan(lengths, plan, fleet, now);
+            replanUs = (System.nanoTime() - start) / 1e3;
+            print(seed, "add VM", moved, repairUs, replanUs, grown.getMakespan(), replanMakespan, plan.getMakespan());
+
+            if (cloudSim) {
+                CloudSimExecutor.Outcome outcome = CloudSimExecutor.executeWithVmFailure(lengths, vmMips,
+                        new IncrementalRescheduler(workload, plan), failVm, now);
+                double simulated = 0;
+                int lost = 0;
+                for (double finish : outcome.getFinishTimes()) {
+                    if (Double.isNaN(finish)) {
+                        lost++;
+                    } else {
+                        simulated = Math.max(simulated, finish);
+                    }
+                }
+                System.out.printf("%-6d | %-9s | CloudSim makespan %.2f (repair planned %.2f)%n",
+                        seed, "", simulated, failed.getMakespan());
+                if (lost > 0) {
+                    System.err.println("❌ Seed " + seed + ": " + lost + " jobs never finished after the failure");
+                }
+            }
+        }
+        System.out.println("-".repeat(120));
+    }
+
+    private static void print(long seed, String change, int moved, double repairUs, double replanUs,
+                              double repairMakespan, double replanMakespan, double planMakespan) {
+        System.out.printf("%-6d | %-9s | %-6d | %-13.1f | %-13.1f | %-12.2f | %-12.2f | %-+13.2f%% | %-+13.2f%%%n",
+                seed, change, moved, repairUs, replanUs, repairMakespan, replanMakespan,
+                (repairMakespan - planMakespan) / planMakespan * 100,
+                (repairMakespan - replanMakespan) / replanMakespan * 100);
+    }
+
+    /**
+     * Full replan at {@code now}: jobs started before then stay where they are, everything
+     * else arrives at {@code now} and goes through {@link SchedulingEngine} on the VMs of
+     * {@code fleet} with positive MIPS. Returns the resulting makespan.
+     */
+    private static double replan(long[] lengths, Schedule plan, double[] fleet, double now) {
+        int[] assignment = plan.getAssignment();
+        double[] busyUntil = new double[fleet.length];
+        double makespan = 0;
+        JobTable pending = new JobTable();
+        for (int job = 0; job < lengths.length; job++) {
+            int vm = assignment[job];
+            boolean started = plan.getStartTimes()[job] < now;
+            if (started && fleet[vm] > 0) {
+                busyUntil[vm] = Math.max(busyUntil[vm], plan.getFinishTimes()[job]);
+                makespan = Math.max(makespan, plan.getFinishTimes()[job]);
+            } else if (!started || plan.getFinishTimes()[job] > now) {
+                // Not started yet, or cut off on a failed VM
+                pending.addJob(job, "job-" + job, lengths[job], 1, now, Double.NaN);
+            } else {
+                makespan = Math.max(makespan, plan.getFinishTimes()[job]);
+            }
+        }
+
+        List<VirtualMachine> vms = new ArrayList<>();
+        for (int vm = 0; vm < fleet.length; vm++) {
+            if (fleet[vm] > 0) {
+                VirtualMachine machine = new VirtualMachine(vm, "vm-" + vm, (int) fleet[vm], 2048, 1000, 1, 10000);
+                machine.setAvailableTime(Math.max(busyUntil[vm], now));
+                vms.add(machine);
+            }
+        }
+        new SchedulingEngine(vms).scheduleAll(pending);
+        for (int row = 0; row < pending.size(); row++) {
+            makespan = Math.max(makespan, pending.getFinishTime(row));
+        }
+        return makespan;
+    }
+}
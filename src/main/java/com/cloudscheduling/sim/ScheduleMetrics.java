@@ -0,0 +1,134 @@
+package com.cloudscheduling.sim;
+
+/**
+ * The metrics printed for every algorithm run: makespan, total flow time,
+ * average execution and waiting time, completion counts and the SLA side: total, mean
+ * and max tardiness and the late-job count. Definitions follow OptimizedEGSJF.printResults;
+ * mean tardiness and the late percentage are over completed jobs.
+ */
+public final class ScheduleMetrics {
+
+    private final double makespan;
+    private final double totalFlowTime;
+    private final double avgExecutionTime;
+    private final double avgWaitingTime;
+    private final double totalTardiness;
+    private final double maxTardiness;
+    private final int lateJobs;
+    private final int completedJobs;
+    private final int totalJobs;
+
+    public ScheduleMetrics(double makespan, double totalFlowTime, double avgExecutionTime,
+                           double avgWaitingTime, double totalTardiness, double maxTardiness, int lateJobs,
+                           int completedJobs, int totalJobs) {
+        this.makespan = makespan;
+        this.totalFlowTime = totalFlowTime;
+        this.avgExecutionTime = avgExecutionTime;
+        this.avgWaitingTime = avgWaitingTime;
+        this.totalTardiness = totalTardiness;
+        this.maxTardiness = maxTardiness;
+        this.lateJobs = lateJobs;
+        this.completedJobs = completedJobs;
+        this.totalJobs = totalJobs;
+    }
+
+    /**
+     * Computes the metrics in one pass over per-job columns. A job with a NaN finish
+     * time did not complete and is skipped; a non-finite deadline means no deadline.
+     */
+    public static ScheduleMetrics compute(double[] startTimes, double[] finishTimes, double[] cpuTimes,
+                                          double[] deadlines) {
+        return compute(startTimes, finishTimes, cpuTimes, null, deadlines);
+    }
+
+    /**
+     * Same as above for jobs released over time: a job's flow time is counted from its
+     * arrival, not from 0. {@code arrivalTimes} may be null when every job arrives at 0.
+     */
+    public static ScheduleMetrics compute(double[] startTimes, double[] finishTimes, double[] cpuTimes,
+                                          double[] arrivalTimes, double[] deadlines) {
+        double makespan = 0;
+        double totalFlowTime = 0;
+        double totalCpuTime = 0;
+        double totalWaitingTime = 0;
+        double totalTardiness = 0;
+        double maxTardiness = 0;
+        int late = 0;
+        int completed = 0;
+
+        for (int i = 0; i < finishTimes.length; i++) {
+            double finish = finishTimes[i];
+            if (Double.isNaN(finish)) {
+                continue;
+            }
+            completed++;
+            makespan = Math.max(makespan, finish);
+            totalFlowTime += arrivalTimes != null ? finish - arrivalTimes[i] : finish;
+            totalCpuTime += cpuTimes[i];
+            totalWaitingTime += finish - startTimes[i] - cpuTimes[i];
+            if (deadlines != null && Double.isFinite(deadlines[i]) && finish > deadlines[i]) {
+                double tardiness = finish - deadlines[i];
+                totalTardiness += tardiness;
+                maxTardiness = Math.max(maxTardiness, tardiness);
+                late++;
+            }
+        }
+
+        double avgExecutionTime = completed > 0 ? totalCpuTime / completed : 0;
+        double avgWaitingTime = completed > 0 ? totalWaitingTime / completed : 0;
+        return new ScheduleMetrics(makespan, totalFlowTime, avgExecutionTime, avgWaitingTime,
+                totalTardiness, maxTardiness, late, completed, finishTimes.length);
+    }
+
+    public double getMakespan() {
+        return makespan;
+    }
+
+    public double getTotalFlowTime() {
+        return totalFlowTime;
+    }
+
+    public double getAvgExecutionTime() {
+        return avgExecutionTime;
+    }
+
+    public double getAvgWaitingTime() {
+        return avgWaitingTime;
+    }
+
+    public double getTotalTardiness() {
+        return totalTardiness;
+    }
+
+    public double getMaxTardiness() {
+        return maxTardiness;
+    }
+
+    public double getMeanTardiness() {
+        return completedJobs > 0 ? totalTardiness / completedJobs : 0;
+    }
+
+    public int getLateJobs() {
+        return lateJobs;
+    }
+
+    public double getLatePercentage() {
+        return completedJobs > 0 ? lateJobs * 100.0 / completedJobs : 0;
+    }
+
+    public int getCompletedJobs() {
+        return completedJobs;
+    }
+
+    public int getTotalJobs() {
+        return totalJobs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ScheduleMetrics{makespan=%.2f, totalFlowTime=%.2f, avgExec=%.2f, avgWait=%.2f, "
+                        + "tardiness=%.2f, maxTardiness=%.2f, late=%d, completed=%d/%d}",
+                makespan, totalFlowTime, avgExecutionTime, avgWaitingTime, totalTardiness, maxTardiness, lateJobs,
+                completedJobs, totalJobs);
+    }
+}
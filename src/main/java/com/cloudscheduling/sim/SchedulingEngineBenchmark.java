@@ -0,0 +1,96 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.EGSJFPolicy;
+import com.cloudscheduling.algorithm.SchedulingEngine;
+import com.cloudscheduling.algorithm.Workload;
+import com.cloudscheduling.model.CloudJob;
+import com.cloudscheduling.model.JobTable;
+import com.cloudscheduling.model.VirtualMachine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decision latency of {@link SchedulingEngine} on a large fleet, with no CloudSim involved.
+ * Jobs arrive in bursts and are dispatched one at a time; then the same jobs are placed as
+ * one batch arriving at 0, which must give the same VMs as {@link EGSJFPolicy}.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   SchedulingEngineBenchmark jobs=100000 fleet=800x1250/1000x1250/1200x1250/1500x1250 seed=1
+ * </pre>
+ */
+public class SchedulingEngineBenchmark {
+
+    public static void main(String[] args) {
+        Map<String, String> options = CliOptions.parse(args);
+        int jobs = Integer.parseInt(options.getOrDefault("jobs", "100000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        double[] vmMips = SweepRunner.Fleet.parse(
+                options.getOrDefault("fleet", "800x1250/1000x1250/1200x1250/1500x1250")).getVmMips();
+
+        long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+        double[] arrivals = WorkloadGenerator.burstyArrivals(jobs, 500, 1.0, seed);
+
+        // Online: one decision per arriving job
+        JobTable online = new JobTable(jobs);
+        for (int i = 0; i < jobs; i++) {
+            online.addJob(i, "job-" + i, lengths[i], 0, arrivals[i], Double.NaN);
+        }
+        SchedulingEngine engine = new SchedulingEngine(createVms(vmMips));
+        long[] nanos = new long[jobs];
+        List<CloudJob> views = online.asCloudJobs();
+        for (int i = 0; i < jobs; i++) {
+            CloudJob job = views.get(i);
+            long start = System.nanoTime();
+            engine.dispatch(job);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double waiting = 0;
+        double makespan = 0;
+        for (int i = 0; i < jobs; i++) {
+            waiting += online.getWaitingTime(i);
+            makespan = Math.max(makespan, online.getFinishTime(i));
+        }
+
+        System.out.println("\n🚀 SchedulingEngine: " + jobs + " jobs on " + vmMips.length + " VMs");
+        System.out.println("-".repeat(60));
+        System.out.printf(" Decision latency: p50 %.2f µs, p99 %.2f µs, max %.2f µs%n",
+                nanos[jobs / 2] / 1e3, nanos[Math.min(jobs - 1, (int) (jobs * 0.99))] / 1e3, nanos[jobs - 1] / 1e3);
+        System.out.printf(" Makespan %.2f s, mean waiting %.3f s%n", makespan, waiting / jobs);
+
+        // Batch: everything at 0, compared with the policy
+        JobTable batch = new JobTable(jobs);
+        for (int i = 0; i < jobs; i++) {
+            batch.addJob(i, "job-" + i, lengths[i], 0, 0.0, Double.NaN);
+        }
+        long start = System.nanoTime();
+        new SchedulingEngine(createVms(vmMips)).scheduleAll(batch);
+        double batchMs = (System.nanoTime() - start) / 1e6;
+        int[] expected = new EGSJFPolicy().schedule(Workload.withoutDeadlines(lengths, vmMips));
+        int mismatches = 0;
+        for (int i = 0; i < jobs; i++) {
+            if (batch.getAssignedVmId(i) != expected[i]) {
+                mismatches++;
+            }
+        }
+        System.out.printf(" Batch of %d jobs in %.1f ms (%.2f µs per job)%n", jobs, batchMs, batchMs * 1e3 / jobs);
+        if (mismatches == 0) {
+            System.out.println("✅ Batch assignment matches " + EGSJFPolicy.NAME);
+        } else {
+            System.err.println("❌ " + mismatches + " jobs differ from " + EGSJFPolicy.NAME);
+        }
+    }
+
+    // VM ids are the fleet indices, so they compare directly with policy assignments
+    private static List<VirtualMachine> createVms(double[] vmMips) {
+        List<VirtualMachine> vms = new ArrayList<>(vmMips.length);
+        for (int i = 0; i < vmMips.length; i++) {
+            vms.add(new VirtualMachine(i, "vm-" + i, (int) vmMips[i], 1024, 1000, 2, 10_000));
+        }
+        return vms;
+    }
+}
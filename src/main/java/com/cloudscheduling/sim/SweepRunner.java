@@ -0,0 +1,294 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.MakespanBounds;
+import com.cloudscheduling.algorithm.OnlinePolicy;
+import com.cloudscheduling.algorithm.PlanningPolicy;
+import com.cloudscheduling.algorithm.Schedule;
+import com.cloudscheduling.algorithm.SchedulingPolicies;
+import com.cloudscheduling.algorithm.SchedulingPolicy;
+import com.cloudscheduling.algorithm.Workload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel experiment sweep over (policy x workload seed x VM fleet x job count).
+ * <p>
+ * Every cell generates its own seeded workload, schedules it and simulates it in a
+ * private CloudSim instance ({@link CloudSimExecutor}), so cells share nothing and
+ * run on a fixed pool with one worker per core. Results are aggregated per
+ * (policy, fleet, job count) once all cells are done. Gap is the simulated makespan over
+ * the {@link MakespanBounds} lower bound of the cell's workload, counting every PE.
+ * Policies see the VMs' PEs too, and a {@link PlanningPolicy}'s planned start times become
+ * submission delays, so each VM runs no more jobs at once than it has PEs.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   SweepRunner policies=PBFS,EG-SJF seeds=1..10 fleets=800/1000/1200/1500;1000x8 jobs=100,1000 pes=2 threads=8
+ * </pre>
+ * A fleet is a '/' separated list of VM MIPS, where {@code 1000x8} means eight 1000-MIPS VMs;
+ * fleets are separated by ';'.
+ */
+public class SweepRunner {
+
+    public static final class Fleet {
+        private final String name;
+        private final double[] vmMips;
+
+        public Fleet(String name, double[] vmMips) {
+            this.name = name;
+            this.vmMips = vmMips;
+        }
+
+        public static Fleet parse(String spec) {
+            List<Double> mips = new ArrayList<>();
+            for (String token : spec.split("/")) {
+                String[] parts = token.trim().toLowerCase().split("x");
+                int count = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                for (int i = 0; i < count; i++) {
+                    mips.add(Double.parseDouble(parts[0].trim()));
+                }
+            }
+            return new Fleet(spec.trim(), mips.stream().mapToDouble(Double::doubleValue).toArray());
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double[] getVmMips() {
+            return vmMips;
+        }
+    }
+
+    public static final class Cell {
+        private final String policy;
+        private final long seed;
+        private final Fleet fleet;
+        private final int jobCount;
+
+        public Cell(String policy, long seed, Fleet fleet, int jobCount) {
+            this.policy = policy;
+            this.seed = seed;
+            this.fleet = fleet;
+            this.jobCount = jobCount;
+        }
+
+        String groupKey() {
+            return policy + " | " + fleet.getName() + " | " + jobCount;
+        }
+    }
+
+    public static final class CellResult {
+        private final Cell cell;
+        private final ScheduleMetrics metrics;
+        private final double lowerBound;
+        private final double schedulingMs;
+        private final double wallMs;
+        private final String error;
+
+        CellResult(Cell cell, ScheduleMetrics metrics, double lowerBound, double schedulingMs, double wallMs,
+                   String error) {
+            this.cell = cell;
+            this.metrics = metrics;
+            this.lowerBound = lowerBound;
+            this.schedulingMs = schedulingMs;
+            this.wallMs = wallMs;
+            this.error = error;
+        }
+
+        public Cell getCell() {
+            return cell;
+        }
+
+        public ScheduleMetrics getMetrics() {
+            return metrics;
+        }
+
+        public double getLowerBound() {
+            return lowerBound;
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+    }
+
+    private final List<String> policies;
+    private final long[] seeds;
+    private final List<Fleet> fleets;
+    private final int[] jobCounts;
+    private final int vmPes;
+    private final int threads;
+
+    public SweepRunner(List<String> policies, long[] seeds, List<Fleet> fleets, int[] jobCounts, int vmPes, int threads) {
+        this.policies = policies;
+        this.seeds = seeds;
+        this.fleets = fleets;
+        this.jobCounts = jobCounts;
+        this.vmPes = vmPes;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = CliOptions.parse(args);
+
+        List<String> policies = Arrays.asList(options.getOrDefault("policies", "PBFS,EG-SJF").split(","));
+        long[] seeds = CliOptions.parseSeeds(options.getOrDefault("seeds", "1..10"));
+        List<Fleet> fleets = new ArrayList<>();
+        for (String spec : options.getOrDefault("fleets", "800/1000/1200/1500").split(";")) {
+            fleets.add(Fleet.parse(spec));
+        }
+        int[] jobCounts = Arrays.stream(options.getOrDefault("jobs", "100").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        int vmPes = Integer.parseInt(options.getOrDefault("pes", "2"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        // Fail fast on unknown policy names instead of in every cell
+        policies.forEach(SchedulingPolicies::create);
+
+        SweepRunner runner = new SweepRunner(policies, seeds, fleets, jobCounts, vmPes, threads);
+        List<CellResult> results = runner.run();
+        printSummary(results);
+    }
+
+    public List<Cell> expandCells() {
+        List<Cell> cells = new ArrayList<>();
+        for (String policy : policies) {
+            for (Fleet fleet : fleets) {
+                for (int jobCount : jobCounts) {
+                    for (long seed : seeds) {
+                        cells.add(new Cell(policy.trim(), seed, fleet, jobCount));
+                    }
+                }
+            }
+        }
+        return cells;
+    }
+
+    public List<CellResult> run() throws InterruptedException {
+        List<Cell> cells = expandCells();
+        System.out.println("🚀 Running sweep of " + cells.size() + " cells on " + threads + " threads...");
+
+        AtomicInteger workerIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sweep-worker-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorCompletionService<CellResult> completion = new ExecutorCompletionService<>(pool);
+        long start = System.nanoTime();
+        try {
+            for (Cell cell : cells) {
+                completion.submit(() -> runCell(cell));
+            }
+
+            List<CellResult> results = new ArrayList<>(cells.size());
+            int progressStep = Math.max(1, cells.size() / 10);
+            for (int done = 1; done <= cells.size(); done++) {
+                try {
+                    results.add(completion.take().get());
+                } catch (ExecutionException e) {
+                    // runCell catches its own failures; this is a worker bug
+                    throw new IllegalStateException("Sweep worker failed", e.getCause());
+                }
+                if (done % progressStep == 0 || done == cells.size()) {
+                    System.out.printf("  ⏳ %d/%d cells done (%.1f s)%n", done, cells.size(),
+                            (System.nanoTime() - start) / 1e9);
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private CellResult runCell(Cell cell) {
+        long start = System.nanoTime();
+        try {
+            long[] lengths = WorkloadGenerator.egsjfDominantLengths(cell.jobCount, cell.seed);
+            double[] deadlines = WorkloadGenerator.defaultDeadlines(lengths, cell.seed);
+            double[] vmMips = cell.fleet.getVmMips();
+
+            SchedulingPolicy policy = SchedulingPolicies.create(cell.policy);
+            long scheduleStart = System.nanoTime();
+            Workload workload = new Workload(lengths, deadlines, vmMips).withVmPes(vmPes);
+            Schedule plan = policy instanceof PlanningPolicy ? ((PlanningPolicy) policy).plan(workload) : null;
+            int[] assignment = plan != null ? plan.getAssignment() : policy.schedule(workload);
+            double schedulingMs = (System.nanoTime() - scheduleStart) / 1e6;
+
+            // Ordering policies (EDF, LSF, ...) also submit cloudlets in their order
+            int[] submissionOrder = policy instanceof OnlinePolicy
+                    ? ((OnlinePolicy) policy).dispatchOrder(workload)
+                    : null;
+            CloudSimExecutor.Outcome outcome = CloudSimExecutor.execute(lengths,
+                    plan != null ? plan.getStartTimes() : null, submissionOrder,
+                    vmMips, vmPes, assignment, CloudletScheduling.TIME_SHARED);
+            double lowerBound = MakespanBounds.of(workload).getLowerBound();
+            return new CellResult(cell, outcome.metrics(deadlines), lowerBound, schedulingMs,
+                    (System.nanoTime() - start) / 1e6, null);
+        } catch (RuntimeException e) {
+            return new CellResult(cell, null, 0, 0, (System.nanoTime() - start) / 1e6, e.toString());
+        }
+    }
+
+    public static void printSummary(List<CellResult> results) {
+        Map<String, List<CellResult>> groups = new LinkedHashMap<>();
+        int failed = 0;
+        for (CellResult result : results) {
+            if (result.isFailed()) {
+                failed++;
+                System.err.println("❌ Cell failed (" + result.cell.groupKey() + ", seed " + result.cell.seed + "): " + result.error);
+                continue;
+            }
+            groups.computeIfAbsent(result.cell.groupKey(), k -> new ArrayList<>()).add(result);
+        }
+
+        System.out.println("\n" + "=".repeat(140));
+        System.out.println(" SWEEP SUMMARY (means over seeds)");
+        System.out.println("=".repeat(140));
+        System.out.printf("%-45s | %-5s | %-10s | %-10s | %-10s | %-8s | %-12s | %-12s | %-10s | %-8s%n",
+                "Policy | Fleet | Jobs", "Runs", "Makespan", "Min", "Max", "Gap", "Total Flow", "Tardiness", "Sched ms",
+                "Cell ms");
+        System.out.println("-".repeat(140));
+
+        groups.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    List<CellResult> group = entry.getValue();
+                    double min = Double.MAX_VALUE;
+                    double max = 0;
+                    double makespan = 0;
+                    double gap = 0;
+                    double flow = 0;
+                    double tardiness = 0;
+                    double schedulingMs = 0;
+                    double wallMs = 0;
+                    for (CellResult r : group) {
+                        makespan += r.metrics.getMakespan();
+                        min = Math.min(min, r.metrics.getMakespan());
+                        max = Math.max(max, r.metrics.getMakespan());
+                        gap += (r.metrics.getMakespan() - r.lowerBound) / r.lowerBound;
+                        flow += r.metrics.getTotalFlowTime();
+                        tardiness += r.metrics.getTotalTardiness();
+                        schedulingMs += r.schedulingMs;
+                        wallMs += r.wallMs;
+                    }
+                    int n = group.size();
+                    System.out.printf("%-45s | %-5d | %-10.2f | %-10.2f | %-10.2f | %-7.2f%% | %-12.2f | %-12.2f | %-10.3f | %-8.1f%n",
+                            entry.getKey(), n, makespan / n, min, max, gap / n * 100, flow / n, tardiness / n,
+                            schedulingMs / n, wallMs / n);
+                });
+        System.out.println("-".repeat(140));
+        System.out.println("✅ " + (results.size() - failed) + "/" + results.size() + " cells completed");
+    }
+}
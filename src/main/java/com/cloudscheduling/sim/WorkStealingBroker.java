@@ -0,0 +1,126 @@
+package com.cloudscheduling.sim;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.listeners.CloudletVmEventInfo;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broker that releases cloudlets to their VMs a few at a time and lets idle VMs steal.
+ * <p>
+ * Each VM has a deque of planned cloudlets that have not been submitted yet, in the
+ * planned order, and at most {@code slotsPerVm} of its cloudlets in the datacenter at once.
+ * When a cloudlet finishes (a cloudlet finish listener), its VM takes the next cloudlet
+ * from the head of its own deque. A VM whose deque is empty steals from the tail of the
+ * deque that would take longest to drain ({@code length / mips} of what is queued),
+ * if it would finish the stolen cloudlet sooner than its owner. Only queued cloudlets
+ * move, never started ones.
+ */
+public class WorkStealingBroker extends DatacenterBrokerSimple {
+
+    private final List<? extends Vm> vms;
+    private final Map<Vm, Integer> vmIndex = new IdentityHashMap<>();
+    private final ArrayDeque<Cloudlet>[] queues;
+    private final double[] queuedLength;
+    private final int[] inFlight;
+    private final int slotsPerVm;
+    private int stolen;
+
+    @SuppressWarnings("unchecked")
+    public WorkStealingBroker(CloudSim simulation, List<? extends Vm> vms, int slotsPerVm) {
+        super(simulation);
+        if (slotsPerVm < 1) {
+            throw new IllegalArgumentException("Need at least one slot per VM: " + slotsPerVm);
+        }
+        this.vms = vms;
+        this.slotsPerVm = slotsPerVm;
+        this.queues = new ArrayDeque[vms.size()];
+        this.queuedLength = new double[vms.size()];
+        this.inFlight = new int[vms.size()];
+        for (int i = 0; i < vms.size(); i++) {
+            vmIndex.put(vms.get(i), i);
+            queues[i] = new ArrayDeque<>();
+        }
+        submitVmList(vms);
+    }
+
+    /**
+     * Queues a cloudlet for a VM. Call in planned order, before or during the simulation.
+     */
+    public void enqueue(Cloudlet cloudlet, Vm vm) {
+        int index = indexOf(vm);
+        cloudlet.addOnFinishListener(this::onCloudletFinish);
+        queues[index].addLast(cloudlet);
+        queuedLength[index] += cloudlet.getLength();
+        fill(index);
+    }
+
+    /**
+     * Cloudlets that ran on a VM other than the one they were planned for.
+     */
+    public int getStolenCount() {
+        return stolen;
+    }
+
+    private void onCloudletFinish(CloudletVmEventInfo info) {
+        inFlight[indexOf(info.getVm())]--;
+        // Any VM with a free slot may now have something to do, not just the one that finished
+        for (int i = 0; i < queues.length; i++) {
+            fill(i);
+        }
+    }
+
+    private void fill(int vm) {
+        while (inFlight[vm] < slotsPerVm) {
+            Cloudlet next = queues[vm].pollFirst();
+            if (next == null) {
+                next = steal(vm);
+                if (next == null) {
+                    return;
+                }
+            } else {
+                queuedLength[vm] -= next.getLength();
+            }
+            next.setVm(vms.get(vm));
+            inFlight[vm]++;
+            submitCloudlet(next);
+        }
+    }
+
+    private Cloudlet steal(int thief) {
+        int victim = -1;
+        double longestDrain = 0;
+        for (int i = 0; i < queues.length; i++) {
+            double drain = queuedLength[i] / vms.get(i).getMips();
+            if (i != thief && !queues[i].isEmpty() && drain > longestDrain) {
+                longestDrain = drain;
+                victim = i;
+            }
+        }
+        if (victim < 0) {
+            return null;
+        }
+        Cloudlet candidate = queues[victim].peekLast();
+        if (candidate.getLength() / vms.get(thief).getMips() >= longestDrain) {
+            return null;
+        }
+        queues[victim].pollLast();
+        queuedLength[victim] -= candidate.getLength();
+        stolen++;
+        return candidate;
+    }
+
+    private int indexOf(Vm vm) {
+        Integer index = vmIndex.get(vm);
+        if (index == null) {
+            throw new IllegalArgumentException("VM " + vm.getId() + " is not managed by this broker");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,87 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.LocalSearchImprover;
+import com.cloudscheduling.algorithm.OnlinePolicy;
+import com.cloudscheduling.algorithm.SchedulingPolicies;
+import com.cloudscheduling.algorithm.SchedulingPolicy;
+import com.cloudscheduling.algorithm.Workload;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Static assignment versus {@link WorkStealingBroker} when the plan is wrong.
+ * The policy plans with the estimated lengths and nominal MIPS; the simulation runs the
+ * real ones: each length is the estimate times a log-normal error ({@code sigma}), and
+ * VM {@code slowVm} runs at {@code slowFactor} of its nominal MIPS.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ *   WorkStealingReport policy=EG-SJF jobs=1000 seeds=1..5 sigma=0.5 slowVm=3 slowFactor=0.5 fleet=800/1000/1200/1500 pes=2
+ * </pre>
+ */
+public class WorkStealingReport {
+
+    public static void main(String[] args) {
+        Map<String, String> options = CliOptions.parse(args);
+        SchedulingPolicy policy = SchedulingPolicies.create(options.getOrDefault("policy", "EG-SJF"));
+        int jobs = Integer.parseInt(options.getOrDefault("jobs", "1000"));
+        long[] seeds = CliOptions.parseSeeds(options.getOrDefault("seeds", "1..5"));
+        double sigma = Double.parseDouble(options.getOrDefault("sigma", "0.5"));
+        double[] nominalMips = SweepRunner.Fleet.parse(options.getOrDefault("fleet", "800/1000/1200/1500")).getVmMips();
+        int slowVm = Integer.parseInt(options.getOrDefault("slowVm", String.valueOf(nominalMips.length - 1)));
+        double slowFactor = Double.parseDouble(options.getOrDefault("slowFactor", "0.5"));
+        int vmPes = Integer.parseInt(options.getOrDefault("pes", "2"));
+
+        double[] actualMips = nominalMips.clone();
+        if (slowVm >= 0 && slowVm < actualMips.length) {
+            actualMips[slowVm] *= slowFactor;
+        }
+
+        System.out.println("\n" + "=".repeat(100));
+        System.out.println(" WORK STEALING vs STATIC " + policy.getName() + " (" + jobs + " jobs, sigma " + sigma
+                + ", VM " + slowVm + " at " + slowFactor + "x)");
+        System.out.println("=".repeat(100));
+        System.out.printf("%-6s | %-14s | %-14s | %-14s | %-10s | %-10s%n",
+                "Seed", "Planned Mksp", "Static Mksp", "Stealing Mksp", "Stolen", "Gain");
+        System.out.println("-".repeat(100));
+
+        double totalGain = 0;
+        int runs = 0;
+        for (long seed : seeds) {
+            long[] estimated = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+            long[] actual = perturb(estimated, sigma, seed);
+            double[] deadlines = WorkloadGenerator.defaultDeadlines(estimated, seed);
+            Workload workload = new Workload(estimated, deadlines, nominalMips);
+
+            int[] assignment = policy.schedule(workload);
+            int[] order = policy instanceof OnlinePolicy ? ((OnlinePolicy) policy).dispatchOrder(workload) : null;
+
+            CloudSimExecutor.Outcome fixed = CloudSimExecutor.execute(actual, null, order, actualMips, vmPes,
+                    assignment, CloudletScheduling.SPACE_SHARED);
+            CloudSimExecutor.Outcome stealing = CloudSimExecutor.executeWorkStealing(actual, order, actualMips, vmPes,
+                    assignment, CloudletScheduling.SPACE_SHARED);
+            double staticMakespan = fixed.metrics(deadlines).getMakespan();
+            double stealingMakespan = stealing.metrics(deadlines).getMakespan();
+            double gain = staticMakespan > 0 ? (staticMakespan - stealingMakespan) / staticMakespan * 100 : 0;
+
+            System.out.printf("%-6d | %-14.2f | %-14.2f | %-14.2f | %-10d | %-9.2f%%%n",
+                    seed, LocalSearchImprover.makespan(workload, assignment), staticMakespan, stealingMakespan,
+                    stealing.getStolenCloudlets(), gain);
+            totalGain += gain;
+            runs++;
+        }
+        System.out.println("-".repeat(100));
+        System.out.printf("✅ Mean makespan reduction from work stealing: %.2f%%%n", totalGain / runs);
+    }
+
+    // Real length = estimate x exp(sigma x N(0,1)), at least 1 MI
+    private static long[] perturb(long[] estimated, double sigma, long seed) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x632BE59BD9B4E019L);
+        long[] actual = new long[estimated.length];
+        for (int i = 0; i < estimated.length; i++) {
+            actual[i] = Math.max(1, Math.round(estimated[i] * Math.exp(sigma * random.nextGaussian())));
+        }
+        return actual;
+    }
+}
@@ -0,0 +1,95 @@
+package com.cloudscheduling.sim;
+
+import com.cloudscheduling.algorithm.LocalSearchImprover;
+import com.cloudscheduling.algorithm.MakespanBounds;
+import com.cloudscheduling.algorithm.SchedulingPolicies;
+import com.cloudscheduling.algorithm.SchedulingPolicy;
+import com.cloudscheduling.algorithm.Workload;
+import com.cloudscheduling.dao.JobDAO;
+import com.cloudscheduling.model.WorkloadFile;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates and runs {@link WorkloadFile}s, so large experiments need no database.
+ * <ul>
+ *   <li>{@code generate}: synthetic EG-SJF-dominant jobs with default deadlines, all arriving at 0.</li>
+ *   <li>{@code export}: every row of cloud_jobs, through the streaming cursor.</li>
+ *   <li>{@code run}: maps the file, builds the workload and plans it with each policy, timing
+ *       every step and reporting the gap to the {@link MakespanBounds} lower bound.</li>
+ * </ul>
+ * Usage (all arguments but the mode optional):
+ * <pre>
+ *   WorkloadFileTool mode=generate file=jobs.cswl jobs=10000000 seed=1
+ *   WorkloadFileTool mode=export file=jobs.cswl
+ *   WorkloadFileTool mode=run file=jobs.cswl policies=EG-SJF,Max-Min fleet=800x8/1000x8/1200x8/1500x8
+ * </pre>
+ * OptimizedEGSJF reads the same files with {@code -Dworkload.file=jobs.cswl}.
+ */
+public class WorkloadFileTool {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = CliOptions.parse(args);
+        String mode = options.getOrDefault("mode", "run");
+        Path file = Paths.get(options.getOrDefault("file", "jobs.cswl"));
+
+        switch (mode) {
+            case "generate":
+                generate(file, Integer.parseInt(options.getOrDefault("jobs", "1000000")),
+                        Long.parseLong(options.getOrDefault("seed", "1")));
+                break;
+            case "export":
+                long start = System.nanoTime();
+                int rows = new JobDAO().exportWorkloadFile(file);
+                System.out.printf("✅ Exported %d jobs in %.1f ms%n", rows, (System.nanoTime() - start) / 1e6);
+                break;
+            case "run":
+                run(file, SchedulingPolicies.parse(options.getOrDefault("policies", "EG-SJF,Max-Min")),
+                        SweepRunner.Fleet.parse(options.getOrDefault("fleet", "800x8/1000x8/1200x8/1500x8")).getVmMips());
+                break;
+            default:
+                System.err.println("❌ Unknown mode " + mode + " (generate, export or run)");
+        }
+    }
+
+    private static void generate(Path file, int jobs, long seed) throws Exception {
+        long start = System.nanoTime();
+        long[] lengths = WorkloadGenerator.egsjfDominantLengths(jobs, seed);
+        double[] deadlines = WorkloadGenerator.defaultDeadlines(lengths, seed);
+        try (WorkloadFile.Writer writer = new WorkloadFile.Writer(file, jobs)) {
+            for (int i = 0; i < jobs; i++) {
+                writer.add(i + 1, lengths[i], 1, 0, deadlines[i]);
+            }
+        }
+        System.out.printf("✅ Wrote %d jobs to %s in %.1f ms%n", jobs, file, (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void run(Path file, List<SchedulingPolicy> policies, double[] vmMips) throws Exception {
+        long start = System.nanoTime();
+        WorkloadFile workloadFile = WorkloadFile.open(file);
+        double mapMs = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        Workload workload = Workload.fromWorkloadFile(workloadFile, vmMips);
+        double buildMs = (System.nanoTime() - start) / 1e6;
+        MakespanBounds bounds = MakespanBounds.of(workload);
+
+        System.out.println("\n" + "=".repeat(72));
+        System.out.printf(" %s: %d jobs on %d VMs (mapped in %.2f ms, workload built in %.1f ms)%n",
+                file, workloadFile.size(), vmMips.length, mapMs, buildMs);
+        System.out.println("=".repeat(72));
+        System.out.printf("%-12s | %-12s | %-14s | %-10s%n", "Policy", "Plan ms", "Makespan", "Gap");
+        System.out.println("-".repeat(72));
+        for (SchedulingPolicy policy : policies) {
+            start = System.nanoTime();
+            int[] assignment = policy.schedule(workload);
+            double planMs = (System.nanoTime() - start) / 1e6;
+            double makespan = LocalSearchImprover.makespan(workload, assignment);
+            System.out.printf("%-12s | %-12.1f | %-14.2f | %-9.3f%%%n", policy.getName(), planMs, makespan,
+                    bounds.gap(makespan) * 100);
+        }
+        System.out.println("-".repeat(72));
+    }
+}
@@ -0,0 +1,109 @@
+package com.cloudscheduling.sim;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Seeded synthetic workloads. The same seed always gives the same jobs, so sweep
+ * cells are reproducible and can run on any thread.
+ */
+public final class WorkloadGenerator {
+
+    private WorkloadGenerator() {
+    }
+
+    /**
+     * Job lengths with the EG-SJF dominant mix used by the CloudSim examples:
+     * 70% very short, 15% short-medium, 10% medium and 5% very long jobs at the end.
+     */
+    public static long[] egsjfDominantLengths(int totalJobs, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] lengths = new long[totalJobs];
+        for (int i = 0; i < totalJobs; i++) {
+            lengths[i] = egsjfDominantLength(i, totalJobs, random);
+        }
+        return lengths;
+    }
+
+    public static int egsjfDominantLength(int jobIndex, int totalJobs, RandomGenerator random) {
+        double position = (double) jobIndex / totalJobs;
+
+        if (position < 0.7) { // 70% VERY short jobs
+            return 100 + random.nextInt(400); // Very short: 100-500 MI
+        } else if (position < 0.85) { // 15% short-medium jobs
+            return 500 + random.nextInt(500); // 500-1000 MI
+        } else if (position < 0.95) { // 10% medium jobs
+            return 1000 + random.nextInt(1000); // 1000-2000 MI
+        } else { // 5% VERY long jobs
+            return 5000 + random.nextInt(5000); // 5000-10000 MI (VERY LONG)
+        }
+    }
+
+    /**
+     * Default deadlines: 1.5-2.5x the execution time on an average (1000 MIPS) VM,
+     * the same rule OptimizedEGSJF falls back to when the database has none.
+     */
+    public static double[] defaultDeadlines(long[] lengths, long seed) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        double[] deadlines = new double[lengths.length];
+        for (int i = 0; i < lengths.length; i++) {
+            double estimatedTime = lengths[i] / 1000.0;
+            deadlines[i] = estimatedTime * (1.5 + random.nextDouble());
+        }
+        return deadlines;
+    }
+
+    /**
+     * Deadlines for jobs released over time: the job's arrival plus the default slack.
+     */
+    public static double[] defaultDeadlines(long[] lengths, double[] arrivalTimes, long seed) {
+        double[] deadlines = defaultDeadlines(lengths, seed);
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] += arrivalTimes[i];
+        }
+        return deadlines;
+    }
+
+    /**
+     * Bursty arrival times in job index order: bursts of 1 to {@code 2 * meanBurstSize - 1}
+     * jobs, 10 ms apart on average inside a burst, with exponential quiet periods of
+     * {@code meanQuietSeconds} on average between bursts.
+     */
+    public static double[] burstyArrivals(int totalJobs, int meanBurstSize, double meanQuietSeconds, long seed) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x9E3779B97F4A7C15L);
+        double[] arrivals = new double[totalJobs];
+        double time = 0;
+        int leftInBurst = 0;
+        for (int i = 0; i < totalJobs; i++) {
+            if (leftInBurst == 0) {
+                leftInBurst = 1 + random.nextInt(Math.max(1, 2 * meanBurstSize - 1));
+                if (i > 0) {
+                    time += exponential(random, meanQuietSeconds);
+                }
+            } else {
+                time += exponential(random, 0.01);
+            }
+            leftInBurst--;
+            arrivals[i] = time;
+        }
+        return arrivals;
+    }
+
+    /**
+     * Job priorities independent of length: 20% priority 1 (most urgent), 30% priority 2
+     * and 50% priority 3.
+     */
+    public static int[] priorities(int totalJobs, long seed) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0xC2B2AE3D27D4EB4FL);
+        int[] priorities = new int[totalJobs];
+        for (int i = 0; i < totalJobs; i++) {
+            int roll = random.nextInt(10);
+            priorities[i] = roll < 2 ? 1 : roll < 5 ? 2 : 3;
+        }
+        return priorities;
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -mean * Math.log(1.0 - random.nextDouble());
+    }
+}
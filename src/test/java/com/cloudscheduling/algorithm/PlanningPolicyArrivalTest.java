@@ -0,0 +1,118 @@
+package com.cloudscheduling.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every registered {@link PlanningPolicy} must plan each job to start no earlier than it
+ * arrives, since the plan's start times become the cloudlets' submission delays.
+ */
+class PlanningPolicyArrivalTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void lateArrivalsOnTwoPeVms() {
+        // Three jobs arriving at 50 must not be planned into the idle PEs at time 0
+        Workload workload = new Workload(new long[]{1000, 1000, 1000, 1000}, infiniteDeadlines(4),
+                new double[]{0, 50, 50, 50}, new double[]{1000, 1000})
+                .withPes(new int[]{2, 2}, new int[]{1, 1, 1, 1});
+        for (PlanningPolicy policy : planningPolicies()) {
+            Schedule plan = assertReleased(policy, workload);
+            assertTrue(plan.getMakespan() >= 51 - EPSILON,
+                    policy.getName() + " planned a makespan of " + plan.getMakespan() + ", release bound is 51");
+        }
+    }
+
+    @Test
+    void randomArrivalsStayAboveTheLowerBound() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 20; round++) {
+            int jobs = 1 + random.nextInt(200);
+            int vms = 1 + random.nextInt(8);
+            long[] lengths = new long[jobs];
+            double[] arrivals = new double[jobs];
+            for (int job = 0; job < jobs; job++) {
+                lengths[job] = 100 + random.nextInt(5000);
+                // Some jobs at 0, the rest spread over a minute
+                arrivals[job] = random.nextInt(3) == 0 ? 0 : random.nextDouble() * 60;
+            }
+            double[] mips = new double[vms];
+            int[] vmPes = new int[vms];
+            for (int vm = 0; vm < vms; vm++) {
+                mips[vm] = new double[]{800, 1000, 1200, 1500}[random.nextInt(4)];
+                vmPes[vm] = 1 + random.nextInt(3);
+            }
+            int[] jobPes = new int[jobs];
+            Arrays.fill(jobPes, 1);
+            if (round % 4 == 3) {
+                // Multi-PE jobs take the PE-slot path
+                int maxPes = Arrays.stream(vmPes).max().getAsInt();
+                for (int job = 0; job < jobs; job++) {
+                    jobPes[job] = 1 + random.nextInt(maxPes);
+                }
+            }
+            Workload workload = new Workload(lengths, infiniteDeadlines(jobs), arrivals, mips)
+                    .withPes(vmPes, jobPes);
+            double lowerBound = MakespanBounds.of(workload).getLowerBound();
+            for (PlanningPolicy policy : planningPolicies()) {
+                Schedule plan = assertReleased(policy, workload);
+                assertTrue(plan.getMakespan() >= lowerBound - EPSILON, policy.getName() + " round " + round
+                        + ": makespan " + plan.getMakespan() + " below the lower bound " + lowerBound);
+            }
+        }
+    }
+
+    @Test
+    void offlineWorkloadsAreUnchanged() {
+        // Every job at 0: the plan is the policy's order, as before arrivals were honoured
+        long[] lengths = {500, 3000, 1200, 800, 2500, 100};
+        Workload workload = new Workload(lengths, infiniteDeadlines(lengths.length), new double[]{1000, 1500});
+        Schedule plan = new EGSJFPolicy().plan(workload);
+        Schedule expected = PeSlotDispatcher.plan(workload, IndexSort.ascending(lengths),
+                VmSelector.Objective.EARLIEST_FINISH);
+        assertEquals(Arrays.toString(expected.getStartTimes()), Arrays.toString(plan.getStartTimes()));
+    }
+
+    private static Schedule assertReleased(PlanningPolicy policy, Workload workload) {
+        Schedule plan = policy.plan(workload);
+        double[] starts = plan.getStartTimes();
+        double[] finishes = plan.getFinishTimes();
+        int[] assignment = plan.getAssignment();
+        for (int job = 0; job < workload.getJobCount(); job++) {
+            assertTrue(starts[job] >= workload.getArrivalTimes()[job] - EPSILON, policy.getName() + ": job " + job
+                    + " starts at " + starts[job] + " but arrives at " + workload.getArrivalTimes()[job]);
+            assertTrue(workload.getJobPes()[job] <= workload.getVmPes()[assignment[job]], policy.getName()
+                    + ": job " + job + " needs more PEs than VM " + assignment[job] + " has");
+            double runTime = workload.getLengths()[job] / workload.getVmMips()[assignment[job]];
+            assertEquals(starts[job] + runTime, finishes[job], 1e-6, policy.getName() + ": job " + job);
+        }
+        return plan;
+    }
+
+    private static List<PlanningPolicy> planningPolicies() {
+        List<PlanningPolicy> policies = new ArrayList<>();
+        for (String name : SchedulingPolicies.names()) {
+            SchedulingPolicy policy = SchedulingPolicies.create(name);
+            if (policy instanceof PlanningPolicy) {
+                policies.add((PlanningPolicy) policy);
+            }
+        }
+        assertFalse(policies.isEmpty());
+        return policies;
+    }
+
+    private static double[] infiniteDeadlines(int jobs) {
+        double[] deadlines = new double[jobs];
+        Arrays.fill(deadlines, Double.POSITIVE_INFINITY);
+        return deadlines;
+    }
+}